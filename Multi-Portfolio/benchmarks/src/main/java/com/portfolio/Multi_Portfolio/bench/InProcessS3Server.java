@@ -0,0 +1,135 @@
+package com.portfolio.Multi_Portfolio.bench;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Minimal in-memory S3 stand-in for benchmarks: path-style PUT/GET/HEAD/DELETE of objects,
+ * no authentication and no listing. Good enough to measure the client side of S3Service
+ * without network variance; use a real S3-compatible server (MinIO) for anything else.
+ */
+public class InProcessS3Server implements AutoCloseable {
+
+    private final HttpServer server;
+    private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+    private final Map<String, String> contentTypes = new ConcurrentHashMap<>();
+
+    public InProcessS3Server() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+    }
+
+    public String getEndpoint() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public int getObjectCount() {
+        return objects.size();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String key = exchange.getRequestURI().getPath();
+        try (exchange) {
+            switch (exchange.getRequestMethod()) {
+                case "PUT" -> {
+                    byte[] body = readBody(exchange);
+                    objects.put(key, body);
+                    String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+                    contentTypes.put(key, contentType != null ? contentType : "application/octet-stream");
+                    exchange.getResponseHeaders().set("ETag", "\"" + Integer.toHexString(Arrays.hashCode(body)) + "\"");
+                    exchange.sendResponseHeaders(200, -1);
+                }
+                case "GET", "HEAD" -> {
+                    byte[] body = objects.get(key);
+                    if (body == null) {
+                        sendNotFound(exchange);
+                        return;
+                    }
+                    exchange.getResponseHeaders().set("Content-Type", contentTypes.get(key));
+                    exchange.getResponseHeaders().set("Last-Modified", "Thu, 01 Jan 2026 00:00:00 GMT");
+                    if ("HEAD".equals(exchange.getRequestMethod())) {
+                        exchange.getResponseHeaders().set("Content-Length", String.valueOf(body.length));
+                        exchange.sendResponseHeaders(200, -1);
+                    } else {
+                        exchange.sendResponseHeaders(200, body.length);
+                        exchange.getResponseBody().write(body);
+                    }
+                }
+                case "DELETE" -> {
+                    objects.remove(key);
+                    contentTypes.remove(key);
+                    exchange.sendResponseHeaders(204, -1);
+                }
+                default -> exchange.sendResponseHeaders(405, -1);
+            }
+        }
+    }
+
+    private void sendNotFound(HttpExchange exchange) throws IOException {
+        if ("HEAD".equals(exchange.getRequestMethod())) {
+            exchange.sendResponseHeaders(404, -1);
+            return;
+        }
+        byte[] error = "<Error><Code>NoSuchKey</Code><Message>Not found</Message></Error>".getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/xml");
+        exchange.sendResponseHeaders(404, error.length);
+        exchange.getResponseBody().write(error);
+    }
+
+    /**
+     * Read a request body, decoding the aws-chunked framing the SDK uses for streaming uploads
+     * ("hex-size[;chunk-signature=...]\r\n data \r\n ... 0\r\n trailers \r\n")
+     */
+    private byte[] readBody(HttpExchange exchange) throws IOException {
+        InputStream in = exchange.getRequestBody();
+        String encoding = exchange.getRequestHeaders().getFirst("Content-Encoding");
+        String sha256 = exchange.getRequestHeaders().getFirst("x-amz-content-sha256");
+        boolean chunked = (encoding != null && encoding.contains("aws-chunked"))
+                || (sha256 != null && sha256.startsWith("STREAMING-"));
+        if (!chunked) {
+            return in.readAllBytes();
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        while (true) {
+            String header = readLine(in);
+            int semicolon = header.indexOf(';');
+            int size = Integer.parseInt((semicolon < 0 ? header : header.substring(0, semicolon)).trim(), 16);
+            if (size == 0) {
+                break; // Trailing checksum headers follow, nothing we need
+            }
+            out.write(in.readNBytes(size));
+            readLine(in); // CRLF after the chunk data
+        }
+        in.readAllBytes();
+        return out.toByteArray();
+    }
+
+    private String readLine(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int c;
+        while ((c = in.read()) != -1 && c != '\n') {
+            if (c != '\r') {
+                line.append((char) c);
+            }
+        }
+        return line.toString();
+    }
+}
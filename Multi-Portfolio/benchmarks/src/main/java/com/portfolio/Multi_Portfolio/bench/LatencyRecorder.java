@@ -0,0 +1,64 @@
+package com.portfolio.Multi_Portfolio.bench;
+
+import java.util.Arrays;
+
+/**
+ * Collects operation latencies and reports percentiles. Each worker thread records into its own
+ * recorder; recorders are merged once the run has finished, so recording never contends.
+ */
+public class LatencyRecorder {
+
+    private long[] samples = new long[1024];
+    private int count;
+    private int errors;
+
+    public void record(long nanos) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = nanos;
+    }
+
+    public void recordError() {
+        errors++;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public int getErrors() {
+        return errors;
+    }
+
+    /**
+     * Merge several recorders into a new one
+     */
+    public static LatencyRecorder merge(Iterable<LatencyRecorder> recorders) {
+        LatencyRecorder merged = new LatencyRecorder();
+        for (LatencyRecorder recorder : recorders) {
+            for (int i = 0; i < recorder.count; i++) {
+                merged.record(recorder.samples[i]);
+            }
+            merged.errors += recorder.errors;
+        }
+        return merged;
+    }
+
+    /**
+     * Latency at a percentile (0-100) in milliseconds, nearest-rank
+     */
+    public double percentileMillis(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100.0 * count);
+        return sorted[Math.max(0, Math.min(count - 1, rank - 1))] / 1_000_000.0;
+    }
+
+    public double maxMillis() {
+        return percentileMillis(100);
+    }
+}
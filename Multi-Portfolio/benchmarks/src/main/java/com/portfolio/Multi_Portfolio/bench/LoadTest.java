@@ -0,0 +1,391 @@
+package com.portfolio.Multi_Portfolio.bench;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.portfolio.Multi_Portfolio.MultiPortfolioApplication;
+
+/**
+ * End-to-end load test. Seeds users with realistic doctor and engineer profiles of varying
+ * section sizes, then replays a weighted mix of register, login, public profile reads,
+ * profile edits and photo uploads over HTTP and reports throughput and latency percentiles
+ * per endpoint.
+ *
+ * Without --base-url the server is started in this JVM against a local Mongo database and fake
+ * storage (a temporary upload directory, or the in-process S3 stand-in with --storage s3), so a
+ * run needs nothing but mongod. Client and server then share the CPU; point --base-url at a
+ * separately started server to measure it in isolation.
+ *
+ * Options (all optional):
+ *   --users 200  --list-sizes 0,3,10,30  --doctor-share 0.5
+ *   --mix read=60,login=15,edit=15,upload=7,register=3
+ *   --concurrency 32  --duration 60  --warmup 10  --upload-size 200k
+ *   --base-url http://localhost:8082  --mongo-uri mongodb://localhost:27017  --database portfolio_loadtest
+ *   --storage local|s3  --seed 42  --out load-test.json
+ */
+public class LoadTest {
+
+    private static final String PASSWORD = "LoadTest#2024";
+
+    /**
+     * Results for one endpoint, serialized as-is into the results file
+     */
+    public record Result(String operation, int requests, int errors, double requestsPerSecond,
+                         double p50Millis, double p90Millis, double p99Millis, double maxMillis) {
+    }
+
+    /**
+     * A seeded user; the token is refreshed by every login
+     */
+    private static final class Account {
+        final String username;
+        final String profileType;
+        final int listSize;
+        volatile String token;
+
+        Account(String username, String profileType, int listSize) {
+            this.username = username;
+            this.profileType = profileType;
+            this.listSize = listSize;
+        }
+    }
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final String baseUrl;
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicInteger registrations = new AtomicInteger();
+    private final byte[] photo;
+
+    LoadTest(String baseUrl, int uploadSize) {
+        this.baseUrl = baseUrl;
+        this.photo = new byte[uploadSize];
+        ThreadLocalRandom.current().nextBytes(photo);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = StorageBenchmark.parseOptions(args);
+        int users = Integer.parseInt(options.getOrDefault("users", "200"));
+        List<Integer> listSizes = StorageBenchmark.list(options.getOrDefault("list-sizes", "0,3,10,30")).stream().map(Integer::parseInt).toList();
+        double doctorShare = Double.parseDouble(options.getOrDefault("doctor-share", "0.5"));
+        Map<String, Integer> mix = parseMix(options.getOrDefault("mix", "read=60,login=15,edit=15,upload=7,register=3"));
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "32"));
+        int duration = Integer.parseInt(options.getOrDefault("duration", "60"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "10"));
+        int uploadSize = (int) StorageBenchmark.parseSize(options.getOrDefault("upload-size", "200k"));
+        Random random = new Random(Long.parseLong(options.getOrDefault("seed", "42")));
+
+        ConfigurableApplicationContext server = null;
+        InProcessS3Server s3 = null;
+        Path uploadDir = null;
+        String baseUrl = options.get("base-url");
+        try {
+            if (baseUrl == null) {
+                boolean useS3 = "s3".equals(options.getOrDefault("storage", "local"));
+                if (useS3) {
+                    s3 = new InProcessS3Server();
+                } else {
+                    uploadDir = Files.createTempDirectory("load-test-uploads");
+                }
+                server = startServer(options.getOrDefault("mongo-uri", "mongodb://localhost:27017"),
+                        options.getOrDefault("database", "portfolio_loadtest"), s3, uploadDir);
+                baseUrl = "http://localhost:" + server.getEnvironment().getProperty("local.server.port");
+            }
+
+            LoadTest test = new LoadTest(baseUrl, uploadSize);
+            System.out.printf("Seeding %d users against %s%n", users, baseUrl);
+            List<Account> accounts = test.seed(users, listSizes, doctorShare, concurrency, random);
+
+            if (warmup > 0) {
+                System.out.printf("Warming up for %ds%n", warmup);
+                test.replay(accounts, mix, concurrency, warmup);
+            }
+            System.out.printf("Replaying %s with %d workers for %ds%n", mix, concurrency, duration);
+            List<Result> results = test.replay(accounts, mix, concurrency, duration);
+
+            printTable(results);
+            Path out = Paths.get(options.getOrDefault("out", "load-test.json"));
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(out.toFile(), results);
+            System.out.println("Results written to " + out.toAbsolutePath());
+        } finally {
+            if (server != null) {
+                server.close();
+            }
+            if (s3 != null) {
+                s3.close();
+            }
+            if (uploadDir != null) {
+                StorageBenchmark.deleteRecursively(uploadDir);
+            }
+        }
+    }
+
+    /**
+     * Start the server in this JVM on a random port against a local database and fake storage
+     */
+    private static ConfigurableApplicationContext startServer(String mongoUri, String database,
+                                                              InProcessS3Server s3, Path uploadDir) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("server.port", "0");
+        properties.put("spring.data.mongodb.uri", mongoUri);
+        properties.put("spring.data.mongodb.database", database);
+        properties.put("app.media-gc.enabled", "false");
+        properties.put("app.upload.migrate-layout", "false");
+        properties.put("app.storage-migration.enabled", "false");
+        if (s3 != null) {
+            properties.put("aws.s3.enabled", "true");
+            properties.put("aws.s3.endpoint", s3.getEndpoint());
+            properties.put("aws.s3.bucket.name", "load-test");
+            properties.put("aws.s3.region", "us-east-1");
+            properties.put("cloud.aws.region.static", "us-east-1");
+            properties.put("cloud.aws.credentials.access-key", "load-test");
+            properties.put("cloud.aws.credentials.secret-key", "load-test");
+        } else {
+            properties.put("aws.s3.enabled", "false");
+            properties.put("app.upload.dir", uploadDir.toAbsolutePath().toString());
+        }
+        // Passed as command-line arguments so they override application.yml
+        return new SpringApplicationBuilder(MultiPortfolioApplication.class)
+                .run(properties.entrySet().stream().map(e -> "--" + e.getKey() + "=" + e.getValue()).toArray(String[]::new));
+    }
+
+    // ======================================
+    // SEEDING
+    // ======================================
+
+    /**
+     * Register, log in and fill in a profile for every user, concurrently
+     */
+    private List<Account> seed(int users, List<Integer> listSizes, double doctorShare, int concurrency, Random random) throws Exception {
+        List<Account> accounts = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            String profileType = random.nextDouble() < doctorShare ? "doctor" : "engineer";
+            accounts.add(new Account("lt" + runId + "u" + i, profileType, listSizes.get(random.nextInt(listSizes.size()))));
+        }
+
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Account account : accounts) {
+                futures.add(workers.submit(() -> {
+                    expectOk(register(account.username), "register " + account.username);
+                    expectOk(login(account), "login " + account.username);
+                    expectOk(editProfile(account, new Random(account.username.hashCode())), "profile " + account.username);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            workers.shutdown();
+        }
+        return accounts;
+    }
+
+    // ======================================
+    // REPLAY
+    // ======================================
+
+    /**
+     * Closed-loop replay: every worker picks the next operation from the weighted mix as soon
+     * as the previous one has finished
+     */
+    private List<Result> replay(List<Account> accounts, Map<String, Integer> mix, int concurrency, int seconds) throws Exception {
+        List<String> operations = new ArrayList<>(mix.keySet());
+        int[] cumulative = new int[operations.size()];
+        int total = 0;
+        for (int i = 0; i < operations.size(); i++) {
+            total += mix.get(operations.get(i));
+            cumulative[i] = total;
+        }
+        int totalWeight = total;
+
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        long start = System.nanoTime();
+        List<Future<Map<String, LatencyRecorder>>> futures = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            futures.add(workers.submit(() -> {
+                Map<String, LatencyRecorder> recorders = new HashMap<>();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    int pick = random.nextInt(totalWeight);
+                    int index = 0;
+                    while (cumulative[index] <= pick) {
+                        index++;
+                    }
+                    String operation = operations.get(index);
+                    Account account = accounts.get(random.nextInt(accounts.size()));
+                    LatencyRecorder recorder = recorders.computeIfAbsent(operation, k -> new LatencyRecorder());
+
+                    long opStart = System.nanoTime();
+                    try {
+                        int status = execute(operation, account, random);
+                        if (status >= 200 && status < 300) {
+                            recorder.record(System.nanoTime() - opStart);
+                        } else {
+                            recorder.recordError();
+                        }
+                    } catch (Exception e) {
+                        recorder.recordError();
+                    }
+                }
+                return recorders;
+            }));
+        }
+
+        Map<String, List<LatencyRecorder>> byOperation = new LinkedHashMap<>();
+        for (String operation : operations) {
+            byOperation.put(operation, new ArrayList<>());
+        }
+        for (Future<Map<String, LatencyRecorder>> future : futures) {
+            future.get().forEach((operation, recorder) -> byOperation.get(operation).add(recorder));
+        }
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        workers.shutdown();
+
+        List<Result> results = new ArrayList<>();
+        List<LatencyRecorder> all = new ArrayList<>();
+        byOperation.forEach((operation, recorders) -> {
+            LatencyRecorder merged = LatencyRecorder.merge(recorders);
+            all.add(merged);
+            results.add(result(operation, merged, elapsed));
+        });
+        results.add(result("total", LatencyRecorder.merge(all), elapsed));
+        return results;
+    }
+
+    private int execute(String operation, Account account, Random random) throws Exception {
+        return switch (operation) {
+            case "register" -> register("lt" + runId + "r" + registrations.incrementAndGet()).statusCode();
+            case "login" -> login(account).statusCode();
+            case "read" -> send(HttpRequest.newBuilder(uri("/api/profile/user/" + account.username)).GET()).statusCode();
+            case "edit" -> editProfile(account, random).statusCode();
+            case "upload" -> uploadPhoto(account).statusCode();
+            default -> throw new IllegalArgumentException("Unknown operation: " + operation);
+        };
+    }
+
+    // ======================================
+    // REQUESTS
+    // ======================================
+
+    private HttpResponse<String> register(String username) throws Exception {
+        return postJson("/api/auth/register", Map.of("username", username, "email", username + "@example.com", "password", PASSWORD));
+    }
+
+    private HttpResponse<String> login(Account account) throws Exception {
+        HttpResponse<String> response = postJson("/api/auth/login", Map.of("username", account.username, "password", PASSWORD));
+        if (response.statusCode() == 200) {
+            account.token = mapper.readTree(response.body()).path("accessToken").asText();
+        }
+        return response;
+    }
+
+    /**
+     * Replace the whole profile, as the editor does on save
+     */
+    private HttpResponse<String> editProfile(Account account, Random random) throws Exception {
+        Map<String, Object> profile = ProfileFixtures.profile(account.username, account.profileType, account.listSize, random);
+        return send(HttpRequest.newBuilder(uri("/api/profile"))
+                .header("Authorization", "Bearer " + account.token)
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(profile))));
+    }
+
+    private HttpResponse<String> uploadPhoto(Account account) throws Exception {
+        String boundary = "lt" + UUID.randomUUID();
+        ByteArrayOutputStream body = new ByteArrayOutputStream(photo.length + 256);
+        body.write(("--" + boundary + "\r\nContent-Disposition: form-data; name=\"file\"; filename=\"photo.jpg\"\r\n"
+                + "Content-Type: image/jpeg\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        body.write(photo);
+        body.write(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+
+        return send(HttpRequest.newBuilder(uri("/api/files/upload/profile-photo"))
+                .header("Authorization", "Bearer " + account.token)
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray())));
+    }
+
+    private HttpResponse<String> postJson(String path, Object payload) throws Exception {
+        return send(HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(payload))));
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws Exception {
+        return client.send(request.timeout(Duration.ofSeconds(30)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    // ======================================
+    // HELPERS
+    // ======================================
+
+    private static void expectOk(HttpResponse<String> response, String what) throws IOException {
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException(what + " failed with HTTP " + response.statusCode() + ": " + response.body());
+        }
+    }
+
+    private static Result result(String operation, LatencyRecorder recorder, double seconds) {
+        return new Result(operation, recorder.getCount(), recorder.getErrors(), recorder.getCount() / seconds,
+                recorder.percentileMillis(50), recorder.percentileMillis(90), recorder.percentileMillis(99), recorder.maxMillis());
+    }
+
+    private static Map<String, Integer> parseMix(String value) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String entry : StorageBenchmark.list(value)) {
+            String[] parts = entry.split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected operation=weight in --mix, got " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                mix.put(parts[0].trim(), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("--mix needs at least one operation with a positive weight");
+        }
+        return mix;
+    }
+
+    private static void printTable(List<Result> results) {
+        System.out.printf("%-10s %8s %6s %9s %9s %9s %9s %9s%n", "operation", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        for (Result r : results) {
+            System.out.printf("%-10s %8d %6d %9.1f %9.2f %9.2f %9.2f %9.2f%n", r.operation(), r.requests(), r.errors(),
+                    r.requestsPerSecond(), r.p50Millis(), r.p90Millis(), r.p99Millis(), r.maxMillis());
+        }
+    }
+}
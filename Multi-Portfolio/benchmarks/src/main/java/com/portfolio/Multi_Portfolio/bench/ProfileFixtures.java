@@ -0,0 +1,145 @@
+package com.portfolio.Multi_Portfolio.bench;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.IntFunction;
+
+/**
+ * Synthetic but realistic profiles, built as JSON-shaped maps. The Profile section classes are
+ * package-private, so benchmarks turn these into Profile objects through Jackson, and the load
+ * generator sends them as request bodies.
+ */
+public final class ProfileFixtures {
+
+    private static final String[] FIRST_NAMES = { "Aarav", "Priya", "Rohan", "Ananya", "Vikram", "Meera", "Arjun", "Kavya", "Ishaan", "Diya" };
+    private static final String[] LAST_NAMES = { "Sharma", "Patel", "Iyer", "Reddy", "Kulkarni", "Das", "Nair", "Joshi", "Menon", "Gupta" };
+    private static final String[] CITIES = { "Mumbai", "Pune", "Bengaluru", "Chennai", "Hyderabad", "Delhi", "Kolkata", "Ahmedabad" };
+    private static final String[] DOCTOR_SKILLS = { "Cardiology", "Echocardiography", "Orthopedic Surgery", "Arthroscopy", "Pediatrics",
+            "Emergency Medicine", "Critical Care", "Neurology", "Dermatology", "Radiology", "ACLS", "Clinical Research" };
+    private static final String[] ENGINEER_SKILLS = { "Java", "Spring Boot", "React", "MongoDB", "AWS", "Kubernetes", "Python",
+            "System Design", "Docker", "TypeScript", "PostgreSQL", "Kafka" };
+    private static final String[] DOCTOR_TEMPLATES = { "default", "cardiologist", "orthopedic-surgeon", "pediatrician" };
+    private static final String[] ENGINEER_TEMPLATES = { "default", "software-engineer", "civil-engineer" };
+    private static final String[] LANGUAGES = { "English", "Hindi", "Marathi", "Tamil", "Telugu", "Kannada", "Bengali" };
+    private static final String[] HOSPITALS = { "AIIMS Delhi", "KEM Hospital", "Apollo Hospitals", "Fortis", "CMC Vellore", "Manipal Hospital" };
+    private static final String[] UNIVERSITIES = { "AIIMS", "Grant Medical College", "IIT Bombay", "IIT Madras", "BITS Pilani", "NIT Trichy" };
+    private static final String LOREM = "Led daily rounds, coordinated multidisciplinary care and mentored junior staff while "
+            + "improving documentation quality and turnaround times across the department. ";
+
+    private ProfileFixtures() {
+    }
+
+    /**
+     * A profile of the given type with listSize entries in every section
+     */
+    public static Map<String, Object> profile(String username, String profileType, int listSize, Random random) {
+        boolean doctor = "doctor".equals(profileType);
+        String fullName = pick(FIRST_NAMES, random) + " " + pick(LAST_NAMES, random);
+
+        Map<String, Object> profile = new LinkedHashMap<>();
+        profile.put("profileType", profileType);
+        profile.put("selectedTemplate", pick(doctor ? DOCTOR_TEMPLATES : ENGINEER_TEMPLATES, random));
+        profile.put("fullName", fullName);
+        profile.put("username", username);
+        profile.put("professionalTitle", doctor ? "Consultant " + pick(DOCTOR_SKILLS, random) : "Senior " + pick(ENGINEER_SKILLS, random) + " Engineer");
+        profile.put("phoneNumber", "+91 9" + (100000000 + random.nextInt(900000000)));
+        profile.put("professionalEmail", username + "@example.com");
+        profile.put("dob", (1970 + random.nextInt(30)) + "-0" + (1 + random.nextInt(9)) + "-1" + random.nextInt(10));
+        profile.put("location", pick(CITIES, random));
+        profile.put("position", doctor ? "Consultant" : "Engineer");
+        profile.put("profilePhoto", photo(username, "profile", random));
+        profile.put("address", (1 + random.nextInt(200)) + " MG Road, " + pick(CITIES, random));
+        profile.put("linkedInOrWebsite", "https://linkedin.com/in/" + username);
+
+        profile.put("certifications", list(listSize, i -> map(
+                "name", pick(doctor ? DOCTOR_SKILLS : ENGINEER_SKILLS, random) + " Certification",
+                "authority", doctor ? "Medical Council of India" : "AWS",
+                "issueDate", "20" + (10 + random.nextInt(15)),
+                "certPhotos", photos(username, "certification", random))));
+        profile.put("education", list(listSize, i -> map(
+                "degree", doctor ? "MBBS" : "B.Tech",
+                "university", pick(UNIVERSITIES, random),
+                "startDate", "2008", "endDate", "2013", "yearOfPassing", "2013",
+                "grade", "A", "description", text(random, 2), "honors", "Gold medal",
+                "eduPhotos", photos(username, "education", random))));
+        profile.put("internships", list(listSize, i -> map(
+                "hospitalName", pick(HOSPITALS, random), "department", pick(DOCTOR_SKILLS, random),
+                "duration", "12 months", "issueDate", "2014", "keyLearnings", text(random, 3),
+                "internshipPhotos", photos(username, "internship", random))));
+        profile.put("projects", list(listSize, i -> map(
+                "title", "Project " + (i + 1), "description", text(random, 3), "startDate", "2019", "endDate", "2020",
+                "technologies", String.join(", ", pick(ENGINEER_SKILLS, random), pick(ENGINEER_SKILLS, random)),
+                "role", "Lead", "projectUrl", "https://example.com/p" + i, "githubUrl", "https://github.com/" + username + "/p" + i,
+                "projectPhotos", photos(username, "project", random))));
+        profile.put("publications", list(listSize, i -> map(
+                "title", "A study of " + pick(DOCTOR_SKILLS, random).toLowerCase() + " outcomes", "publisher", "The Lancet",
+                "publicationDate", "2021", "author", fullName, "publicationUrl", "https://doi.org/10.1000/" + random.nextInt(100000),
+                "description", text(random, 2), "publicationPhotos", photos(username, "publication", random))));
+        profile.put("conferences", list(listSize, i -> map(
+                "name", "National Conference " + (2015 + i), "role", random.nextBoolean() ? "Attended" : "Presented", "date", "2022",
+                "conferencePhotos", photos(username, "conference", random))));
+        profile.put("skills", distinct(doctor ? DOCTOR_SKILLS : ENGINEER_SKILLS, Math.max(3, listSize), random));
+        profile.put("languages", distinct(LANGUAGES, 2 + random.nextInt(3), random));
+        profile.put("achievements", list(listSize, i -> map(
+                "title", "Award " + (i + 1), "associatedWith", pick(HOSPITALS, random), "issuer", "IMA", "issueDate", "2023",
+                "description", text(random, 1), "achievementPhotos", photos(username, "achievement", random))));
+        profile.put("medicalExperience", doctor ? list(listSize, i -> map(
+                "jobTitle", "Resident", "hospitalName", pick(HOSPITALS, random), "startDate", "2015", "endDate", "2018",
+                "responsibilities", text(random, 4), "medicalExpPhotos", photos(username, "medical-experience", random))) : List.of());
+        profile.put("professionalMemberships", List.of(doctor ? "Indian Medical Association" : "IEEE"));
+        profile.put("engineeringExperiences", doctor ? List.of() : list(listSize, i -> map(
+                "projectName", "Platform " + (i + 1), "description", text(random, 4), "startDate", "2016", "endDate", "2020",
+                "location", pick(CITIES, random), "projectLink", "https://example.com/e" + i,
+                "enggExpPhotos", photos(username, "engineering-experience", random))));
+        profile.put("experience", list(Math.min(listSize, 3), i -> map(
+                "company", pick(doctor ? HOSPITALS : UNIVERSITIES, random), "position", "Staff", "startDate", "2018",
+                "endDate", "2022", "location", pick(CITIES, random), "description", text(random, 2))));
+        profile.put("interests", List.of("Reading", "Travel"));
+        profile.put("socialLinks", map("linkedin", "https://linkedin.com/in/" + username, "github", "https://github.com/" + username,
+                "twitter", "https://x.com/" + username, "website", "https://" + username + ".example.com"));
+        return profile;
+    }
+
+    private static String pick(String[] values, Random random) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static List<String> distinct(String[] values, int count, Random random) {
+        List<String> shuffled = new ArrayList<>(List.of(values));
+        Collections.shuffle(shuffled, random);
+        return shuffled.subList(0, Math.min(count, shuffled.size()));
+    }
+
+    private static String text(Random random, int sentences) {
+        return LOREM.repeat(1 + random.nextInt(sentences)).trim();
+    }
+
+    private static String photo(String username, String type, Random random) {
+        return "https://portfolio-media.s3.ap-south-1.amazonaws.com/profiles/" + username + "/" + type + "_"
+                + Integer.toHexString(random.nextInt()) + ".jpg";
+    }
+
+    private static List<String> photos(String username, String type, Random random) {
+        return list(random.nextInt(3), i -> photo(username, type, random));
+    }
+
+    private static <T> List<T> list(int size, IntFunction<T> element) {
+        List<T> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(element.apply(i));
+        }
+        return list;
+    }
+
+    private static Map<String, Object> map(Object... keyValues) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            map.put((String) keyValues[i], keyValues[i + 1]);
+        }
+        return map;
+    }
+}
@@ -0,0 +1,347 @@
+package com.portfolio.Multi_Portfolio.bench;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Smoke test for a packaged server, meant for the native binary from ./mvnw -Pnative native:compile.
+ * Starts the server as a child process, calls every endpoint once with a fresh user and checks
+ * the status codes and the round trip of a full profile, so missing reflection metadata shows up
+ * as a failed call rather than in production. Exits with 1 when any check fails.
+ *
+ * Storage follows the build: a binary built with -Dnative.s3-enabled=false uses local disk (a
+ * temporary directory); the default S3 build needs an S3-compatible endpoint with multipart
+ * support such as MinIO, passed with --s3-endpoint.
+ *
+ * Options (all optional):
+ *   --binary ../target/server  (or --jar ../target/server-0.0.1-SNAPSHOT-exec.jar to check the JVM build)
+ *   --mongo-uri mongodb://localhost:27017  --database portfolio_smoke
+ *   --s3-endpoint http://localhost:9000  --bucket smoke-test  --access-key minioadmin  --secret-key minioadmin
+ *   --timeout 60  --server-args "--logging.level.root=WARN"
+ */
+public class SmokeTest {
+
+    private static final String PASSWORD = "SmokeTest#2024";
+
+    private static final List<String> SECTION_PHOTO_TYPES = List.of(
+            "certification", "education", "internship", "project", "publication",
+            "conference", "achievement", "medical-experience", "engineering-experience");
+
+    private record Check(String name, int status, boolean passed, String detail) {
+    }
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final List<Check> checks = new ArrayList<>();
+    private final byte[] photo = new byte[32 * 1024];
+    private final String baseUrl;
+    private String token;
+
+    SmokeTest(String baseUrl) {
+        this.baseUrl = baseUrl;
+        ThreadLocalRandom.current().nextBytes(photo);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = StorageBenchmark.parseOptions(args);
+        Duration timeout = Duration.ofSeconds(Long.parseLong(options.getOrDefault("timeout", "60")));
+        int port = freePort();
+
+        List<String> command = new ArrayList<>();
+        if (options.containsKey("jar")) {
+            command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+            command.add("-jar");
+            command.add(Paths.get(options.get("jar")).toAbsolutePath().toString());
+        } else {
+            command.add(Paths.get(options.getOrDefault("binary", "../target/server")).toAbsolutePath().toString());
+        }
+        command.add("--server.port=" + port);
+        command.add("--spring.data.mongodb.uri=" + options.getOrDefault("mongo-uri", "mongodb://localhost:27017"));
+        command.add("--spring.data.mongodb.database=" + options.getOrDefault("database", "portfolio_smoke"));
+        command.add("--app.media-gc.enabled=false");
+        command.add("--app.upload.migrate-layout=false");
+        command.add("--app.storage-migration.enabled=false");
+        Path uploadDir = Files.createTempDirectory("smoke-uploads");
+        command.add("--app.upload.dir=" + uploadDir);
+        if (options.containsKey("s3-endpoint")) {
+            command.add("--aws.s3.endpoint=" + options.get("s3-endpoint"));
+            command.add("--aws.s3.bucket.name=" + options.getOrDefault("bucket", "smoke-test"));
+            command.add("--cloud.aws.region.static=us-east-1");
+            command.add("--cloud.aws.credentials.access-key=" + options.getOrDefault("access-key", "minioadmin"));
+            command.add("--cloud.aws.credentials.secret-key=" + options.getOrDefault("secret-key", "minioadmin"));
+        }
+        command.addAll(StorageBenchmark.list(options.getOrDefault("server-args", "").replace(' ', ',')));
+
+        Path log = Files.createTempFile("smoke-server", ".log");
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        boolean passed;
+        try {
+            SmokeTest test = new SmokeTest("http://localhost:" + port);
+            test.awaitStartup(process, start, timeout);
+            System.out.printf("Server answered after %.0f ms%n", (System.nanoTime() - start) / 1e6);
+            test.run();
+            passed = test.report();
+        } catch (Exception e) {
+            System.out.println("Smoke test aborted: " + e.getMessage());
+            passed = false;
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+            StorageBenchmark.deleteRecursively(uploadDir);
+        }
+        if (!passed) {
+            List<String> lines = Files.readAllLines(log);
+            System.out.println("Last server log lines (" + log + "):");
+            lines.subList(Math.max(0, lines.size() - 40), lines.size()).forEach(System.out::println);
+            System.exit(1);
+        }
+    }
+
+    private void awaitStartup(Process process, long start, Duration timeout) throws Exception {
+        HttpRequest probe = HttpRequest.newBuilder(uri("/api/files/ping")).timeout(Duration.ofSeconds(2)).build();
+        while (System.nanoTime() - start < timeout.toNanos()) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Server exited with code " + process.exitValue());
+            }
+            try {
+                if (client.send(probe, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(20);
+        }
+        throw new IllegalStateException("Server did not answer within " + timeout);
+    }
+
+    // ======================================
+    // CHECKS
+    // ======================================
+
+    private void run() throws Exception {
+        String username = "smoke" + Long.toString(System.currentTimeMillis(), 36);
+
+        expect("ping", 200, send(get("/api/files/ping")));
+        expect("health", 200, send(get("/actuator/health")));
+        expect("prometheus", 200, send(get("/actuator/prometheus")));
+        HttpResponse<String> storageInfo = send(get("/api/files/storage/info"));
+        expect("storage info", 200, storageInfo);
+        boolean s3 = "S3".equals(mapper.readTree(storageInfo.body()).path("currentStorageType").asText());
+
+        // Auth: availability, registration, login and JWT validation on the way back in
+        expect("availability", 200, send(get("/api/auth/availability?username=" + username)));
+        expect("register", 200, send(postJson("/api/auth/register",
+                Map.of("username", username, "email", username + "@example.com", "password", PASSWORD))));
+        HttpResponse<String> login = send(postJson("/api/auth/login", Map.of("username", username, "password", PASSWORD)));
+        expect("login", 200, login);
+        token = mapper.readTree(login.body()).path("accessToken").asText();
+        expectOneOf("unauthenticated profile is rejected", List.of(401, 403),
+                send(HttpRequest.newBuilder(uri("/api/profile")).GET()));
+
+        // Profile: every section type must survive a write and a read
+        Map<String, Object> profile = ProfileFixtures.profile(username, "doctor", 2, new Random(7));
+        expect("create profile", 201, send(authorized(postJson("/api/profile", profile))));
+        HttpResponse<String> current = send(authorized(get("/api/profile")));
+        expect("get profile", 200, current);
+        compareProfile("profile round trip", profile, current.body());
+        expect("update profile", 200, send(authorized(putJson("/api/profile", profile))));
+        expect("update template", 200, send(authorized(putJson("/api/profile/template", Map.of("selectedTemplate", "cardiologist")))));
+        expect("profile exists", 200, send(authorized(get("/api/profile/exists"))));
+        HttpResponse<String> publicProfile = send(get("/api/profile/user/" + username));
+        expect("public profile", 200, publicProfile);
+        compareProfile("public profile round trip", profile, publicProfile.body());
+        expect("view stats", 200, send(authorized(get("/api/profile/stats?days=7"))));
+        expect("directory", 200, send(get("/api/directory?limit=5")));
+        expect("directory filtered", 200, send(get("/api/directory?limit=5&selectedTemplate=cardiologist")));
+        expect("directory bad cursor", 400, send(get("/api/directory?cursor=%21")));
+        expect("directory search", 200, send(get("/api/directory/search?q=" + username)));
+        expect("directory suggest", 200, send(get("/api/directory/suggest?q=" + username.substring(0, 3))));
+        expect("directory facets", 200, send(get("/api/directory/facets")));
+        expect("directory cards", 200, send(get("/api/directory/cards?usernames=" + username)));
+
+        // Multipart uploads
+        HttpResponse<String> profilePhoto = send(authorized(multipart("/api/files/upload/profile-photo")));
+        expect("upload profile photo", 200, profilePhoto);
+        for (String type : SECTION_PHOTO_TYPES) {
+            expect("upload " + type + " photo", 200, send(authorized(multipart("/api/files/upload/" + type + "-photo?itemIndex=0"))));
+        }
+        HttpResponse<String> custom = send(authorized(multipart("/api/files/upload/smoke")));
+        expect("upload to custom path", 200, custom);
+
+        String fileUrl = mapper.readTree(profilePhoto.body()).path("fileUrl").asText();
+        if (!s3) {
+            expect("serve media", 200, send(get(fileUrl)));
+            expect("serve media (HEAD)", 200, send(HttpRequest.newBuilder(uri(fileUrl)).method("HEAD", HttpRequest.BodyPublishers.noBody())));
+        }
+
+        // Presigned upload: presign, PUT to the returned URL, confirm
+        HttpResponse<String> presigned = send(authorized(postJson("/api/files/presigned", Map.of(
+                "photoType", "profile", "fileName", "direct.jpg", "contentType", "image/jpeg", "size", photo.length))));
+        expect("presign upload", 200, presigned);
+        JsonNode presignedBody = mapper.readTree(presigned.body());
+        String uploadUrl = presignedBody.path("uploadUrl").asText();
+        HttpRequest.Builder directPut = HttpRequest.newBuilder(uploadUrl.startsWith("/") ? uri(uploadUrl) : URI.create(uploadUrl))
+                .PUT(HttpRequest.BodyPublishers.ofByteArray(photo));
+        presignedBody.path("headers").fields().forEachRemaining(h -> {
+            if (!h.getKey().equalsIgnoreCase("content-length") && !h.getKey().equalsIgnoreCase("host")) {
+                directPut.header(h.getKey(), h.getValue().asText());
+            }
+        });
+        expect("presigned PUT", 200, send(directPut));
+        expect("complete presigned upload", 200, send(authorized(postJson("/api/files/presigned/complete",
+                Map.of("key", presignedBody.path("key").asText(), "photoType", "profile")))));
+
+        // Resumable upload: create, append, resume offset, complete; then create and abort
+        Map<String, Object> session = Map.of("photoType", "certification", "itemIndex", 0,
+                "fileName", "chunked.jpg", "contentType", "image/jpeg", "size", photo.length);
+        HttpResponse<String> created = send(authorized(postJson("/api/files/uploads", session)));
+        expect("create upload session", 201, created);
+        String uploadId = mapper.readTree(created.body()).path("uploadId").asText();
+        expect("append chunk", 200, send(authorized(HttpRequest.newBuilder(uri("/api/files/uploads/" + uploadId))
+                .header("Upload-Offset", "0")
+                .method("PATCH", HttpRequest.BodyPublishers.ofByteArray(photo)))));
+        expect("get upload session", 200, send(authorized(get("/api/files/uploads/" + uploadId))));
+        expect("complete upload session", 200, send(authorized(HttpRequest.newBuilder(uri("/api/files/uploads/" + uploadId + "/complete"))
+                .POST(HttpRequest.BodyPublishers.noBody()))));
+        HttpResponse<String> aborted = send(authorized(postJson("/api/files/uploads", session)));
+        expect("create second upload session", 201, aborted);
+        expect("abort upload session", 200, send(authorized(HttpRequest.newBuilder(
+                uri("/api/files/uploads/" + mapper.readTree(aborted.body()).path("uploadId").asText())).DELETE())));
+
+        // S3 diagnostics only exist on the S3 build
+        if (s3) {
+            expect("s3 test ping", 200, send(authorized(get("/api/test/ping"))));
+            expect("s3 test credentials", 200, send(authorized(get("/api/test/aws-credentials"))));
+            expect("s3 test upload", 200, send(authorized(multipart("/api/test/upload"))));
+        }
+
+        String customUrl = mapper.readTree(custom.body()).path("fileUrl").asText();
+        expect("delete file", 200, send(authorized(HttpRequest.newBuilder(
+                uri("/api/files/delete?fileUrl=" + URLEncoder.encode(customUrl, StandardCharsets.UTF_8))).DELETE())));
+        expect("delete profile", 200, send(authorized(HttpRequest.newBuilder(uri("/api/profile")).DELETE())));
+    }
+
+    /**
+     * Every section the fixture filled in must come back with the same number of entries and the same first entry
+     */
+    private void compareProfile(String name, Map<String, Object> sent, String body) throws IOException {
+        JsonNode expected = mapper.valueToTree(sent);
+        JsonNode actual = mapper.readTree(body);
+        List<String> mismatches = new ArrayList<>();
+        expected.fieldNames().forEachRemaining(field -> {
+            JsonNode want = expected.get(field);
+            JsonNode got = actual.get(field);
+            if (want.isArray() && (got == null || got.size() != want.size() || (want.size() > 0 && !want.get(0).equals(got.get(0))))) {
+                mismatches.add(field);
+            } else if (want.isObject() && !want.equals(got)) {
+                mismatches.add(field);
+            }
+        });
+        checks.add(new Check(name, 200, mismatches.isEmpty(), mismatches.isEmpty() ? "" : "differs in " + mismatches));
+    }
+
+    // ======================================
+    // REQUESTS
+    // ======================================
+
+    private HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(uri(path)).GET();
+    }
+
+    private HttpRequest.Builder postJson(String path, Object payload) throws IOException {
+        return HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(payload)));
+    }
+
+    private HttpRequest.Builder putJson(String path, Object payload) throws IOException {
+        return HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(payload)));
+    }
+
+    private HttpRequest.Builder multipart(String path) throws IOException {
+        String boundary = "smoke" + UUID.randomUUID();
+        ByteArrayOutputStream body = new ByteArrayOutputStream(photo.length + 256);
+        body.write(("--" + boundary + "\r\nContent-Disposition: form-data; name=\"file\"; filename=\"photo.jpg\"\r\n"
+                + "Content-Type: image/jpeg\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        body.write(photo);
+        body.write(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        return HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()));
+    }
+
+    private HttpRequest.Builder authorized(HttpRequest.Builder request) {
+        return request.header("Authorization", "Bearer " + token);
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws Exception {
+        return client.send(request.timeout(Duration.ofSeconds(30)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    // ======================================
+    // RESULTS
+    // ======================================
+
+    private void expect(String name, int status, HttpResponse<String> response) {
+        expectOneOf(name, List.of(status), response);
+    }
+
+    private void expectOneOf(String name, List<Integer> statuses, HttpResponse<String> response) {
+        boolean passed = statuses.contains(response.statusCode());
+        String body = response.body() == null ? "" : response.body();
+        checks.add(new Check(name, response.statusCode(), passed,
+                passed ? "" : body.substring(0, Math.min(body.length(), 200))));
+    }
+
+    private boolean report() {
+        int failed = 0;
+        for (Check check : checks) {
+            System.out.printf("%-4s %-38s %3d %s%n", check.passed() ? "ok" : "FAIL", check.name(), check.status(), check.detail());
+            if (!check.passed()) {
+                failed++;
+            }
+        }
+        System.out.printf("%d checks, %d failed%n", checks.size(), failed);
+        return failed == 0;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
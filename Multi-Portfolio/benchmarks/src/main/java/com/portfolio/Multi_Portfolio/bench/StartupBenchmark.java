@@ -0,0 +1,193 @@
+package com.portfolio.Multi_Portfolio.bench;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Cold-start benchmark for the server jar. Starts the server as a child process once per run
+ * and mode, and measures the time from process launch to the first successful request plus
+ * the resident set size at that point.
+ *
+ * Modes:
+ *   baseline   java -jar on the fat jar, as deployed today
+ *   extracted  the exploded layout from -Pfast-startup, no other flags
+ *   aot        extracted + -Dspring.aot.enabled=true
+ *   aot-cds    extracted + AOT + -XX:SharedArchiveFile (the full fast-startup mode)
+ *   native     the GraalVM binary from ./mvnw -Pnative native:compile (not in the default list)
+ *
+ * Build the server with ./mvnw -Pfast-startup package first; the extracted, aot and aot-cds
+ * modes use target/fast-startup.
+ *
+ * Options (all optional):
+ *   --jar ../target/server-0.0.1-SNAPSHOT-exec.jar  --extracted ../target/fast-startup
+ *   --native ../target/server  --modes baseline,extracted,aot,aot-cds  --runs 5  --timeout 120
+ *   --server-args "--aws.s3.enabled=false --spring.data.mongodb.uri=mongodb://localhost:27017"
+ *   --out startup-benchmark.json
+ */
+public class StartupBenchmark {
+
+    // permitAll and independent of Mongo and S3, so it answers as soon as the web server does
+    private static final String PROBE_PATH = "/api/files/ping";
+
+    /**
+     * Median and spread of one mode, serialized as-is into the results file
+     */
+    public record Result(String mode, int runs, double medianMillis, double minMillis, double maxMillis,
+                         double medianRssMegabytes, List<Double> runMillis) {
+    }
+
+    private record Run(double millis, double rssMegabytes) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = StorageBenchmark.parseOptions(args);
+        Path jar = Paths.get(options.getOrDefault("jar", "../target/server-0.0.1-SNAPSHOT-exec.jar")).toAbsolutePath();
+        Path extracted = Paths.get(options.getOrDefault("extracted", "../target/fast-startup")).toAbsolutePath();
+        Path nativeBinary = Paths.get(options.getOrDefault("native", "../target/server")).toAbsolutePath();
+        List<String> modes = StorageBenchmark.list(options.getOrDefault("modes", "baseline,extracted,aot,aot-cds"));
+        int runs = Integer.parseInt(options.getOrDefault("runs", "5"));
+        Duration timeout = Duration.ofSeconds(Long.parseLong(options.getOrDefault("timeout", "120")));
+        List<String> serverArgs = StorageBenchmark.list(options.getOrDefault("server-args", "").replace(' ', ','));
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+        List<Result> results = new ArrayList<>();
+        for (String mode : modes) {
+            List<String> command = command(mode, jar, extracted, nativeBinary);
+            List<Run> measured = new ArrayList<>();
+            for (int i = 0; i < runs; i++) {
+                Run run = measure(command, serverArgs, client, timeout);
+                System.out.printf("%-10s run %d: %.0f ms, %.0f MB RSS%n", mode, i + 1, run.millis(), run.rssMegabytes());
+                measured.add(run);
+            }
+            results.add(summarize(mode, measured));
+        }
+
+        System.out.printf("%-10s %5s %10s %10s %10s %8s%n", "mode", "runs", "median ms", "min ms", "max ms", "RSS MB");
+        for (Result r : results) {
+            System.out.printf("%-10s %5d %10.0f %10.0f %10.0f %8.0f%n", r.mode(), r.runs(), r.medianMillis(),
+                    r.minMillis(), r.maxMillis(), r.medianRssMegabytes());
+        }
+        Path out = Paths.get(options.getOrDefault("out", "startup-benchmark.json"));
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(out.toFile(), results);
+        System.out.println("Results written to " + out.toAbsolutePath());
+    }
+
+    private static List<String> command(String mode, Path jar, Path extracted, Path nativeBinary) {
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        Path extractedJar = extracted.resolve(jar.getFileName());
+        Path archive = extracted.resolve("application.jsa");
+        return switch (mode) {
+            case "baseline" -> List.of(java, "-jar", jar.toString());
+            case "extracted" -> List.of(java, "-jar", require(extractedJar).toString());
+            case "aot" -> List.of(java, "-Dspring.aot.enabled=true", "-jar", require(extractedJar).toString());
+            case "aot-cds" -> List.of(java, "-XX:SharedArchiveFile=" + require(archive), "-Dspring.aot.enabled=true", "-jar", require(extractedJar).toString());
+            case "native" -> List.of(require(nativeBinary).toString());
+            default -> throw new IllegalArgumentException("Unknown mode: " + mode);
+        };
+    }
+
+    private static Path require(Path path) {
+        if (!Files.exists(path)) {
+            throw new IllegalStateException(path + " not found, build the server with -Pfast-startup (or -Pnative native:compile) first");
+        }
+        return path;
+    }
+
+    /**
+     * Launch the server, poll until the first successful response, read its RSS, then stop it
+     */
+    private static Run measure(List<String> command, List<String> serverArgs, HttpClient client, Duration timeout) throws Exception {
+        int port = freePort();
+        List<String> full = new ArrayList<>(command);
+        full.add("--server.port=" + port);
+        full.add("--app.storage-migration.enabled=false");
+        full.addAll(serverArgs);
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(full)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            HttpRequest probe = HttpRequest.newBuilder(URI.create("http://localhost:" + port + PROBE_PATH))
+                    .timeout(Duration.ofSeconds(2))
+                    .build();
+            long deadline = start + timeout.toNanos();
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Server exited with code " + process.exitValue() + ": " + String.join(" ", full));
+                }
+                try {
+                    if (client.send(probe, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        double millis = (System.nanoTime() - start) / 1e6;
+                        return new Run(millis, rssMegabytes(process.pid()));
+                    }
+                } catch (IOException e) {
+                    // Not listening yet
+                }
+                Thread.sleep(5);
+            }
+            throw new IllegalStateException("Server did not answer within " + timeout);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    /**
+     * Resident set size from /proc (Linux), or ps elsewhere; -1 when neither is available
+     */
+    private static double rssMegabytes(long pid) {
+        try {
+            Path status = Paths.get("/proc", String.valueOf(pid), "status");
+            if (Files.exists(status)) {
+                for (String line : Files.readAllLines(status)) {
+                    if (line.startsWith("VmRSS:")) {
+                        return Long.parseLong(line.replaceAll("[^0-9]", "")) / 1024.0;
+                    }
+                }
+            }
+            Process ps = new ProcessBuilder("ps", "-o", "rss=", "-p", String.valueOf(pid)).start();
+            String output = new String(ps.getInputStream().readAllBytes()).trim();
+            return output.isEmpty() ? -1 : Long.parseLong(output) / 1024.0;
+        } catch (IOException | NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static Result summarize(String mode, List<Run> runs) {
+        double[] millis = runs.stream().mapToDouble(Run::millis).sorted().toArray();
+        double[] rss = runs.stream().mapToDouble(Run::rssMegabytes).sorted().toArray();
+        return new Result(mode, runs.size(), median(millis), millis[0], millis[millis.length - 1], median(rss),
+                Arrays.stream(millis).boxed().toList());
+    }
+
+    private static double median(double[] sorted) {
+        int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+    }
+}
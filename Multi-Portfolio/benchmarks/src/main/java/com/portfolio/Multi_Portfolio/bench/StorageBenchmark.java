@@ -0,0 +1,372 @@
+package com.portfolio.Multi_Portfolio.bench;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.portfolio.Multi_Portfolio.config.S3Config;
+import com.portfolio.Multi_Portfolio.service.LocalFileService;
+import com.portfolio.Multi_Portfolio.service.S3Resilience;
+import com.portfolio.Multi_Portfolio.service.S3Service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+
+/**
+ * Concurrent upload benchmark for the storage backends and the upload endpoint.
+ *
+ * Drives LocalFileService and S3Service directly (S3 against an in-process stand-in unless
+ * --s3-endpoint points at MinIO or similar) and, with --base-url/--token, the running server's
+ * upload controller end to end. Every combination of file size, concurrency and HTTP client is
+ * measured for throughput, p50/p95/p99 latency and allocation rate, and written as JSON so runs
+ * can be compared as a regression baseline.
+ *
+ * Options (all optional):
+ *   --backends local,s3,http      --sizes 64k,512k,4m       --concurrency 1,8,32
+ *   --ops 200  --warmup 50        --s3-clients apache,url-connection
+ *   --http-versions HTTP_1_1,HTTP_2  --s3-endpoint http://localhost:9000
+ *   --base-url http://localhost:8082  --token JWT  --out storage-benchmark.json
+ */
+public class StorageBenchmark {
+
+    // SDK system property that picks the synchronous HTTP client when several are on the classpath
+    private static final String SDK_HTTP_SERVICE_PROPERTY = "software.amazon.awssdk.http.service.impl";
+    private static final Map<String, String> S3_HTTP_CLIENTS = Map.of(
+            "apache", "software.amazon.awssdk.http.apache.ApacheSdkHttpService",
+            "url-connection", "software.amazon.awssdk.http.urlconnection.UrlConnectionSdkHttpService");
+
+    /**
+     * One measured combination, serialized as-is into the results file
+     */
+    public record Result(String backend, String client, long sizeBytes, int concurrency, int ops, int errors,
+                         double seconds, double opsPerSecond, double megabytesPerSecond,
+                         double p50Millis, double p95Millis, double p99Millis, double maxMillis,
+                         long allocatedBytesPerOp, double allocationMegabytesPerSecond) {
+    }
+
+    /**
+     * A storage target under test
+     */
+    interface Backend extends AutoCloseable {
+        String upload(MultipartFile file) throws Exception;
+
+        void delete(List<String> urls) throws Exception;
+
+        @Override
+        default void close() throws Exception {
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        List<String> backends = list(options.getOrDefault("backends", "local,s3"));
+        List<Long> sizes = list(options.getOrDefault("sizes", "64k,512k,4m")).stream().map(StorageBenchmark::parseSize).toList();
+        List<Integer> concurrencies = list(options.getOrDefault("concurrency", "1,8,32")).stream().map(Integer::parseInt).toList();
+        int ops = Integer.parseInt(options.getOrDefault("ops", "200"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "50"));
+
+        List<Result> results = new ArrayList<>();
+
+        if (backends.contains("local")) {
+            Path dir = Files.createTempDirectory("storage-bench");
+            try (Backend backend = localBackend(dir)) {
+                results.addAll(runMatrix("local", "filesystem", backend, sizes, concurrencies, ops, warmup));
+            } finally {
+                deleteRecursively(dir);
+            }
+        }
+
+        if (backends.contains("s3")) {
+            for (String client : list(options.getOrDefault("s3-clients", "apache,url-connection"))) {
+                System.setProperty(SDK_HTTP_SERVICE_PROPERTY, S3_HTTP_CLIENTS.get(client));
+                try (Backend backend = s3Backend(options.get("s3-endpoint"))) {
+                    results.addAll(runMatrix("s3", client, backend, sizes, concurrencies, ops, warmup));
+                }
+            }
+        }
+
+        if (backends.contains("http")) {
+            if (!options.containsKey("base-url") || !options.containsKey("token")) {
+                throw new IllegalArgumentException("The http backend needs --base-url and --token");
+            }
+            for (String version : list(options.getOrDefault("http-versions", "HTTP_1_1,HTTP_2"))) {
+                try (Backend backend = httpBackend(options.get("base-url"), options.get("token"), HttpClient.Version.valueOf(version))) {
+                    results.addAll(runMatrix("http", version, backend, sizes, concurrencies, ops, warmup));
+                }
+            }
+        }
+
+        printTable(results);
+        Path out = Paths.get(options.getOrDefault("out", "storage-benchmark.json"));
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(out.toFile(), results);
+        System.out.println("Results written to " + out.toAbsolutePath());
+    }
+
+    private static List<Result> runMatrix(String name, String client, Backend backend, List<Long> sizes,
+                                          List<Integer> concurrencies, int ops, int warmup) throws Exception {
+        List<Result> results = new ArrayList<>();
+        for (long size : sizes) {
+            byte[] content = new byte[(int) size];
+            ThreadLocalRandom.current().nextBytes(content); // Incompressible, like real photos
+            for (int concurrency : concurrencies) {
+                run(backend, content, concurrency, warmup); // Warm up JIT, pools and connections
+                results.add(run(name, client, backend, content, concurrency, ops));
+            }
+        }
+        return results;
+    }
+
+    private static void run(Backend backend, byte[] content, int concurrency, int ops) throws Exception {
+        run("warmup", "", backend, content, concurrency, ops);
+    }
+
+    /**
+     * Upload ops files with concurrency workers, then delete them again
+     */
+    private static Result run(String name, String client, Backend backend, byte[] content,
+                              int concurrency, int ops) throws Exception {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        AtomicInteger remaining = new AtomicInteger(ops);
+        List<String> urls = Collections.synchronizedList(new ArrayList<>());
+
+        List<Future<long[]>> futures = new ArrayList<>();
+        List<LatencyRecorder> recorders = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int i = 0; i < concurrency; i++) {
+            LatencyRecorder recorder = new LatencyRecorder();
+            recorders.add(recorder);
+            futures.add(workers.submit(() -> {
+                long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+                while (remaining.getAndDecrement() > 0) {
+                    MultipartFile file = new BytesMultipartFile("bench-" + UUID.randomUUID() + ".jpg", "image/jpeg", content);
+                    long opStart = System.nanoTime();
+                    try {
+                        urls.add(backend.upload(file));
+                        recorder.record(System.nanoTime() - opStart);
+                    } catch (Exception e) {
+                        recorder.recordError();
+                    }
+                }
+                return new long[] { threads.getCurrentThreadAllocatedBytes() - allocatedBefore };
+            }));
+        }
+
+        long allocated = 0;
+        for (Future<long[]> future : futures) {
+            allocated += future.get()[0];
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        workers.shutdown();
+        backend.delete(urls);
+
+        LatencyRecorder merged = LatencyRecorder.merge(recorders);
+        int completed = merged.getCount();
+        return new Result(name, client, content.length, concurrency, completed, merged.getErrors(), seconds,
+                completed / seconds, completed * (double) content.length / seconds / (1024 * 1024),
+                merged.percentileMillis(50), merged.percentileMillis(95), merged.percentileMillis(99), merged.maxMillis(),
+                completed == 0 ? 0 : allocated / completed, allocated / seconds / (1024 * 1024));
+    }
+
+    // ======================================
+    // BACKENDS
+    // ======================================
+
+    private static Backend localBackend(Path dir) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("aws.s3.enabled", "false");
+        properties.put("app.upload.dir", dir.toAbsolutePath().toString());
+        properties.put("app.jwtSecret", "benchmark-signing-secret");
+
+        AnnotationConfigApplicationContext context = newContext(properties);
+        context.register(LocalFileService.class);
+        context.refresh();
+        LocalFileService service = context.getBean(LocalFileService.class);
+
+        return new Backend() {
+            @Override
+            public String upload(MultipartFile file) throws IOException {
+                return service.uploadFile(file, "bench", "profile");
+            }
+
+            @Override
+            public void delete(List<String> urls) throws IOException {
+                for (String url : urls) {
+                    service.deleteByKey(service.getKeyFromUrl(url));
+                }
+            }
+
+            @Override
+            public void close() {
+                context.close();
+            }
+        };
+    }
+
+    private static Backend s3Backend(String endpoint) throws IOException {
+        InProcessS3Server standIn = endpoint == null ? new InProcessS3Server() : null;
+
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("aws.s3.enabled", "true");
+        properties.put("aws.s3.endpoint", endpoint != null ? endpoint : standIn.getEndpoint());
+        properties.put("aws.s3.bucket.name", "benchmark");
+        properties.put("aws.s3.region", "us-east-1");
+        properties.put("cloud.aws.region.static", "us-east-1");
+        properties.put("cloud.aws.credentials.access-key", "benchmark");
+        properties.put("cloud.aws.credentials.secret-key", "benchmark");
+
+        AnnotationConfigApplicationContext context = newContext(properties);
+        context.register(S3Config.class, S3Resilience.class, S3Service.class);
+        context.refresh();
+        S3Service service = context.getBean(S3Service.class);
+
+        return new Backend() {
+            @Override
+            public String upload(MultipartFile file) throws IOException {
+                return service.uploadFile(file, "bench", "profile");
+            }
+
+            @Override
+            public void delete(List<String> urls) {
+                service.deleteObjects(urls.stream().map(service::getKeyFromUrl).toList());
+            }
+
+            @Override
+            public void close() {
+                context.close();
+                if (standIn != null) {
+                    standIn.close();
+                }
+            }
+        };
+    }
+
+    private static Backend httpBackend(String baseUrl, String token, HttpClient.Version version) {
+        HttpClient client = HttpClient.newBuilder().version(version).build();
+        ObjectMapper mapper = new ObjectMapper();
+
+        return new Backend() {
+            @Override
+            public String upload(MultipartFile file) throws Exception {
+                String boundary = "bench" + UUID.randomUUID();
+                ByteArrayOutputStream body = new ByteArrayOutputStream();
+                body.write(("--" + boundary + "\r\nContent-Disposition: form-data; name=\"file\"; filename=\""
+                        + file.getOriginalFilename() + "\"\r\nContent-Type: " + file.getContentType() + "\r\n\r\n")
+                        .getBytes(StandardCharsets.UTF_8));
+                body.write(file.getBytes());
+                body.write(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+
+                HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/files/upload/benchmark"))
+                        .header("Authorization", "Bearer " + token)
+                        .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+                        .build(), HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() != 200) {
+                    throw new IOException("Upload returned HTTP " + response.statusCode());
+                }
+                return mapper.readTree(response.body()).path("fileUrl").asText();
+            }
+
+            @Override
+            public void delete(List<String> urls) throws Exception {
+                for (String url : urls) {
+                    client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/files/delete?fileUrl="
+                                    + URLEncoder.encode(url, StandardCharsets.UTF_8)))
+                            .header("Authorization", "Bearer " + token)
+                            .DELETE()
+                            .build(), HttpResponse.BodyHandlers.discarding());
+                }
+            }
+        };
+    }
+
+    /**
+     * A bare Spring context with just the beans under test, configured from a property map
+     */
+    private static AnnotationConfigApplicationContext newContext(Map<String, Object> properties) {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("benchmark", properties));
+        context.getBeanFactory().setConversionService(ApplicationConversionService.getSharedInstance());
+        context.registerBean(SimpleMeterRegistry.class);
+        context.registerBean(ObservationRegistry.class, () -> ObservationRegistry.NOOP);
+        return context;
+    }
+
+    // ======================================
+    // HELPERS
+    // ======================================
+
+    private static void printTable(List<Result> results) {
+        System.out.printf("%-6s %-15s %9s %5s %6s %4s %9s %8s %9s %9s %9s %12s %10s%n",
+                "target", "client", "size", "conc", "ops", "err", "ops/s", "MB/s", "p50 ms", "p95 ms", "p99 ms", "alloc B/op", "alloc MB/s");
+        for (Result r : results) {
+            System.out.printf("%-6s %-15s %9d %5d %6d %4d %9.1f %8.1f %9.2f %9.2f %9.2f %12d %10.1f%n",
+                    r.backend(), r.client(), r.sizeBytes(), r.concurrency(), r.ops(), r.errors(), r.opsPerSecond(),
+                    r.megabytesPerSecond(), r.p50Millis(), r.p95Millis(), r.p99Millis(), r.allocatedBytesPerOp(),
+                    r.allocationMegabytesPerSecond());
+        }
+    }
+
+    static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Expected --option value, got " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        return options;
+    }
+
+    static List<String> list(String value) {
+        return Stream.of(value.split(",")).map(String::trim).filter(s -> !s.isEmpty()).toList();
+    }
+
+    static long parseSize(String value) {
+        String lower = value.toLowerCase();
+        if (lower.endsWith("m")) {
+            return Long.parseLong(lower.substring(0, lower.length() - 1)) * 1024 * 1024;
+        }
+        if (lower.endsWith("k")) {
+            return Long.parseLong(lower.substring(0, lower.length() - 1)) * 1024;
+        }
+        return Long.parseLong(lower);
+    }
+
+    static void deleteRecursively(Path dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
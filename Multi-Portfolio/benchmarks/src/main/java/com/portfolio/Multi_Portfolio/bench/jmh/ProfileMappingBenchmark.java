@@ -0,0 +1,89 @@
+package com.portfolio.Multi_Portfolio.bench.jmh;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.bson.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portfolio.Multi_Portfolio.bench.ProfileFixtures;
+import com.portfolio.Multi_Portfolio.model.Profile;
+
+/**
+ * Cost of moving a fully populated Profile through Jackson (API responses and request bodies)
+ * and through the Spring Data converter (every repository read and save)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ProfileMappingBenchmark {
+
+    // Entries per section list
+    @Param({ "1", "10", "50" })
+    public int listSize;
+
+    @Param({ "doctor", "engineer" })
+    public String profileType;
+
+    private ObjectMapper objectMapper;
+    private MappingMongoConverter converter;
+    private Profile profile;
+    private byte[] json;
+    private Document document;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        objectMapper = new ObjectMapper();
+
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.afterPropertiesSet();
+        converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.afterPropertiesSet();
+
+        profile = objectMapper.convertValue(
+                ProfileFixtures.profile("benchmark.user", profileType, listSize, new Random(42)), Profile.class);
+        json = objectMapper.writeValueAsBytes(profile);
+        document = new Document();
+        converter.write(profile, document);
+    }
+
+    @Benchmark
+    public byte[] jacksonSerialize() throws Exception {
+        return objectMapper.writeValueAsBytes(profile);
+    }
+
+    @Benchmark
+    public Profile jacksonDeserialize() throws Exception {
+        return objectMapper.readValue(json, Profile.class);
+    }
+
+    @Benchmark
+    public Document mongoWrite() {
+        Document target = new Document();
+        converter.write(profile, target);
+        return target;
+    }
+
+    @Benchmark
+    public Profile mongoRead() {
+        return converter.read(Profile.class, document);
+    }
+}
@@ -0,0 +1,56 @@
+package com.portfolio.Multi_Portfolio.bench.jmh;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.portfolio.Multi_Portfolio.bench.BytesMultipartFile;
+import com.portfolio.Multi_Portfolio.service.FileUploadService;
+
+/**
+ * Upload validation run on every multipart and presigned upload
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class UploadValidationBenchmark {
+
+    // validateFile is private; a static final handle is constant-folded, so the call costs the same as a direct one
+    private static final MethodHandle VALIDATE_FILE;
+    static {
+        try {
+            VALIDATE_FILE = MethodHandles.privateLookupIn(FileUploadService.class, MethodHandles.lookup())
+                    .findVirtual(FileUploadService.class, "validateFile", MethodType.methodType(void.class, MultipartFile.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final FileUploadService fileUploadService = new FileUploadService();
+    private final MultipartFile file = new BytesMultipartFile("Cardiology-Certificate.JPG", "image/jpeg", new byte[256 * 1024]);
+
+    @Benchmark
+    public void validateFile() throws Throwable {
+        VALIDATE_FILE.invokeExact(fileUploadService, file);
+    }
+
+    @Benchmark
+    public String validateDirectUpload() {
+        return fileUploadService.validateDirectUpload("certification", "Cardiology-Certificate.JPG", "image/jpeg", 256 * 1024);
+    }
+}
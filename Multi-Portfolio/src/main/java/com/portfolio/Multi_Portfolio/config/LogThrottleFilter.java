@@ -0,0 +1,187 @@
+package com.portfolio.Multi_Portfolio.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+
+/**
+ * Logback turbo filter applying per-logger sampling and rate limits before an event is built,
+ * configured in logback-spring.xml from app.logging.*. Rules match the longest logger-name
+ * prefix, like logging levels do.
+ *
+ * Sampling keeps a fraction of TRACE/DEBUG/INFO events. Rate limits cap events per second
+ * for each logger and level, so a flood of INFO lines can't use up the permits for WARN.
+ * ERROR events are never rate limited. Suppressed events are summarized in a WARN line once
+ * the logger is allowed to log at that level again.
+ */
+public class LogThrottleFilter extends TurboFilter {
+
+    // Summaries carry this marker so they are never throttled themselves
+    private static final Marker SUMMARY = MarkerFactory.getMarker("LOG_THROTTLE_SUMMARY");
+
+    private final Map<String, Double> sampleRates = new LinkedHashMap<>();
+    private final Map<String, Double> rateLimits = new LinkedHashMap<>();
+
+    // Resolved per logger name, so each event costs one map lookup
+    private final Map<String, Rule> rules = new ConcurrentHashMap<>();
+
+    private static final Rule NO_RULE = new Rule(1.0, 0);
+
+    /**
+     * Comma-separated logger=fraction pairs, e.g. "org.springframework.security=0.01"
+     */
+    public void setSampleRates(String value) {
+        parse(value, sampleRates);
+    }
+
+    /**
+     * Comma-separated logger=events-per-second pairs, e.g. "com.portfolio.Multi_Portfolio.security=20"
+     */
+    public void setRateLimits(String value) {
+        parse(value, rateLimits);
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // isXxxEnabled() checks arrive without a format; only real log calls are throttled
+        if (format == null || level == null || marker == SUMMARY || !isStarted()) {
+            return FilterReply.NEUTRAL;
+        }
+        if (!level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL; // Disabled anyway, don't spend a token on it
+        }
+
+        Rule rule = rules.computeIfAbsent(logger.getName(), this::resolve);
+        if (rule == NO_RULE) {
+            return FilterReply.NEUTRAL;
+        }
+
+        if (rule.sampleRate < 1.0 && level.toInt() < Level.WARN_INT
+                && ThreadLocalRandom.current().nextDouble() >= rule.sampleRate) {
+            return FilterReply.DENY;
+        }
+
+        if (rule.permitsPerSecond > 0 && level.toInt() < Level.ERROR_INT) {
+            long suppressed = rule.bucket(level).tryAcquire();
+            if (suppressed < 0) {
+                return FilterReply.DENY;
+            }
+            if (suppressed > 0) {
+                logger.warn(SUMMARY, "{} {} log events from {} suppressed by rate limit ({}/s)",
+                        suppressed, level, logger.getName(), rule.permitsPerSecond);
+            }
+        }
+        return FilterReply.NEUTRAL;
+    }
+
+    private Rule resolve(String loggerName) {
+        Double sampleRate = longestPrefixMatch(loggerName, sampleRates);
+        Double rateLimit = longestPrefixMatch(loggerName, rateLimits);
+        if (sampleRate == null && rateLimit == null) {
+            return NO_RULE;
+        }
+        return new Rule(sampleRate != null ? sampleRate : 1.0, rateLimit != null ? rateLimit : 0);
+    }
+
+    private static Double longestPrefixMatch(String loggerName, Map<String, Double> values) {
+        String best = null;
+        for (String prefix : values.keySet()) {
+            boolean matches = loggerName.equals(prefix) || loggerName.startsWith(prefix + ".");
+            if (matches && (best == null || prefix.length() > best.length())) {
+                best = prefix;
+            }
+        }
+        return best != null ? values.get(best) : null;
+    }
+
+    private void parse(String value, Map<String, Double> target) {
+        if (value == null || value.isBlank()) {
+            return;
+        }
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                addError("Expected logger=value, got '" + entry + "'");
+                continue;
+            }
+            try {
+                target.put(parts[0].trim(), Double.parseDouble(parts[1].trim()));
+            } catch (NumberFormatException e) {
+                addError("Invalid number in '" + entry + "'");
+            }
+        }
+        rules.clear();
+    }
+
+    /**
+     * Sampling rate and one token bucket per level below ERROR for one logger
+     */
+    private static final class Rule {
+        final double sampleRate;
+        final double permitsPerSecond;
+        private final Bucket[] buckets;
+
+        Rule(double sampleRate, double permitsPerSecond) {
+            this.sampleRate = sampleRate;
+            this.permitsPerSecond = permitsPerSecond;
+            this.buckets = permitsPerSecond > 0
+                    ? new Bucket[] { new Bucket(permitsPerSecond), new Bucket(permitsPerSecond),
+                            new Bucket(permitsPerSecond), new Bucket(permitsPerSecond) }
+                    : new Bucket[0];
+        }
+
+        Bucket bucket(Level level) {
+            return switch (level.toInt()) {
+                case Level.TRACE_INT -> buckets[0];
+                case Level.DEBUG_INT -> buckets[1];
+                case Level.INFO_INT -> buckets[2];
+                default -> buckets[3];
+            };
+        }
+    }
+
+    /**
+     * Token bucket holding up to one second of permits, and at least one so rates below one
+     * per second still let events through
+     */
+    private static final class Bucket {
+        private final double permitsPerSecond;
+        private final double capacity;
+        private double tokens;
+        private long lastRefill = System.nanoTime();
+        private long suppressed;
+
+        Bucket(double permitsPerSecond) {
+            this.permitsPerSecond = permitsPerSecond;
+            this.capacity = Math.max(1, permitsPerSecond);
+            this.tokens = capacity;
+        }
+
+        /**
+         * Take a permit. Returns -1 when the event must be dropped, otherwise the number of
+         * events dropped since the last permitted one.
+         */
+        synchronized long tryAcquire() {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - lastRefill) / 1e9 * permitsPerSecond);
+            lastRefill = now;
+            if (tokens < 1) {
+                suppressed++;
+                return -1;
+            }
+            tokens--;
+            long dropped = suppressed;
+            suppressed = 0;
+            return dropped;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.portfolio.Multi_Portfolio.config;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import com.portfolio.Multi_Portfolio.model.FacetSnapshot;
+import com.portfolio.Multi_Portfolio.model.MediaDeletionTask;
+import com.portfolio.Multi_Portfolio.model.ProfileRuntimeHints;
+import com.portfolio.Multi_Portfolio.model.ProfileSummary;
+import com.portfolio.Multi_Portfolio.model.ProfileViewDay;
+import com.portfolio.Multi_Portfolio.model.StorageMigrationCheckpoint;
+import com.portfolio.Multi_Portfolio.model.UploadSession;
+import com.portfolio.Multi_Portfolio.payload.JwtAuthenticationResponse;
+import com.portfolio.Multi_Portfolio.payload.PresignedUploadResponse;
+import com.portfolio.Multi_Portfolio.service.AutocompleteService;
+import com.portfolio.Multi_Portfolio.service.FacetCountService;
+import com.portfolio.Multi_Portfolio.service.ProfileViewService;
+
+/**
+ * Native-image metadata for what AOT processing cannot see: the Profile section classes,
+ * types returned through ResponseEntity<?>, and the classes jjwt and the AWS SDK load by name.
+ * Only read by ./mvnw -Pnative; a JVM run ignores it.
+ */
+@Configuration
+@ImportRuntimeHints({ ProfileRuntimeHints.class, NativeImageConfig.LibraryHints.class })
+@RegisterReflectionForBinding({ JwtAuthenticationResponse.class, PresignedUploadResponse.class,
+        UploadSession.class, MediaDeletionTask.class, StorageMigrationCheckpoint.class, ProfileSummary.class,
+        FacetSnapshot.class, ProfileViewDay.class, AutocompleteService.Suggestion.class, FacetCountService.FacetValue.class,
+        ProfileViewService.ViewStats.class, ProfileViewService.DailyViews.class })
+public class NativeImageConfig {
+
+    static class LibraryHints implements RuntimeHintsRegistrar {
+
+        // jjwt 0.11 creates its implementation classes by name (Jwts -> Classes.newInstance)
+        private static final String[] JJWT_TYPES = {
+                "io.jsonwebtoken.impl.DefaultJwtBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtParser",
+                "io.jsonwebtoken.impl.DefaultClaims",
+                "io.jsonwebtoken.impl.DefaultHeader",
+                "io.jsonwebtoken.impl.DefaultJwsHeader",
+                "io.jsonwebtoken.impl.compression.DefaultCompressionCodecResolver",
+                "io.jsonwebtoken.jackson.io.JacksonSerializer",
+                "io.jsonwebtoken.jackson.io.JacksonDeserializer"
+        };
+
+        // Interceptor lists the SDK reads from the classpath and instantiates by class name
+        private static final String[] AWS_INTERCEPTOR_LISTS = {
+                "software/amazon/awssdk/global/handlers/execution.interceptors",
+                "software/amazon/awssdk/services/s3/execution.interceptors"
+        };
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            for (String type : JJWT_TYPES) {
+                hints.reflection().registerType(TypeReference.of(type),
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+            hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.*");
+
+            // The SDK modules ship their own native-image metadata for clients, marshallers and
+            // credential providers; what is left is the HTTP client lookup and the interceptors
+            hints.resources().registerPattern("META-INF/services/software.amazon.awssdk.*");
+            for (String list : AWS_INTERCEPTOR_LISTS) {
+                hints.resources().registerPattern(list);
+                for (String type : readClassNames(classLoader, list)) {
+                    hints.reflection().registerType(TypeReference.of(type), MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+                }
+            }
+        }
+
+        /**
+         * Class names listed in every copy of a resource on the build classpath, one per line
+         */
+        private static List<String> readClassNames(ClassLoader classLoader, String resource) {
+            List<String> names = new ArrayList<>();
+            if (classLoader == null) {
+                return names;
+            }
+            try {
+                Enumeration<URL> urls = classLoader.getResources(resource);
+                while (urls.hasMoreElements()) {
+                    try (BufferedReader reader = new BufferedReader(
+                            new InputStreamReader(urls.nextElement().openStream(), StandardCharsets.UTF_8))) {
+                        reader.lines()
+                                .map(String::trim)
+                                .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                                .forEach(names::add);
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read " + resource, e);
+            }
+            return names;
+        }
+    }
+}
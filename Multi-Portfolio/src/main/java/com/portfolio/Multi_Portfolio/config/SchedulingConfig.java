@@ -0,0 +1,12 @@
+package com.portfolio.Multi_Portfolio.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled background jobs (media garbage collection, etc.)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,6 +1,7 @@
 package com.portfolio.Multi_Portfolio.config;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -16,6 +17,8 @@ import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfigurationSource;
 
+import jakarta.servlet.http.HttpServletRequest;
+
 import com.portfolio.Multi_Portfolio.security.jwt.JwtAuthenticationFilter; // Import for filter ordering
 import com.portfolio.Multi_Portfolio.service.UserDetailsServiceImpl;
 
@@ -30,6 +33,17 @@ public class SecurityConfig {
     @Autowired
     private CorsConfigurationSource corsConfigurationSource;
 
+    @Value("${server.port:8080}")
+    private int serverPort;
+
+    // Actuator endpoints are served here; the port is not exposed through the public ingress
+    @Value("${management.server.port:${server.port:8080}}")
+    private int managementPort;
+
+    // Locally stored media is served under this path (see MediaController)
+    @Value("${app.upload.dir:uploads/photos}")
+    private String uploadDir;
+
     // Defines the password encoder for hashing passwords
     @Bean
     public PasswordEncoder passwordEncoder() {
@@ -75,13 +89,23 @@ public class SecurityConfig {
                         .requestMatchers("/api/auth/**").permitAll()
                         // Allow unauthenticated access to public profile endpoints
                         .requestMatchers("/api/profile/user/**").permitAll()
+                        // View statistics are for the profile owner only
+                        .requestMatchers("/api/profile/stats").authenticated()
                         .requestMatchers("/api/profile/*").permitAll()
+                        // Portfolio directory listings are public, like the profiles they link to
+                        .requestMatchers("/api/directory", "/api/directory/**").permitAll()
                         // Allow unauthenticated access to uploaded photos
-                        .requestMatchers("/uploads/photos/**").permitAll()
+                        .requestMatchers("/" + uploadDir + "/**").permitAll()
                         // Allow unauthenticated access to test endpoints
                         .requestMatchers("/api/profile/photos/ping").permitAll()
                         .requestMatchers("/api/files/ping").permitAll()
                         .requestMatchers("/api/files/storage/info").permitAll()
+                        // Load balancers poll health (component details still require authentication)
+                        .requestMatchers("/actuator/health/**").permitAll()
+                        // Prometheus scrapes without a JWT, but only on the separate management port
+                        .requestMatchers(this::isPrometheusScrape).permitAll()
+                        // Signed local uploads are authorized by the URL signature
+                        .requestMatchers("/api/files/presigned/local").permitAll()
                         // File upload endpoints require authentication
                         .requestMatchers("/api/files/**").authenticated()
                         .requestMatchers("/api/profile/photos/**").authenticated()
@@ -96,4 +120,14 @@ public class SecurityConfig {
 
         return http.build();
     }
+
+    /**
+     * A Prometheus scrape on the management port. Without a separate management port the
+     * endpoint shares the public one, so it requires authentication like everything else.
+     */
+    private boolean isPrometheusScrape(HttpServletRequest request) {
+        return managementPort != serverPort
+                && request.getLocalPort() == managementPort
+                && "/actuator/prometheus".equals(request.getRequestURI());
+    }
 }
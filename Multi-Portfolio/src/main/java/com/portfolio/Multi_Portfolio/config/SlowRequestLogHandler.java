@@ -0,0 +1,139 @@
+package com.portfolio.Multi_Portfolio.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationView;
+import io.micrometer.tracing.handler.TracingObservationHandler;
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Logs the observation tree of every HTTP request slower than the threshold, whether or not
+ * its trace was sampled, so slow requests can be broken down into filter, controller,
+ * service, Mongo and storage time.
+ */
+@Component
+public class SlowRequestLogHandler implements ObservationHandler<Observation.Context> {
+
+    private static final Logger logger = LoggerFactory.getLogger(SlowRequestLogHandler.class);
+
+    // Bounds memory for requests that run thousands of Mongo commands
+    private static final int MAX_STEPS = 200;
+
+    @Value("${app.tracing.slow-request-threshold:2s}")
+    private Duration threshold;
+
+    /**
+     * All observations started under one request, in start order
+     */
+    private static final class Breakdown {
+        final List<Step> steps = new ArrayList<>();
+        int dropped;
+
+        synchronized void add(Step step) {
+            if (steps.size() < MAX_STEPS) {
+                steps.add(step);
+            } else {
+                dropped++;
+            }
+        }
+    }
+
+    private static final class Step {
+        final Observation.Context context;
+        final Breakdown breakdown;
+        final int depth;
+        final long start = System.nanoTime();
+        volatile long end;
+
+        Step(Observation.Context context, Breakdown breakdown, int depth) {
+            this.context = context;
+            this.breakdown = breakdown;
+            this.depth = depth;
+        }
+    }
+
+    @Override
+    public boolean supportsContext(Observation.Context context) {
+        return true;
+    }
+
+    @Override
+    public void onStart(Observation.Context context) {
+        Step step;
+        if (context instanceof ServerRequestObservationContext) {
+            step = new Step(context, new Breakdown(), 0);
+        } else {
+            Step parent = parentStep(context);
+            if (parent == null) {
+                return; // Not part of a request (scheduled jobs, startup)
+            }
+            step = new Step(context, parent.breakdown, parent.depth + 1);
+        }
+        step.breakdown.add(step);
+        context.put(Step.class, step);
+    }
+
+    @Override
+    public void onStop(Observation.Context context) {
+        Step step = context.get(Step.class);
+        if (step == null) {
+            return;
+        }
+        step.end = System.nanoTime();
+
+        if (step.depth == 0 && step.end - step.start > threshold.toNanos()) {
+            logger.warn(describe(step));
+        }
+    }
+
+    private Step parentStep(Observation.Context context) {
+        ObservationView parent = context.getParentObservation();
+        return parent != null ? parent.getContextView().get(Step.class) : null;
+    }
+
+    private String describe(Step root) {
+        StringBuilder message = new StringBuilder("Slow request");
+        if (root.context instanceof ServerRequestObservationContext request && request.getCarrier() != null) {
+            HttpServletRequest servletRequest = request.getCarrier();
+            message.append(' ').append(servletRequest.getMethod()).append(' ').append(servletRequest.getRequestURI());
+        }
+        message.append(String.format(" took %d ms (threshold %d ms)", millis(root.end - root.start), threshold.toMillis()));
+
+        TracingObservationHandler.TracingContext tracing = root.context.get(TracingObservationHandler.TracingContext.class);
+        if (tracing != null && tracing.getSpan() != null) {
+            message.append(" trace=").append(tracing.getSpan().context().traceId());
+        }
+
+        synchronized (root.breakdown) {
+            for (Step step : root.breakdown.steps) {
+                long end = step.end != 0 ? step.end : root.end;
+                message.append(String.format("%n  %6d ms  +%-6d %s%s%s",
+                        millis(end - step.start), millis(step.start - root.start), "  ".repeat(step.depth),
+                        name(step.context), step.end == 0 ? " (unfinished)" : ""));
+            }
+            if (root.breakdown.dropped > 0) {
+                message.append(String.format("%n  ... %d more", root.breakdown.dropped));
+            }
+        }
+        return message.toString();
+    }
+
+    private static String name(Observation.Context context) {
+        String contextualName = context.getContextualName();
+        return contextualName != null ? contextualName : context.getName();
+    }
+
+    private static long millis(long nanos) {
+        return nanos / 1_000_000;
+    }
+}
@@ -2,12 +2,18 @@ package com.portfolio.Multi_Portfolio.config;
 
 import java.io.File;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.lang.NonNull;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+/**
+ * Serves photos left on local disk while S3 is the active backend.
+ * With local storage, MediaController serves the app.upload.dir path instead.
+ */
 @Configuration
+@ConditionalOnProperty(name = "aws.s3.enabled", havingValue = "true", matchIfMissing = false)
 public class StaticResourceConfig implements WebMvcConfigurer {
 
     @Override
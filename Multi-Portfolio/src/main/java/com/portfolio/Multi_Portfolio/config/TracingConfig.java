@@ -0,0 +1,50 @@
+package com.portfolio.Multi_Portfolio.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.observability.ContextProviderFactory;
+import org.springframework.data.mongodb.observability.MongoObservationCommandListener;
+
+import io.micrometer.observation.ObservationRegistry;
+import io.opentelemetry.exporter.logging.LoggingSpanExporter;
+import io.opentelemetry.exporter.logging.otlp.OtlpJsonLoggingSpanExporter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+/**
+ * Request tracing: Mongo command spans and a local span exporter.
+ * Controllers, services and the security filter chain are observed through @Observed and
+ * Spring Security's own instrumentation; sampling is management.tracing.sampling.probability.
+ */
+@Configuration
+public class TracingConfig {
+
+    /**
+     * Open a child span for every Mongo command, parented to the observation of the calling request
+     */
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoObservationCustomizer(ObservationRegistry observationRegistry) {
+        return builder -> builder
+                .contextProvider(ContextProviderFactory.create(observationRegistry))
+                .addCommandListener(new MongoObservationCommandListener(observationRegistry));
+    }
+
+    /**
+     * Human-readable spans in the application log
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.tracing.exporter", havingValue = "log", matchIfMissing = true)
+    public SpanExporter loggingSpanExporter() {
+        return LoggingSpanExporter.create();
+    }
+
+    /**
+     * OTLP JSON lines (one per export batch) that can be shipped to a file or replayed into a collector
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.tracing.exporter", havingValue = "otlp-json")
+    public SpanExporter otlpJsonLoggingSpanExporter() {
+        return OtlpJsonLoggingSpanExporter.create();
+    }
+}
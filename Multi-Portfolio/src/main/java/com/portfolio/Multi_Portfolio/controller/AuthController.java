@@ -12,19 +12,25 @@ import org.springframework.security.authentication.AuthenticationManager; // Imp
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.portfolio.Multi_Portfolio.model.Profile;
 import com.portfolio.Multi_Portfolio.model.User;
 import com.portfolio.Multi_Portfolio.payload.LoginRequest;
 import com.portfolio.Multi_Portfolio.security.jwt.JwtTokenProvider;
+import com.portfolio.Multi_Portfolio.service.AvailabilityService;
 import com.portfolio.Multi_Portfolio.service.ProfileServices;
 import com.portfolio.Multi_Portfolio.service.UserService;
 
+import io.micrometer.observation.annotation.Observed;
+
 @RestController
+@Observed(name = "portfolio.controller")
 @RequestMapping("/api/auth")
 public class AuthController {
 
@@ -42,6 +48,31 @@ public class AuthController {
     @Autowired
     private JwtTokenProvider tokenProvider;
 
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    /**
+     * Availability of a username and/or email for the registration form, checked as the user types
+     */
+    @GetMapping("/availability")
+    public ResponseEntity<Map<String, Object>> checkAvailability(@RequestParam(required = false) String username,
+            @RequestParam(required = false) String email) {
+        Map<String, Object> response = new HashMap<>();
+        if ((username == null || username.isBlank()) && (email == null || email.isBlank())) {
+            response.put("success", false);
+            response.put("error", "username or email is required");
+            return ResponseEntity.badRequest().body(response);
+        }
+        if (username != null && !username.isBlank()) {
+            response.put("usernameAvailable", availabilityService.isUsernameAvailable(username));
+        }
+        if (email != null && !email.isBlank()) {
+            response.put("emailAvailable", availabilityService.isEmailAvailable(email));
+        }
+        response.put("success", true);
+        return ResponseEntity.ok(response);
+    }
+
     @PostMapping("/register")
     public ResponseEntity<?> registerUser(@RequestBody LoginRequest signUpRequest) {
         try {
@@ -78,8 +109,7 @@ public class AuthController {
                 return ResponseEntity.ok(response);
                 
             } catch (Exception profileException) {
-                logger.error("Failed to create profile for user {}: {}", user.getUsername(), profileException.getMessage());
-                profileException.printStackTrace(); // Print full stack trace for debugging
+                logger.error("Failed to create profile for user {}: {}", user.getUsername(), profileException.getMessage(), profileException);
                 
                 // Still return success for user registration, but indicate profile creation failed  
                 Map<String, Object> response = new HashMap<>();
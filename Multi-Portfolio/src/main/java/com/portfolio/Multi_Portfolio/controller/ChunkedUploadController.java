@@ -0,0 +1,205 @@
+package com.portfolio.Multi_Portfolio.controller;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.portfolio.Multi_Portfolio.model.UploadSession;
+import com.portfolio.Multi_Portfolio.payload.PresignedUploadRequest;
+import com.portfolio.Multi_Portfolio.service.ChunkedUploadService;
+import com.portfolio.Multi_Portfolio.service.FileUploadService;
+import com.portfolio.Multi_Portfolio.service.S3Resilience;
+
+import io.micrometer.observation.annotation.Observed;
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Resumable chunked uploads for large portfolio media.
+ * POST creates a session, PATCH sends a chunk at Upload-Offset, GET reports the
+ * current offset to resume from, POST .../complete assembles the file.
+ */
+@RestController
+@Observed(name = "portfolio.controller")
+@RequestMapping("/api/files/uploads")
+public class ChunkedUploadController {
+
+    private static final String UPLOAD_OFFSET_HEADER = "Upload-Offset";
+
+    // Matches the S3 circuit's default open duration
+    private static final String STORAGE_RETRY_AFTER_SECONDS = "30";
+
+    @Autowired
+    private ChunkedUploadService chunkedUploadService;
+
+    @Autowired
+    private FileUploadService fileUploadService;
+
+    /**
+     * Create an upload session (same metadata as a presigned upload request)
+     */
+    @PostMapping
+    public ResponseEntity<Map<String, Object>> createSession(@RequestBody PresignedUploadRequest request) {
+        Map<String, Object> response = new HashMap<>();
+
+        try {
+            UploadSession session = chunkedUploadService.createSession(
+                    request.getPhotoType(), request.getItemIndex(), request.getFileName(),
+                    request.getContentType(), request.getSize());
+
+            response.put("success", true);
+            response.put("uploadId", session.getId());
+            response.put("offset", session.getOffset());
+            response.put("size", session.getSize());
+            response.put("chunkSize", ChunkedUploadService.S3_PART_SIZE);
+            response.put("expiresAt", session.getExpiresAt().toEpochMilli());
+            response.put("storageType", fileUploadService.getCurrentStorageType());
+
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+
+        } catch (Exception e) {
+            return errorResponse(response, e, "Failed to create upload session: ");
+        }
+    }
+
+    /**
+     * Report the current offset so an interrupted client knows where to resume
+     */
+    @GetMapping("/{uploadId}")
+    public ResponseEntity<Map<String, Object>> getSession(@PathVariable String uploadId) {
+        Map<String, Object> response = new HashMap<>();
+
+        try {
+            UploadSession session = chunkedUploadService.getSession(uploadId);
+
+            response.put("success", true);
+            response.put("uploadId", session.getId());
+            response.put("offset", session.getOffset());
+            response.put("size", session.getSize());
+            response.put("expiresAt", session.getExpiresAt().toEpochMilli());
+
+            return ResponseEntity.ok()
+                    .header(UPLOAD_OFFSET_HEADER, String.valueOf(session.getOffset()))
+                    .body(response);
+
+        } catch (Exception e) {
+            return errorResponse(response, e, "Failed to get upload session: ");
+        }
+    }
+
+    /**
+     * Send the next chunk. The raw request body is the chunk, Upload-Offset is where it starts.
+     */
+    @PatchMapping("/{uploadId}")
+    public ResponseEntity<Map<String, Object>> appendChunk(
+            @PathVariable String uploadId,
+            @RequestHeader(UPLOAD_OFFSET_HEADER) long offset,
+            HttpServletRequest request) {
+
+        Map<String, Object> response = new HashMap<>();
+
+        try {
+            long newOffset = chunkedUploadService.appendChunk(
+                    uploadId, offset, request.getContentLengthLong(), request.getInputStream());
+
+            response.put("success", true);
+            response.put("offset", newOffset);
+
+            return ResponseEntity.ok()
+                    .header(UPLOAD_OFFSET_HEADER, String.valueOf(newOffset))
+                    .body(response);
+
+        } catch (ChunkedUploadService.OffsetMismatchException e) {
+            response.put("success", false);
+            response.put("error", e.getMessage());
+            response.put("offset", e.getCurrentOffset());
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .header(UPLOAD_OFFSET_HEADER, String.valueOf(e.getCurrentOffset()))
+                    .body(response);
+
+        } catch (Exception e) {
+            return errorResponse(response, e, "Failed to store chunk: ");
+        }
+    }
+
+    /**
+     * Finalize a fully received upload
+     */
+    @PostMapping("/{uploadId}/complete")
+    public ResponseEntity<Map<String, Object>> completeSession(@PathVariable String uploadId) {
+        Map<String, Object> response = new HashMap<>();
+
+        try {
+            String fileUrl = chunkedUploadService.completeSession(uploadId);
+
+            response.put("success", true);
+            response.put("message", "Upload completed successfully");
+            response.put("fileUrl", fileUrl);
+            response.put("storageType", fileUploadService.getCurrentStorageType());
+
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            return errorResponse(response, e, "Failed to complete upload: ");
+        }
+    }
+
+    /**
+     * Abort an upload and release its stored chunks
+     */
+    @DeleteMapping("/{uploadId}")
+    public ResponseEntity<Map<String, Object>> abortSession(@PathVariable String uploadId) {
+        Map<String, Object> response = new HashMap<>();
+
+        try {
+            chunkedUploadService.abortSession(uploadId);
+
+            response.put("success", true);
+            response.put("message", "Upload aborted");
+
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            return errorResponse(response, e, "Failed to abort upload: ");
+        }
+    }
+
+    /**
+     * Map service exceptions to the status codes used by the upload endpoints
+     */
+    private ResponseEntity<Map<String, Object>> errorResponse(Map<String, Object> response, Exception e, String prefix) {
+        response.put("success", false);
+
+        if (e instanceof SecurityException) {
+            response.put("error", "Authentication required");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
+        } else if (e instanceof S3Resilience.StorageUnavailableException) {
+            response.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, STORAGE_RETRY_AFTER_SECONDS)
+                    .body(response);
+        } else if (e instanceof NoSuchElementException) {
+            response.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        } else if (e instanceof IllegalArgumentException || e instanceof IllegalStateException) {
+            response.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        }
+
+        response.put("error", prefix + e.getMessage());
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+    }
+}
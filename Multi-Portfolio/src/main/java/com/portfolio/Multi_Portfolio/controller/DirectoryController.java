@@ -0,0 +1,166 @@
+package com.portfolio.Multi_Portfolio.controller;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.portfolio.Multi_Portfolio.service.AutocompleteService;
+import com.portfolio.Multi_Portfolio.service.FacetCountService;
+import com.portfolio.Multi_Portfolio.service.ProfileSearchService;
+import com.portfolio.Multi_Portfolio.service.ProfileSummaryService;
+
+import io.micrometer.observation.annotation.Observed;
+
+/**
+ * Public portfolio listings. Reads only profile_summaries, never full profiles.
+ */
+@RestController
+@Observed(name = "portfolio.controller")
+@RequestMapping(value = "/api/directory", produces = "application/json")
+public class DirectoryController {
+
+    private static final Logger logger = LoggerFactory.getLogger(DirectoryController.class);
+
+    private static final int MAX_LIMIT = 100;
+    private static final int MAX_CARDS = 100;
+
+    @Autowired
+    private ProfileSummaryService profileSummaryService;
+
+    @Autowired
+    private ProfileSearchService profileSearchService;
+
+    @Autowired
+    private AutocompleteService autocompleteService;
+
+    @Autowired
+    private FacetCountService facetCountService;
+
+    /**
+     * Portfolio cards in name order, filtered by any of profileType, selectedTemplate, location
+     * and skill. Pass the returned nextCursor, with the same filters, to get the following page.
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> list(
+            @RequestParam(required = false) String profileType,
+            @RequestParam(required = false) String selectedTemplate,
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) String skill,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            ProfileSummaryService.DirectoryPage page = profileSummaryService.directory(profileType, selectedTemplate,
+                    location, skill, cursor, Math.max(1, Math.min(limit, MAX_LIMIT)));
+            response.put("success", true);
+            response.put("profiles", page.profiles());
+            response.put("nextCursor", page.nextCursor());
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        } catch (Exception e) {
+            logger.error("Directory listing failed", e);
+            response.put("success", false);
+            response.put("error", "Failed to list profiles: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    /**
+     * Full-text search by specialty, skill, hospital, university, location and the like. Ranked
+     * cards, page numbers from 0; indexing is false until the startup index build has finished.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<Map<String, Object>> search(@RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            int pageSize = Math.max(1, Math.min(size, MAX_LIMIT));
+            ProfileSearchService.SearchResult result = profileSearchService.search(q, Math.max(0, page), pageSize);
+            response.put("success", true);
+            response.put("profiles", profileSummaryService.findAll(result.usernames()));
+            response.put("total", result.total());
+            response.put("page", Math.max(0, page));
+            response.put("size", pageSize);
+            response.put("indexing", !result.complete());
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        } catch (Exception e) {
+            logger.error("Directory search failed", e);
+            response.put("success", false);
+            response.put("error", "Failed to search profiles: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    /**
+     * Type-ahead completions of q: usernames, full names, skills and professional titles, or
+     * only one of them with type. Answered from memory, cheap enough to call on every keystroke.
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<Map<String, Object>> suggest(@RequestParam String q,
+            @RequestParam(required = false) String type,
+            @RequestParam(defaultValue = "8") int limit) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            response.put("success", true);
+            response.put("suggestions", autocompleteService.suggest(q, type, Math.max(1, limit)));
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
+    /**
+     * Portfolio counts per profileType, selectedTemplate, skill and language, most common first.
+     * Served from memory; skills and languages are cut to the top limit.
+     */
+    @GetMapping("/facets")
+    public ResponseEntity<Map<String, Object>> facets(@RequestParam(defaultValue = "20") int limit) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("facets", facetCountService.facets(Math.max(1, Math.min(limit, MAX_LIMIT))));
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Cards for specific users, e.g. search hits or a featured list, in the order given
+     */
+    @GetMapping("/cards")
+    public ResponseEntity<Map<String, Object>> cards(@RequestParam List<String> usernames) {
+        Map<String, Object> response = new HashMap<>();
+        if (usernames.size() > MAX_CARDS) {
+            response.put("success", false);
+            response.put("error", "At most " + MAX_CARDS + " usernames per request");
+            return ResponseEntity.badRequest().body(response);
+        }
+        try {
+            response.put("success", true);
+            response.put("profiles", profileSummaryService.findAll(usernames));
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            logger.error("Directory card lookup failed", e);
+            response.put("success", false);
+            response.put("error", "Failed to load profiles: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+}
@@ -3,33 +3,66 @@ package com.portfolio.Multi_Portfolio.controller;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.portfolio.Multi_Portfolio.payload.PresignedUploadCompleteRequest;
+import com.portfolio.Multi_Portfolio.payload.PresignedUploadRequest;
+import com.portfolio.Multi_Portfolio.payload.PresignedUploadResponse;
 import com.portfolio.Multi_Portfolio.service.FileUploadService;
+import com.portfolio.Multi_Portfolio.service.S3Resilience;
+
+import io.micrometer.observation.annotation.Observed;
+import jakarta.servlet.http.HttpServletRequest;
 
 /**
  * Unified File Upload Controller that handles both S3 and Local storage
  * with JWT authentication integration
  */
 @RestController
+@Observed(name = "portfolio.controller")
 @RequestMapping("/api/files")
 public class FileUploadController {
 
+    private static final Logger logger = LoggerFactory.getLogger(FileUploadController.class);
+
+    // Matches the default circuit breaker open duration
+    private static final String STORAGE_RETRY_AFTER_SECONDS = "30";
+
     @Autowired
     private FileUploadService fileUploadService;
 
+    /**
+     * Storage circuit open or S3 failing: tell the client when to retry. Endpoints rethrow
+     * this past their generic catch so it lands here instead of becoming a 500.
+     */
+    @ExceptionHandler(S3Resilience.StorageUnavailableException.class)
+    public ResponseEntity<Map<String, Object>> storageUnavailable(S3Resilience.StorageUnavailableException e) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", false);
+        response.put("error", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, STORAGE_RETRY_AFTER_SECONDS)
+                .body(response);
+    }
+
     /**
      * Health check endpoint
      */
@@ -60,7 +93,7 @@ public class FileUploadController {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
             }
 
-            System.out.println("Profile photo upload request from user: " + username);
+            logger.debug("Profile photo upload request from user: {}", username);
 
             // Upload file
             String fileUrl = fileUploadService.uploadProfilePhoto(file);
@@ -75,20 +108,22 @@ public class FileUploadController {
             return ResponseEntity.ok(response);
 
         } catch (SecurityException e) {
-            System.err.println("Authentication error: " + e.getMessage());
+            logger.warn("Authentication error: {}", e.getMessage());
             response.put("success", false);
             response.put("error", "Authentication required");
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
 
+        } catch (S3Resilience.StorageUnavailableException e) {
+            throw e;
+
         } catch (IllegalArgumentException e) {
-            System.err.println("Validation error: " + e.getMessage());
+            logger.info("Validation error: {}", e.getMessage());
             response.put("success", false);
             response.put("error", e.getMessage());
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
 
         } catch (Exception e) {
-            System.err.println("Upload error: " + e.getMessage());
-            e.printStackTrace();
+            logger.error("Upload error: {}", e.getMessage(), e);
             response.put("success", false);
             response.put("error", "Failed to upload file: " + e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
@@ -114,7 +149,7 @@ public class FileUploadController {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
             }
 
-            System.out.println("File upload request from user: " + username + ", path: " + path);
+            logger.debug("File upload request from user: {}, path: {}", username, path);
 
             // Upload file
             String fileUrl = fileUploadService.uploadFile(file, path);
@@ -130,20 +165,22 @@ public class FileUploadController {
             return ResponseEntity.ok(response);
 
         } catch (SecurityException e) {
-            System.err.println("Authentication error: " + e.getMessage());
+            logger.warn("Authentication error: {}", e.getMessage());
             response.put("success", false);
             response.put("error", "Authentication required");
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
 
+        } catch (S3Resilience.StorageUnavailableException e) {
+            throw e;
+
         } catch (IllegalArgumentException e) {
-            System.err.println("Validation error: " + e.getMessage());
+            logger.info("Validation error: {}", e.getMessage());
             response.put("success", false);
             response.put("error", e.getMessage());
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
 
         } catch (Exception e) {
-            System.err.println("Upload error: " + e.getMessage());
-            e.printStackTrace();
+            logger.error("Upload error: {}", e.getMessage(), e);
             response.put("success", false);
             response.put("error", "Failed to upload file: " + e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
@@ -158,78 +195,97 @@ public class FileUploadController {
      * Upload certification photos
      */
     @PostMapping("/upload/certification-photo")
-    public ResponseEntity<Map<String, Object>> uploadCertificationPhoto(@RequestParam("file") MultipartFile file) {
-        return uploadMedicalPortfolioPhoto(file, "certification");
+    public ResponseEntity<Map<String, Object>> uploadCertificationPhoto(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "itemIndex", required = false) Integer itemIndex) {
+        return uploadMedicalPortfolioPhoto(file, "certification", itemIndex);
     }
 
     /**
      * Upload education photos
      */
     @PostMapping("/upload/education-photo")
-    public ResponseEntity<Map<String, Object>> uploadEducationPhoto(@RequestParam("file") MultipartFile file) {
-        return uploadMedicalPortfolioPhoto(file, "education");
+    public ResponseEntity<Map<String, Object>> uploadEducationPhoto(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "itemIndex", required = false) Integer itemIndex) {
+        return uploadMedicalPortfolioPhoto(file, "education", itemIndex);
     }
 
     /**
      * Upload internship photos
      */
     @PostMapping("/upload/internship-photo")
-    public ResponseEntity<Map<String, Object>> uploadInternshipPhoto(@RequestParam("file") MultipartFile file) {
-        return uploadMedicalPortfolioPhoto(file, "internship");
+    public ResponseEntity<Map<String, Object>> uploadInternshipPhoto(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "itemIndex", required = false) Integer itemIndex) {
+        return uploadMedicalPortfolioPhoto(file, "internship", itemIndex);
     }
 
     /**
      * Upload project photos
      */
     @PostMapping("/upload/project-photo")
-    public ResponseEntity<Map<String, Object>> uploadProjectPhoto(@RequestParam("file") MultipartFile file) {
-        return uploadMedicalPortfolioPhoto(file, "project");
+    public ResponseEntity<Map<String, Object>> uploadProjectPhoto(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "itemIndex", required = false) Integer itemIndex) {
+        return uploadMedicalPortfolioPhoto(file, "project", itemIndex);
     }
 
     /**
      * Upload publication photos
      */
     @PostMapping("/upload/publication-photo")
-    public ResponseEntity<Map<String, Object>> uploadPublicationPhoto(@RequestParam("file") MultipartFile file) {
-        return uploadMedicalPortfolioPhoto(file, "publication");
+    public ResponseEntity<Map<String, Object>> uploadPublicationPhoto(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "itemIndex", required = false) Integer itemIndex) {
+        return uploadMedicalPortfolioPhoto(file, "publication", itemIndex);
     }
 
     /**
      * Upload conference photos
      */
     @PostMapping("/upload/conference-photo")
-    public ResponseEntity<Map<String, Object>> uploadConferencePhoto(@RequestParam("file") MultipartFile file) {
-        return uploadMedicalPortfolioPhoto(file, "conference");
+    public ResponseEntity<Map<String, Object>> uploadConferencePhoto(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "itemIndex", required = false) Integer itemIndex) {
+        return uploadMedicalPortfolioPhoto(file, "conference", itemIndex);
     }
 
     /**
      * Upload achievement photos
      */
     @PostMapping("/upload/achievement-photo")
-    public ResponseEntity<Map<String, Object>> uploadAchievementPhoto(@RequestParam("file") MultipartFile file) {
-        return uploadMedicalPortfolioPhoto(file, "achievement");
+    public ResponseEntity<Map<String, Object>> uploadAchievementPhoto(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "itemIndex", required = false) Integer itemIndex) {
+        return uploadMedicalPortfolioPhoto(file, "achievement", itemIndex);
     }
 
     /**
      * Upload medical experience photos
      */
     @PostMapping("/upload/medical-experience-photo")
-    public ResponseEntity<Map<String, Object>> uploadMedicalExperiencePhoto(@RequestParam("file") MultipartFile file) {
-        return uploadMedicalPortfolioPhoto(file, "medical-experience");
+    public ResponseEntity<Map<String, Object>> uploadMedicalExperiencePhoto(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "itemIndex", required = false) Integer itemIndex) {
+        return uploadMedicalPortfolioPhoto(file, "medical-experience", itemIndex);
     }
 
     /**
      * Upload engineering experience photos
      */
     @PostMapping("/upload/engineering-experience-photo")
-    public ResponseEntity<Map<String, Object>> uploadEngineeringExperiencePhoto(@RequestParam("file") MultipartFile file) {
-        return uploadMedicalPortfolioPhoto(file, "engineering-experience");
+    public ResponseEntity<Map<String, Object>> uploadEngineeringExperiencePhoto(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "itemIndex", required = false) Integer itemIndex) {
+        return uploadMedicalPortfolioPhoto(file, "engineering-experience", itemIndex);
     }
 
     /**
-     * Common method for medical portfolio photo uploads
+     * Common method for medical portfolio photo uploads.
+     * With itemIndex the photo is attached server-side to that item of the section.
      */
-    private ResponseEntity<Map<String, Object>> uploadMedicalPortfolioPhoto(MultipartFile file, String photoType) {
+    private ResponseEntity<Map<String, Object>> uploadMedicalPortfolioPhoto(MultipartFile file, String photoType, Integer itemIndex) {
         Map<String, Object> response = new HashMap<>();
 
         try {
@@ -241,10 +297,10 @@ public class FileUploadController {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
             }
 
-            System.out.println("Medical portfolio photo upload request from user: " + username + ", type: " + photoType);
+            logger.debug("Medical portfolio photo upload request from user: {}, type: {}", username, photoType);
 
             // Upload file with medical portfolio specific path
-            String fileUrl = fileUploadService.uploadMedicalPortfolioPhoto(file, photoType);
+            String fileUrl = fileUploadService.uploadMedicalPortfolioPhoto(file, photoType, itemIndex);
 
             response.put("success", true);
             response.put("message", photoType + " photo uploaded successfully");
@@ -252,31 +308,155 @@ public class FileUploadController {
             response.put("filename", file.getOriginalFilename());
             response.put("size", file.getSize());
             response.put("photoType", photoType);
+            response.put("attached", itemIndex != null);
+            if (itemIndex != null) {
+                response.put("itemIndex", itemIndex);
+            }
             response.put("storageType", fileUploadService.getCurrentStorageType());
 
             return ResponseEntity.ok(response);
 
         } catch (SecurityException e) {
-            System.err.println("Authentication error: " + e.getMessage());
+            logger.warn("Authentication error: {}", e.getMessage());
             response.put("success", false);
             response.put("error", "Authentication required");
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
 
+        } catch (S3Resilience.StorageUnavailableException e) {
+            throw e;
+
         } catch (IllegalArgumentException e) {
-            System.err.println("Validation error: " + e.getMessage());
+            logger.info("Validation error: {}", e.getMessage());
             response.put("success", false);
             response.put("error", e.getMessage());
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
 
         } catch (Exception e) {
-            System.err.println("Upload error: " + e.getMessage());
-            e.printStackTrace();
+            logger.error("Upload error: {}", e.getMessage(), e);
             response.put("success", false);
             response.put("error", "Failed to upload " + photoType + " photo: " + e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
         }
     }
 
+    // ======================================
+    // PRESIGNED DIRECT UPLOAD ENDPOINTS
+    // ======================================
+
+    /**
+     * Issue a short-lived presigned URL for uploading directly to storage
+     */
+    @PostMapping("/presigned")
+    public ResponseEntity<Map<String, Object>> createPresignedUpload(@RequestBody PresignedUploadRequest request) {
+        Map<String, Object> response = new HashMap<>();
+
+        try {
+            PresignedUploadResponse presigned = fileUploadService.createPresignedUpload(
+                    request.getPhotoType(), request.getFileName(), request.getContentType(), request.getSize());
+
+            response.put("success", true);
+            response.put("upload", presigned);
+            response.put("storageType", fileUploadService.getCurrentStorageType());
+
+            return ResponseEntity.ok(response);
+
+        } catch (SecurityException e) {
+            response.put("success", false);
+            response.put("error", "Authentication required");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
+
+        } catch (S3Resilience.StorageUnavailableException e) {
+            throw e;
+
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("error", "Failed to create presigned upload: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    /**
+     * Confirm a presigned upload once the client has finished sending the file
+     */
+    @PostMapping("/presigned/complete")
+    public ResponseEntity<Map<String, Object>> completePresignedUpload(@RequestBody PresignedUploadCompleteRequest request) {
+        Map<String, Object> response = new HashMap<>();
+
+        try {
+            String fileUrl = fileUploadService.completePresignedUpload(
+                    request.getKey(), request.getPhotoType(), request.getItemIndex());
+
+            response.put("success", true);
+            response.put("message", "Upload completed successfully");
+            response.put("fileUrl", fileUrl);
+            response.put("photoType", request.getPhotoType());
+            response.put("storageType", fileUploadService.getCurrentStorageType());
+
+            return ResponseEntity.ok(response);
+
+        } catch (SecurityException e) {
+            response.put("success", false);
+            response.put("error", "Authentication required");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
+
+        } catch (S3Resilience.StorageUnavailableException e) {
+            throw e;
+
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("error", "Failed to complete upload: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    /**
+     * Receive the body of a signed local upload (local storage stand-in for a presigned S3 PUT).
+     * Authorization comes from the URL signature, not from the JWT.
+     */
+    @PutMapping("/presigned/local")
+    public ResponseEntity<Map<String, Object>> acceptSignedLocalUpload(
+            @RequestParam String key,
+            @RequestParam long expires,
+            @RequestParam long size,
+            @RequestParam String signature,
+            HttpServletRequest request) {
+
+        Map<String, Object> response = new HashMap<>();
+
+        try {
+            fileUploadService.acceptSignedLocalUpload(key, expires, size, signature, request.getInputStream());
+
+            response.put("success", true);
+            response.put("key", key);
+            return ResponseEntity.ok(response);
+
+        } catch (SecurityException e) {
+            response.put("success", false);
+            response.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(response);
+
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            response.put("success", false);
+            response.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("error", "Failed to store upload: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
     /**
      * Delete a file
      */
@@ -293,25 +473,25 @@ public class FileUploadController {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
             }
 
-            System.out.println("File deletion request from user: " + username + ", file: " + fileUrl);
+            logger.debug("File deletion request from user: {}, file: {}", username, fileUrl);
 
             // Delete file
             fileUploadService.deleteFile(fileUrl);
 
             response.put("success", true);
-            response.put("message", "File deleted successfully");
+            response.put("message", "File scheduled for deletion");
             response.put("fileUrl", fileUrl);
 
             return ResponseEntity.ok(response);
 
         } catch (SecurityException e) {
-            System.err.println("Authentication error: " + e.getMessage());
+            logger.warn("Authentication error: {}", e.getMessage());
             response.put("success", false);
             response.put("error", "Authentication required");
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
 
         } catch (Exception e) {
-            System.err.println("Deletion error: " + e.getMessage());
+            logger.error("Deletion error: {}", e.getMessage(), e);
             response.put("success", false);
             response.put("error", "Failed to delete file: " + e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
@@ -1,12 +1,17 @@
 package com.portfolio.Multi_Portfolio.controller;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,17 +20,31 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.portfolio.Multi_Portfolio.model.Profile;
 import com.portfolio.Multi_Portfolio.service.ProfileServices;
+import com.portfolio.Multi_Portfolio.service.ProfileViewService;
+
+import io.micrometer.observation.annotation.Observed;
+import jakarta.servlet.http.HttpServletRequest;
 
 @RestController
+@Observed(name = "portfolio.controller")
 @RequestMapping(value = "/api/profile", produces = "application/json")
 public class ProfileController {
+    private static final Logger logger = LoggerFactory.getLogger(ProfileController.class);
+
+    // Request body dumps, off unless logging.level.<this logger> is DEBUG
+    private static final Logger payloadLogger = LoggerFactory.getLogger(ProfileController.class.getName() + ".payload");
+
     @Autowired
     private ProfileServices service;
 
+    @Autowired
+    private ProfileViewService profileViewService;
+
     // Get current user's username from security context
     private String getCurrentUsername() {
         return SecurityContextHolder.getContext().getAuthentication().getName();
@@ -49,12 +68,14 @@ public class ProfileController {
         }
     }
 
-    // Get current user's profile
+    // Get current user's profile. ?sections=certifications,projects loads only those sections,
+    // an empty ?sections= just the header fields; without it every section is loaded
     @GetMapping
-    public ResponseEntity<?> getCurrentUserProfile() {
+    public ResponseEntity<?> getCurrentUserProfile(@RequestParam(required = false) List<String> sections) {
         try {
             String username = getCurrentUsername();
-            Optional<Profile> profile = service.getProfileByUsername(username);
+            Optional<Profile> profile = service.getProfileByUsername(username,
+                    sections != null ? sections : ProfileServices.SPLIT_SECTIONS);
             
             if (profile.isPresent()) {
                 return new ResponseEntity<>(profile.get(), HttpStatus.OK);
@@ -75,15 +96,14 @@ public class ProfileController {
     public ResponseEntity<?> updateCurrentUserProfile(@RequestBody Profile profileUpdates) {
         try {
             String username = getCurrentUsername();
-            System.out.println("=== PROFILE UPDATE DEBUG ===");
-            System.out.println("Updating profile for user: " + username);
-            System.out.println("Full profile object received: " + profileUpdates);
-            System.out.println("Experience data: " + profileUpdates.getExperience());
-            System.out.println("Experience size: " + (profileUpdates.getExperience() != null ? profileUpdates.getExperience().size() : "null"));
-            System.out.println("Interests data: " + profileUpdates.getInterests());
-            System.out.println("Interests size: " + (profileUpdates.getInterests() != null ? profileUpdates.getInterests().size() : "null"));
-            System.out.println("SocialLinks data: " + profileUpdates.getSocialLinks());
-            System.out.println("================================");
+            logger.atDebug()
+                    .setMessage("Updating profile for user: {} (experience: {}, interests: {})")
+                    .addArgument(username)
+                    .addArgument(() -> profileUpdates.getExperience() != null ? profileUpdates.getExperience().size() : null)
+                    .addArgument(() -> profileUpdates.getInterests() != null ? profileUpdates.getInterests().size() : null)
+                    .log();
+            // The full body is only rendered when the payload logger is at DEBUG
+            payloadLogger.debug("Full profile object received: {}", profileUpdates);
             
             Profile updatedProfile = service.updateProfile(profileUpdates, username);
             
@@ -147,11 +167,18 @@ public class ProfileController {
 
     // Get profile by username (for viewing other users' profiles - public endpoint)
     @GetMapping("/user/{username}")
-    public ResponseEntity<?> getProfileByUsername(@PathVariable String username) {
+    public ResponseEntity<?> getProfileByUsername(@PathVariable String username,
+                                                  @RequestParam(required = false) List<String> sections,
+                                                  HttpServletRequest request) {
         try {
-            Optional<Profile> profile = service.getProfileByUsername(username);
+            Optional<Profile> profile = service.getProfileByUsername(username,
+                    sections != null ? sections : ProfileServices.SPLIT_SECTIONS);
             
             if (profile.isPresent()) {
+                String visitor = visitorId(request);
+                if (!visitor.equals("user:" + username)) { // Owners looking at their own page are not views
+                    profileViewService.recordView(username, visitor);
+                }
                 // You might want to filter sensitive information for public viewing
                 return new ResponseEntity<>(profile.get(), HttpStatus.OK);
             } else {
@@ -166,6 +193,29 @@ public class ProfileController {
         }
     }
 
+    // View statistics of the logged-in user's public profile, one entry per day
+    @GetMapping("/stats")
+    public ResponseEntity<?> getViewStats(@RequestParam(defaultValue = "30") int days) {
+        try {
+            int range = Math.max(1, Math.min(days, ProfileViewService.MAX_DAYS));
+            return new ResponseEntity<>(profileViewService.stats(getCurrentUsername(), range), HttpStatus.OK);
+        } catch (Exception e) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Failed to retrieve view statistics: " + e.getMessage());
+            return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // Signed-in viewers are counted by username, anonymous ones by client address and browser
+    private String visitorId(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated() && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + authentication.getName();
+        }
+        // X-Forwarded-For is resolved by the server (server.forward-headers-strategy) from trusted proxies only
+        return "client:" + request.getRemoteAddr() + "|" + request.getHeader("User-Agent");
+    }
+
     // Update selected template for the logged-in user
     @PutMapping("/template")
     public ResponseEntity<?> updateSelectedTemplate(@RequestBody Map<String, String> request) {
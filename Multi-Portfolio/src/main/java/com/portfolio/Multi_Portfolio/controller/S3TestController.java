@@ -14,9 +14,13 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.portfolio.Multi_Portfolio.service.S3Resilience;
 import com.portfolio.Multi_Portfolio.service.S3Service;
 
+import io.micrometer.observation.annotation.Observed;
+
 @RestController
+@Observed(name = "portfolio.controller")
 @RequestMapping("/api/test")
 @ConditionalOnProperty(name = "aws.s3.enabled", havingValue = "true", matchIfMissing = false)
 public class S3TestController {
@@ -24,6 +28,9 @@ public class S3TestController {
     @Autowired
     private S3Service s3Service;
 
+    @Autowired
+    private S3Resilience s3Resilience;
+
     @GetMapping("/ping")
     public ResponseEntity<Map<String, String>> ping() {
         Map<String, String> response = new HashMap<>();
@@ -42,10 +49,12 @@ public class S3TestController {
             response.put("message", "AWS credentials are working");
             response.put("bucketName", s3Service.getS3BucketName());
             response.put("region", s3Service.getS3Region());
+            response.put("circuitState", s3Resilience.getCircuitState());
         } catch (Exception e) {
             response.put("status", "error");
             response.put("message", "AWS credentials failed: " + e.getMessage());
             response.put("error", e.getClass().getSimpleName());
+            response.put("circuitState", s3Resilience.getCircuitState());
         }
         return ResponseEntity.ok(response);
     }
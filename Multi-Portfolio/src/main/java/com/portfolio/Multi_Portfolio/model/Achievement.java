@@ -0,0 +1,19 @@
+package com.portfolio.Multi_Portfolio.model;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+class Achievement {
+    private String title;
+    private String associatedWith;
+    private String issuer;
+    private String issueDate;
+    private String description;
+    private List<String> achievementPhotos;
+}
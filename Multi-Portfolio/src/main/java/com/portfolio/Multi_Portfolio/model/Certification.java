@@ -0,0 +1,17 @@
+package com.portfolio.Multi_Portfolio.model;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+class Certification {
+    private String name;
+    private String authority;
+    private String issueDate;
+    private List<String> certPhotos;
+}
@@ -0,0 +1,17 @@
+package com.portfolio.Multi_Portfolio.model;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+class Conference {
+    private String name;
+    private String role; // Attended or Presented
+    private String date;
+    private List<String> conferencePhotos;
+}
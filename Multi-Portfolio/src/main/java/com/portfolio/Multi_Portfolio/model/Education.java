@@ -0,0 +1,22 @@
+package com.portfolio.Multi_Portfolio.model;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+class Education {
+    private String degree;
+    private String university;
+    private String startDate;
+    private String endDate;
+    private String yearOfPassing;
+    private String grade;
+    private String description;
+    private String honors;
+    private List<String> eduPhotos;
+}
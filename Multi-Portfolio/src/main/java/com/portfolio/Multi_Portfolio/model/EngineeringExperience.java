@@ -0,0 +1,20 @@
+package com.portfolio.Multi_Portfolio.model;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+class EngineeringExperience {
+    private String projectName;
+    private String description;
+    private String startDate;
+    private String endDate;
+    private String location;
+    private String projectLink;
+    private List<String> enggExpPhotos;
+}
@@ -0,0 +1,17 @@
+package com.portfolio.Multi_Portfolio.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+class Experience {
+    private String company;
+    private String position;
+    private String startDate;
+    private String endDate;
+    private String location;
+    private String description;
+}
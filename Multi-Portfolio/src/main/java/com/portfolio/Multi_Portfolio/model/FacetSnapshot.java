@@ -0,0 +1,40 @@
+package com.portfolio.Multi_Portfolio.model;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Saved copy of the in-memory profile facet counts. clean is only true for the snapshot
+ * written at shutdown, the one moment no count can be missing from it.
+ */
+@Document(collection = "profile_facets")
+@Data
+@NoArgsConstructor
+public class FacetSnapshot {
+    public static final String ID = "counts";
+
+    @Id
+    private String id = ID;
+
+    // A list rather than a map: values such as "node.js" are not valid field names
+    private List<Count> counts;
+
+    private boolean clean;
+    private Instant takenAt;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Count {
+        private String facet;
+        private String value;
+        private long count;
+    }
+}
@@ -0,0 +1,19 @@
+package com.portfolio.Multi_Portfolio.model;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+class Internship {
+    private String hospitalName;
+    private String department;
+    private String duration;
+    private String issueDate;
+    private String keyLearnings;
+    private List<String> internshipPhotos;
+}
@@ -0,0 +1,38 @@
+package com.portfolio.Multi_Portfolio.model;
+
+import java.time.Instant;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A pending deletion of a replaced media file, drained by MediaDeletionQueueService
+ */
+@Document(collection = "media_deletion_queue")
+@Data
+@NoArgsConstructor
+public class MediaDeletionTask {
+    public static final String STATUS_PENDING = "PENDING";
+    public static final String STATUS_FAILED = "FAILED"; // Gave up after max attempts
+
+    @Id
+    private String id;
+
+    private String fileUrl;
+    private String status;
+    private int attempts;
+    private String lastError;
+
+    private Instant createdAt;
+    private Instant nextAttemptAt; // Also acts as the lease while a worker holds the task
+
+    public MediaDeletionTask(String fileUrl) {
+        this.fileUrl = fileUrl;
+        this.status = STATUS_PENDING;
+        this.createdAt = Instant.now();
+        this.nextAttemptAt = this.createdAt;
+    }
+}
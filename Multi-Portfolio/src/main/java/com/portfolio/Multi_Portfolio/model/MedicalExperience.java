@@ -0,0 +1,19 @@
+package com.portfolio.Multi_Portfolio.model;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+class MedicalExperience {
+    private String jobTitle;
+    private String hospitalName;
+    private String startDate;
+    private String endDate;
+    private String responsibilities;
+    private List<String> medicalExpPhotos;
+}
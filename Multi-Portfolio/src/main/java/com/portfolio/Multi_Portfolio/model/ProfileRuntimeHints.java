@@ -0,0 +1,34 @@
+package com.portfolio.Multi_Portfolio.model;
+
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Reflection hints for Profile and its section classes in a native image. The section classes
+ * are package-private, so the hints are registered from this package. Jackson needs their
+ * accessors and generic property types; the Mongo mapper needs declared fields and constructors.
+ */
+public class ProfileRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final Class<?>[] SECTION_TYPES = {
+            Certification.class, Education.class, Internship.class, Project.class, Publication.class,
+            Conference.class, Achievement.class, MedicalExperience.class, EngineeringExperience.class,
+            Experience.class, SocialLinks.class
+    };
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        BindingReflectionHintsRegistrar binding = new BindingReflectionHintsRegistrar();
+        binding.registerReflectionHints(hints.reflection(), Profile.class);
+        binding.registerReflectionHints(hints.reflection(), SECTION_TYPES);
+
+        hints.reflection().registerType(Profile.class, MemberCategory.DECLARED_FIELDS,
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_DECLARED_METHODS);
+        for (Class<?> type : SECTION_TYPES) {
+            hints.reflection().registerType(type, MemberCategory.DECLARED_FIELDS,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_DECLARED_METHODS);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.portfolio.Multi_Portfolio.model;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Card-sized projection of a profile for directory and listing views, maintained by
+ * ProfileSummaryService so listings never load full profiles
+ */
+@Document(collection = "profile_summaries")
+@Data
+@NoArgsConstructor
+public class ProfileSummary {
+    public static final int TOP_SKILLS = 5;
+
+    @Id
+    private String username;
+
+    private String fullName;
+    private String professionalTitle;
+    private String profileType;
+    private String location;
+    private String profilePhoto; // Card thumbnail; the original photo URL until resized variants exist
+    private String selectedTemplate;
+    private List<String> topSkills; // First TOP_SKILLS skills, in the owner's order
+
+    // Normalized copies for directory filters and keyset sorting, not part of the card
+    @JsonIgnore
+    private String nameKey; // Lower-cased full name, "" when missing; sorted together with username
+    @JsonIgnore
+    private String locationKey;
+    @JsonIgnore
+    private List<String> skillKeys; // Every skill, not just the top ones
+
+    private Instant updatedAt;
+
+    public static ProfileSummary of(Profile profile) {
+        ProfileSummary summary = new ProfileSummary();
+        summary.setUsername(profile.getUsername());
+        summary.setFullName(profile.getFullName());
+        summary.setProfessionalTitle(profile.getProfessionalTitle());
+        summary.setProfileType(profile.getProfileType());
+        summary.setLocation(profile.getLocation());
+        summary.setProfilePhoto(profile.getProfilePhoto());
+        summary.setSelectedTemplate(profile.getSelectedTemplate());
+        List<String> skills = profile.getSkills();
+        summary.setTopSkills(skills == null ? List.of() : List.copyOf(skills.subList(0, Math.min(TOP_SKILLS, skills.size()))));
+        summary.setNameKey(key(profile.getFullName()));
+        summary.setLocationKey(key(profile.getLocation()));
+        summary.setSkillKeys(skills == null ? List.of()
+                : skills.stream().filter(Objects::nonNull).map(ProfileSummary::key).distinct().toList());
+        summary.setUpdatedAt(Instant.now());
+        return summary;
+    }
+
+    /**
+     * Normalized form used for matching and sorting: trimmed, lower case, never null
+     */
+    public static String key(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,30 @@
+package com.portfolio.Multi_Portfolio.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Daily view rollup of one public profile, written in batches by ProfileViewService.
+ * visitorSketch holds the HyperLogLog registers so days can be merged into range totals.
+ */
+@Document(collection = "profile_view_stats")
+@Data
+@NoArgsConstructor
+public class ProfileViewDay {
+    @Id
+    private String id; // username + "/" + day
+
+    private String username;
+    private String day; // ISO date (UTC), sorts chronologically
+
+    private long views;
+    private long uniqueVisitors; // Estimate from visitorSketch
+    private byte[] visitorSketch;
+
+    public static String id(String username, String day) {
+        return username + "/" + day;
+    }
+}
@@ -0,0 +1,22 @@
+package com.portfolio.Multi_Portfolio.model;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+class Project {
+    private String title;
+    private String description;
+    private String startDate;
+    private String endDate;
+    private String technologies;
+    private String role;
+    private String projectUrl;
+    private String githubUrl;
+    private List<String> projectPhotos;
+}
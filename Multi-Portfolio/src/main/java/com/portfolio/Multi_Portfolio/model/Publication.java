@@ -0,0 +1,20 @@
+package com.portfolio.Multi_Portfolio.model;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+class Publication {
+    private String title;
+    private String publisher;
+    private String publicationDate;
+    private String author;
+    private String publicationUrl;
+    private String description;
+    private List<String> publicationPhotos;
+}
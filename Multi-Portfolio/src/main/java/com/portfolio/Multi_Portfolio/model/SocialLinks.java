@@ -0,0 +1,15 @@
+package com.portfolio.Multi_Portfolio.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+class SocialLinks {
+    private String linkedin;
+    private String github;
+    private String twitter;
+    private String website;
+}
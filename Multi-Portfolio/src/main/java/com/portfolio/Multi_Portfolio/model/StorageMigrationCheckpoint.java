@@ -0,0 +1,41 @@
+package com.portfolio.Multi_Portfolio.model;
+
+import java.time.Instant;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Progress of a storage backend migration, one document per direction.
+ * The migration resumes after lastProfileId when it is restarted.
+ */
+@Document(collection = "storage_migration_checkpoints")
+@Data
+@NoArgsConstructor
+public class StorageMigrationCheckpoint {
+    public static final String LOCAL_TO_S3 = "local-to-s3";
+    public static final String S3_TO_LOCAL = "s3-to-local";
+
+    @Id
+    private String id; // Direction
+
+    private Object lastProfileId; // Raw _id of the last fully processed profile (ObjectId or String)
+    private long profilesScanned;
+    private long profilesRewritten;
+    private long filesCopied;
+    private long filesFailed;
+    private long remainingForeignUrls = -1; // Set by the verification pass, -1 until it has run
+
+    private Instant startedAt;
+    private Instant updatedAt;
+    private Instant completedAt;
+
+    public StorageMigrationCheckpoint(String direction) {
+        this.id = direction;
+        this.startedAt = Instant.now();
+        this.updatedAt = this.startedAt;
+    }
+}
@@ -0,0 +1,48 @@
+package com.portfolio.Multi_Portfolio.model;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * State of a resumable chunked upload. The offset only advances once a chunk is durably stored.
+ */
+@Document(collection = "upload_sessions")
+@Data
+@NoArgsConstructor
+public class UploadSession {
+    @Id
+    private String id;
+
+    private String username;
+    private String photoType;
+    private Integer itemIndex; // Section item to attach the finished photo to
+    private String storagePath; // "profile" or "medical-portfolio/{type}"
+    private String fileName;
+    private String contentType;
+    private long size;
+    private long offset;
+
+    // S3 multipart state (unused for local storage)
+    private String key;
+    private String s3UploadId;
+    private List<UploadedPart> parts = new ArrayList<>();
+
+    private Instant createdAt;
+    private Instant expiresAt;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class UploadedPart {
+        private int partNumber;
+        private String etag;
+    }
+}
@@ -0,0 +1,40 @@
+package com.portfolio.Multi_Portfolio.payload;
+
+/**
+ * DTO for confirming a finished presigned upload.
+ * Contains the storage key returned by the presign call and the photo type it was issued for.
+ */
+public class PresignedUploadCompleteRequest {
+    private String key;
+    private String photoType;
+    private Integer itemIndex; // Optional section item to attach a section photo to
+
+    // Default constructor
+    public PresignedUploadCompleteRequest() {
+    }
+
+    // Getters and Setters
+    public String getKey() {
+        return key;
+    }
+
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    public String getPhotoType() {
+        return photoType;
+    }
+
+    public void setPhotoType(String photoType) {
+        this.photoType = photoType;
+    }
+
+    public Integer getItemIndex() {
+        return itemIndex;
+    }
+
+    public void setItemIndex(Integer itemIndex) {
+        this.itemIndex = itemIndex;
+    }
+}
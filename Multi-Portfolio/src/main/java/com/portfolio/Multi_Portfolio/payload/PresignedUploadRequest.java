@@ -0,0 +1,58 @@
+package com.portfolio.Multi_Portfolio.payload;
+
+/**
+ * DTO for requesting a presigned direct-to-storage upload.
+ * Contains the photo type and the metadata of the file the client is about to send.
+ */
+public class PresignedUploadRequest {
+    private String photoType;
+    private Integer itemIndex; // Optional section item to attach a section photo to
+    private String fileName;
+    private String contentType;
+    private long size;
+
+    // Default constructor
+    public PresignedUploadRequest() {
+    }
+
+    // Getters and Setters
+    public String getPhotoType() {
+        return photoType;
+    }
+
+    public void setPhotoType(String photoType) {
+        this.photoType = photoType;
+    }
+
+    public Integer getItemIndex() {
+        return itemIndex;
+    }
+
+    public void setItemIndex(Integer itemIndex) {
+        this.itemIndex = itemIndex;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public void setSize(long size) {
+        this.size = size;
+    }
+}
@@ -0,0 +1,80 @@
+package com.portfolio.Multi_Portfolio.payload;
+
+import java.util.Map;
+
+/**
+ * DTO for sending a presigned upload to the client.
+ * The client PUTs the file body to uploadUrl with the given headers, then
+ * calls the completion endpoint with the returned key.
+ */
+public class PresignedUploadResponse {
+    private String uploadUrl;
+    private String method = "PUT"; // Presigned uploads are always PUT
+    private String key;
+    private String fileUrl;
+    private Map<String, String> headers;
+    private long expiresAt;
+
+    // Default constructor
+    public PresignedUploadResponse() {
+    }
+
+    // Constructor with fields
+    public PresignedUploadResponse(String uploadUrl, String key, String fileUrl,
+                                   Map<String, String> headers, long expiresAt) {
+        this.uploadUrl = uploadUrl;
+        this.key = key;
+        this.fileUrl = fileUrl;
+        this.headers = headers;
+        this.expiresAt = expiresAt;
+    }
+
+    // Getters and Setters
+    public String getUploadUrl() {
+        return uploadUrl;
+    }
+
+    public void setUploadUrl(String uploadUrl) {
+        this.uploadUrl = uploadUrl;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public void setMethod(String method) {
+        this.method = method;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    public String getFileUrl() {
+        return fileUrl;
+    }
+
+    public void setFileUrl(String fileUrl) {
+        this.fileUrl = fileUrl;
+    }
+
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    public void setHeaders(Map<String, String> headers) {
+        this.headers = headers;
+    }
+
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(long expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,16 @@
+package com.portfolio.Multi_Portfolio.repository;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import com.portfolio.Multi_Portfolio.model.MediaDeletionTask;
+
+@Repository
+public interface MediaDeletionTaskRepository extends MongoRepository<MediaDeletionTask, String> {
+
+    // Queue depth by status
+    long countByStatus(String status);
+
+    // Oldest task with the given status
+    MediaDeletionTask findFirstByStatusOrderByCreatedAtAsc(String status);
+}
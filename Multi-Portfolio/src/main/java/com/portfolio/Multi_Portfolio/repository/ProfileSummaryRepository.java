@@ -0,0 +1,10 @@
+package com.portfolio.Multi_Portfolio.repository;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import com.portfolio.Multi_Portfolio.model.ProfileSummary;
+
+@Repository
+public interface ProfileSummaryRepository extends MongoRepository<ProfileSummary, String> {
+}
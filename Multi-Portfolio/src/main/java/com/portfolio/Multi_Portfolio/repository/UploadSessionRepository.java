@@ -0,0 +1,16 @@
+package com.portfolio.Multi_Portfolio.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import com.portfolio.Multi_Portfolio.model.UploadSession;
+
+@Repository
+public interface UploadSessionRepository extends MongoRepository<UploadSession, String> {
+
+    // Sessions abandoned past their expiry
+    List<UploadSession> findByExpiresAtBefore(Instant cutoff);
+}
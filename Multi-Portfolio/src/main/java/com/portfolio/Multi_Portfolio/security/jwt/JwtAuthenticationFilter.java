@@ -1,6 +1,8 @@
 package com.portfolio.Multi_Portfolio.security.jwt;
 
 import com.portfolio.Multi_Portfolio.service.UserDetailsServiceImpl; // Your UserDetailsService
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -33,6 +35,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
 
+    // Span around token parsing and user loading, so auth time shows up in request traces
+    @Autowired
+    private ObservationRegistry observationRegistry;
+
     /**
      * Performs the actual filtering logic.
      * Extracts JWT from the request, validates it, and sets authentication in SecurityContext.
@@ -47,12 +53,23 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
-        try {
-            // Get JWT from the request's Authorization header
-            String jwt = getJwtFromRequest(request);
+        // Get JWT from the request's Authorization header
+        String jwt = getJwtFromRequest(request);
+        if (StringUtils.hasText(jwt)) {
+            Observation.createNotStarted("auth.jwt.filter", observationRegistry)
+                    .observe(() -> authenticate(jwt, request));
+        }
+
+        // Continue with the filter chain
+        filterChain.doFilter(request, response);
+    }
 
-            // Validate the JWT and set authentication if valid
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
+    /**
+     * Validate the JWT and set authentication in the SecurityContext if valid
+     */
+    private void authenticate(String jwt, HttpServletRequest request) {
+        try {
+            if (tokenProvider.validateToken(jwt)) {
                 // Extract username from JWT
                 String username = tokenProvider.getUsernameFromJWT(jwt);
 
@@ -69,9 +86,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         } catch (Exception ex) {
             logger.error("Could not set user authentication in security context", ex);
         }
-
-        // Continue with the filter chain
-        filterChain.doFilter(request, response);
     }
 
     /**
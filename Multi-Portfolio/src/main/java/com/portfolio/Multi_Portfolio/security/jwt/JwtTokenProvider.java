@@ -5,11 +5,15 @@ import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.annotation.Observed;
+
 import java.security.Key;
 import java.util.Date;
 
@@ -24,6 +28,9 @@ public class JwtTokenProvider {
     @Value("${app.jwtExpirationInMs}")
     private int jwtExpirationInMs;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     // Add this method to log the loaded secret after construction
     // @PostConstruct is a Jakarta annotation, ensure you have jakarta.annotation-api if using Spring Boot 3+
     // If you don't have it, you can just log it in the constructor or any method that runs early.
@@ -57,6 +64,7 @@ public class JwtTokenProvider {
         return Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
     }
 
+    @Observed(name = "portfolio.auth")
     public String getUsernameFromJWT(String token) {
         Claims claims = Jwts.parserBuilder()
                 .setSigningKey(key())
@@ -67,21 +75,29 @@ public class JwtTokenProvider {
         return claims.getSubject();
     }
 
+    @Observed(name = "portfolio.auth")
     public boolean validateToken(String authToken) {
+        String outcome;
         try {
             Jwts.parserBuilder().setSigningKey(key()).build().parseClaimsJws(authToken);
-            return true;
+            outcome = "valid";
         } catch (SignatureException ex) {
             logger.error("Invalid JWT signature: {}", ex.getMessage());
+            outcome = "invalid_signature";
         } catch (MalformedJwtException ex) {
             logger.error("Invalid JWT token: {}", ex.getMessage());
+            outcome = "malformed";
         } catch (ExpiredJwtException ex) {
             logger.error("Expired JWT token: {}", ex.getMessage());
+            outcome = "expired";
         } catch (UnsupportedJwtException ex) {
             logger.error("Unsupported JWT token: {}", ex.getMessage());
+            outcome = "unsupported";
         } catch (IllegalArgumentException ex) {
             logger.error("JWT claims string is empty: {}", ex.getMessage());
+            outcome = "empty";
         }
-        return false;
+        meterRegistry.counter("auth.jwt.validations", "outcome", outcome).increment();
+        return "valid".equals(outcome);
     }
 }
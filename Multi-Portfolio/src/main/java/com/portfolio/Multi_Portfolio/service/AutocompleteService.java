@@ -0,0 +1,223 @@
+package com.portfolio.Multi_Portfolio.service;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import com.portfolio.Multi_Portfolio.model.Profile;
+import com.portfolio.Multi_Portfolio.model.User;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Type-ahead suggestions for usernames, full names, skills and professional titles, answered
+ * from one AutocompleteTrie per type without touching Mongo. A name or title is weighted by the
+ * number of profiles that have it and also completes from each of its later words, so "smi"
+ * finds "John Smith". Filled by a scan of users and profile at startup, then kept current from
+ * UserRegisteredEvent and ProfileChangedEvent.
+ */
+@Service
+public class AutocompleteService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AutocompleteService.class);
+
+    public static final String USERNAME = "username";
+    public static final String NAME = "name";
+    public static final String SKILL = "skill";
+    public static final String TITLE = "title";
+    public static final List<String> TYPES = List.of(USERNAME, NAME, SKILL, TITLE);
+
+    private final Map<String, AutocompleteTrie> tries = new LinkedHashMap<>();
+
+    // What each profile currently contributes, so a write replaces it without trusting event order
+    private final Map<String, Contribution> contributions = new HashMap<>();
+    private final Set<String> usernames = new HashSet<>(); // Registered users already in the trie
+
+    // Profiles written since the startup scan began; the scan must not apply older data for them
+    private final Set<String> writtenDuringRebuild = new HashSet<>();
+    private boolean rebuilding;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    public AutocompleteService(MeterRegistry meterRegistry) {
+        TYPES.forEach(type -> tries.put(type, new AutocompleteTrie()));
+        tries.forEach((type, trie) -> {
+            Gauge.builder("autocomplete.keys", trie, AutocompleteTrie::keyCount).tag("type", type).register(meterRegistry);
+            Gauge.builder("autocomplete.nodes", trie, AutocompleteTrie::nodeCount).tag("type", type).register(meterRegistry);
+        });
+    }
+
+    public record Suggestion(String text, String type) {
+    }
+
+    private record Contribution(String fullName, String professionalTitle, List<String> skills) {
+        static Contribution of(Profile profile) {
+            return new Contribution(profile.getFullName(), profile.getProfessionalTitle(),
+                    profile.getSkills() == null ? List.of() : profile.getSkills().stream().filter(Objects::nonNull).toList());
+        }
+    }
+
+    private record Ranked(AutocompleteTrie.Completion completion, String type) {
+    }
+
+    /**
+     * Best completions of prefix, of one type or (type null) of all types merged by weight
+     *
+     * @throws IllegalArgumentException for an unknown type
+     */
+    public List<Suggestion> suggest(String prefix, String type, int limit) {
+        if (type != null && !tries.containsKey(type)) {
+            throw new IllegalArgumentException("Unknown type '" + type + "', expected one of " + TYPES);
+        }
+        String key = key(prefix);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        int max = Math.min(limit, AutocompleteTrie.TOP_K);
+        List<Ranked> ranked = new ArrayList<>();
+        for (String candidateType : type == null ? TYPES : List.of(type)) {
+            tries.get(candidateType).complete(key, max).forEach(completion -> ranked.add(new Ranked(completion, candidateType)));
+        }
+        ranked.sort(Comparator.comparingInt((Ranked r) -> r.completion().weight()).reversed()
+                .thenComparingInt(r -> r.completion().text().length()));
+
+        // A name found through two of its words is suggested once
+        Set<Suggestion> suggestions = new LinkedHashSet<>();
+        for (Ranked r : ranked) {
+            if (suggestions.size() == max) {
+                break;
+            }
+            suggestions.add(new Suggestion(r.completion().text(), r.type()));
+        }
+        return List.copyOf(suggestions);
+    }
+
+    @EventListener
+    public synchronized void onUserRegistered(UserRegisteredEvent event) {
+        addUsername(event.username());
+    }
+
+    @EventListener
+    public synchronized void onProfileChanged(ProfileChangedEvent event) {
+        if (rebuilding) {
+            writtenDuringRebuild.add(event.username());
+        }
+        replace(event.username(), event.after() == null ? null : Contribution.of(event.after()));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        Thread worker = new Thread(() -> {
+            try {
+                rebuild();
+            } catch (Exception e) {
+                logger.error("Autocomplete build failed, only users and profiles written from now on are suggested", e);
+            } finally {
+                synchronized (this) {
+                    rebuilding = false;
+                    writtenDuringRebuild.clear();
+                }
+            }
+        }, "autocomplete-rebuild");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    private void rebuild() {
+        synchronized (this) {
+            rebuilding = true;
+        }
+        Query users = new Query();
+        users.fields().include("username");
+        try (Stream<User> stream = mongoTemplate.stream(users, User.class)) {
+            stream.forEach(user -> {
+                synchronized (this) {
+                    addUsername(user.getUsername());
+                }
+            });
+        }
+
+        Query profiles = new Query(where("username").exists(true));
+        List.of("username", "fullName", "professionalTitle", "skills").forEach(profiles.fields()::include);
+        try (Stream<Document> stream = mongoTemplate.stream(profiles, Document.class, ProfileServices.PROFILE_COLLECTION)) {
+            stream.forEach(document -> {
+                Profile profile = mongoTemplate.getConverter().read(Profile.class, document);
+                synchronized (this) {
+                    if (!writtenDuringRebuild.contains(profile.getUsername())) {
+                        replace(profile.getUsername(), Contribution.of(profile));
+                    }
+                }
+            });
+        }
+        logger.info("Autocomplete built: {} usernames, {} skills", tries.get(USERNAME).keyCount(), tries.get(SKILL).keyCount());
+    }
+
+    private void addUsername(String username) {
+        if (username != null && usernames.add(username)) {
+            tries.get(USERNAME).adjust(key(username), username, 1);
+        }
+    }
+
+    private void replace(String username, Contribution contribution) {
+        Contribution previous = contribution == null ? contributions.remove(username) : contributions.put(username, contribution);
+        if (previous != null) {
+            apply(previous, -1);
+        }
+        if (contribution != null) {
+            apply(contribution, 1);
+        }
+    }
+
+    private void apply(Contribution contribution, int delta) {
+        adjustWords(tries.get(NAME), contribution.fullName(), delta);
+        adjustWords(tries.get(TITLE), contribution.professionalTitle(), delta);
+        // A skill listed twice in one profile, in any spelling, counts once
+        Map<String, String> skills = new LinkedHashMap<>();
+        contribution.skills().forEach(skill -> skills.putIfAbsent(key(skill), skill.trim()));
+        skills.forEach((key, display) -> tries.get(SKILL).adjust(key, display, delta));
+    }
+
+    /**
+     * Index text under its own key and under each later word. A later-word key carries the full
+     * key after a NUL, which sorts below every other character: it stays reachable from the
+     * word's prefixes, and "Smith" and "John Smith" remain separate entries.
+     */
+    private static void adjustWords(AutocompleteTrie trie, String text, int delta) {
+        String key = key(text);
+        if (key.isEmpty()) {
+            return;
+        }
+        String display = text.trim();
+        trie.adjust(key, display, delta);
+        for (int i = key.indexOf(' '); i >= 0; i = key.indexOf(' ', i + 1)) {
+            trie.adjust(key.substring(i + 1) + '\u0000' + key, display, delta);
+        }
+    }
+
+    private static String key(String text) {
+        return text == null ? "" : text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,188 @@
+package com.portfolio.Multi_Portfolio.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Weighted completion trie. Every node caches the TOP_K best completions below it, so a lookup
+ * is a walk down the prefix and a copy of that node's list. Children are kept in sorted parallel
+ * char/node arrays rather than maps. Writes adjust a key's weight and refresh the cached lists
+ * along its path bottom-up; keys whose weight drops to zero are removed with their empty nodes.
+ */
+final class AutocompleteTrie {
+
+    static final int TOP_K = 10;
+    static final int MAX_KEY_LENGTH = 128;
+
+    private static final char[] NO_LABELS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final Completion[] NO_COMPLETIONS = new Completion[0];
+
+    // Heavier first, then shorter, then alphabetical
+    private static final Comparator<Completion> ORDER = Comparator.comparingInt(Completion::weight).reversed()
+            .thenComparingInt(completion -> completion.text().length())
+            .thenComparing(Completion::text);
+
+    private final Node root = new Node();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private int keys;
+    private int nodes = 1;
+
+    /**
+     * Display text of a key and how many times it was added
+     */
+    record Completion(String text, int weight) {
+    }
+
+    /**
+     * Change the weight of key by delta. A new key takes text as its display form; the key is
+     * removed once its weight is no longer positive.
+     */
+    void adjust(String key, String text, int delta) {
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH || delta == 0) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Node[] path = new Node[key.length() + 1];
+            path[0] = root;
+            Node node = root;
+            for (int i = 0; i < key.length(); i++) {
+                Node child = node.child(key.charAt(i));
+                if (child == null) {
+                    if (delta < 0) {
+                        return;
+                    }
+                    child = node.addChild(key.charAt(i));
+                    nodes++;
+                }
+                node = child;
+                path[i + 1] = node;
+            }
+
+            Completion current = node.terminal;
+            int weight = (current == null ? 0 : current.weight()) + delta;
+            if (weight > 0) {
+                node.terminal = new Completion(current == null ? text : current.text(), weight);
+                if (current == null) {
+                    keys++;
+                }
+            } else if (current != null) {
+                node.terminal = null;
+                keys--;
+            }
+
+            for (int i = key.length(); i >= 0; i--) {
+                Node step = path[i];
+                if (i > 0 && step.terminal == null && step.labels.length == 0) {
+                    path[i - 1].removeChild(key.charAt(i - 1));
+                    nodes--;
+                } else {
+                    step.refreshTop();
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Up to limit (at most TOP_K) best completions of prefix
+     */
+    List<Completion> complete(String prefix, int limit) {
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < prefix.length() && node != null; i++) {
+                node = node.child(prefix.charAt(i));
+            }
+            if (node == null) {
+                return List.of();
+            }
+            return List.of(Arrays.copyOf(node.top, Math.min(limit, node.top.length)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int keyCount() {
+        lock.readLock().lock();
+        try {
+            return keys;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int nodeCount() {
+        lock.readLock().lock();
+        try {
+            return nodes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static final class Node {
+        private char[] labels = NO_LABELS;
+        private Node[] children = NO_CHILDREN;
+        private Completion terminal;
+        private Completion[] top = NO_COMPLETIONS;
+
+        Node child(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            return index < 0 ? null : children[index];
+        }
+
+        Node addChild(char label) {
+            int index = -Arrays.binarySearch(labels, label) - 1;
+            char[] newLabels = new char[labels.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(labels, 0, newLabels, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(labels, index, newLabels, index + 1, labels.length - index);
+            System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+            Node child = new Node();
+            newLabels[index] = label;
+            newChildren[index] = child;
+            labels = newLabels;
+            children = newChildren;
+            return child;
+        }
+
+        void removeChild(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            if (index < 0) {
+                return;
+            }
+            char[] newLabels = new char[labels.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(labels, 0, newLabels, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(labels, index + 1, newLabels, index, labels.length - index - 1);
+            System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+            labels = newLabels.length == 0 ? NO_LABELS : newLabels;
+            children = newChildren.length == 0 ? NO_CHILDREN : newChildren;
+        }
+
+        /**
+         * The best completions below a node are among its own key and its children's best
+         */
+        void refreshTop() {
+            List<Completion> candidates = new ArrayList<>();
+            if (terminal != null) {
+                candidates.add(terminal);
+            }
+            for (Node child : children) {
+                candidates.addAll(Arrays.asList(child.top));
+            }
+            candidates.sort(ORDER);
+            top = candidates.isEmpty() ? NO_COMPLETIONS
+                    : candidates.subList(0, Math.min(TOP_K, candidates.size())).toArray(NO_COMPLETIONS);
+        }
+    }
+}
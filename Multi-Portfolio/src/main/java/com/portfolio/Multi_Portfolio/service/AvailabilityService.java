@@ -0,0 +1,133 @@
+package com.portfolio.Multi_Portfolio.service;
+
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import com.portfolio.Multi_Portfolio.model.User;
+import com.portfolio.Multi_Portfolio.repository.UserRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Username and email availability hints for the registration form. A Bloom filter per field,
+ * seeded from users at startup and fed by UserRegisteredEvent, answers "free" without a query;
+ * only a possible match goes to Mongo. Until seeding has finished every check goes to Mongo.
+ * The filter only sees this instance's registrations, so registration itself never relies on
+ * it: UserService queries Mongo and the users collection has unique indexes. Users are never
+ * deleted, so the filters only grow; the estimated false-positive rate gauge shows when to
+ * raise app.availability.expected-users.
+ */
+@Service
+public class AvailabilityService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AvailabilityService.class);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private final BloomFilter usernames;
+    private final BloomFilter emails;
+    private volatile boolean seeded;
+
+    private final Counter filterAnswers;
+    private final Counter falsePositives;
+    private final Counter databaseChecks;
+
+    public AvailabilityService(MeterRegistry meterRegistry,
+            @Value("${app.availability.expected-users:1000000}") long expectedUsers,
+            @Value("${app.availability.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.usernames = new BloomFilter(expectedUsers, falsePositiveRate);
+        this.emails = new BloomFilter(expectedUsers, falsePositiveRate);
+        this.filterAnswers = meterRegistry.counter("availability.checks", "result", "filter-free");
+        this.falsePositives = meterRegistry.counter("availability.checks", "result", "false-positive");
+        this.databaseChecks = meterRegistry.counter("availability.checks", "result", "database");
+        Gauge.builder("availability.filter.false-positive-rate", usernames, BloomFilter::expectedFalsePositiveRate)
+                .tag("field", "username").register(meterRegistry);
+        Gauge.builder("availability.filter.false-positive-rate", emails, BloomFilter::expectedFalsePositiveRate)
+                .tag("field", "email").register(meterRegistry);
+        Gauge.builder("availability.filter.memory", usernames, BloomFilter::sizeInBytes).baseUnit("bytes")
+                .tag("field", "username").register(meterRegistry);
+        Gauge.builder("availability.filter.memory", emails, BloomFilter::sizeInBytes).baseUnit("bytes")
+                .tag("field", "email").register(meterRegistry);
+    }
+
+    public boolean isUsernameAvailable(String username) {
+        if (seeded && !usernames.mightContain(username)) {
+            filterAnswers.increment();
+            return true;
+        }
+        return !confirm(userRepository.existsByUsername(username));
+    }
+
+    public boolean isEmailAvailable(String email) {
+        if (seeded && !emails.mightContain(email)) {
+            filterAnswers.increment();
+            return true;
+        }
+        return !confirm(userRepository.existsByEmail(email));
+    }
+
+    /**
+     * Count a database check, and a false positive when the filter said maybe but Mongo said no
+     */
+    private boolean confirm(Boolean exists) {
+        boolean taken = Boolean.TRUE.equals(exists);
+        databaseChecks.increment();
+        if (seeded && !taken) {
+            falsePositives.increment();
+        }
+        return taken;
+    }
+
+    @EventListener
+    public void onUserRegistered(UserRegisteredEvent event) {
+        add(event.username(), event.email());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedOnStartup() {
+        Thread worker = new Thread(() -> {
+            try {
+                Query query = new Query();
+                query.fields().include("username").include("email");
+                long count = 0;
+                try (Stream<User> users = mongoTemplate.stream(query, User.class)) {
+                    for (User user : (Iterable<User>) users::iterator) {
+                        add(user.getUsername(), user.getEmail());
+                        count++;
+                    }
+                }
+                seeded = true;
+                logger.info("Availability filters seeded with {} users, estimated false-positive rate {}",
+                        count, usernames.expectedFalsePositiveRate());
+            } catch (Exception e) {
+                logger.error("Availability filter seeding failed, every check will query Mongo", e);
+            }
+        }, "availability-seed");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    private void add(String username, String email) {
+        if (username != null) {
+            usernames.add(username);
+        }
+        if (email != null) {
+            emails.add(email);
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package com.portfolio.Multi_Portfolio.service;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import com.mongodb.client.result.UpdateResult;
+import com.portfolio.Multi_Portfolio.model.UploadSession;
+import com.portfolio.Multi_Portfolio.repository.UploadSessionRepository;
+
+/**
+ * Resumable chunked uploads: create a session, send chunks at increasing offsets, query the
+ * current offset after a failure, then finalize. Chunks become S3 multipart parts or are
+ * appended to a partial file, so an interrupted upload resumes instead of starting over.
+ */
+@Service
+public class ChunkedUploadService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChunkedUploadService.class);
+
+    // S3 rejects multipart parts smaller than 5MB (except the last one)
+    public static final long S3_PART_SIZE = 5 * 1024 * 1024;
+
+    @Autowired(required = false)
+    private S3Service s3Service;
+
+    @Autowired(required = false)
+    private LocalFileService localFileService;
+
+    @Autowired
+    private FileUploadService fileUploadService;
+
+    @Autowired
+    private UploadSessionRepository repository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    // Serializes chunks per upload; uploads hashing to the same stripe simply wait for each other
+    private final ReentrantLock[] chunkLocks = new ReentrantLock[64];
+    {
+        for (int i = 0; i < chunkLocks.length; i++) {
+            chunkLocks[i] = new ReentrantLock();
+        }
+    }
+
+    // Sliding lifetime of an idle upload session
+    @Value("${app.upload.chunked.session-ttl:6h}")
+    private Duration sessionTtl;
+
+    /**
+     * Thrown when a chunk does not start at the session's current offset
+     */
+    public static class OffsetMismatchException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private final long currentOffset;
+
+        public OffsetMismatchException(long currentOffset) {
+            super("Chunk does not start at the current upload offset " + currentOffset);
+            this.currentOffset = currentOffset;
+        }
+
+        public long getCurrentOffset() {
+            return currentOffset;
+        }
+    }
+
+    /**
+     * Open a new upload session for the current user
+     */
+    public UploadSession createSession(String photoType, Integer itemIndex, String fileName, String contentType, long size) {
+        String storagePath = fileUploadService.validateDirectUpload(photoType, fileName, contentType, size);
+
+        String username = getCurrentUsername();
+        if (username == null) {
+            throw new SecurityException("User not authenticated");
+        }
+
+        UploadSession session = new UploadSession();
+        session.setUsername(username);
+        session.setPhotoType(photoType);
+        session.setItemIndex(itemIndex);
+        session.setStoragePath(storagePath);
+        session.setFileName(fileName);
+        session.setContentType(contentType);
+        session.setSize(size);
+        session.setCreatedAt(Instant.now());
+        session.setExpiresAt(session.getCreatedAt().plus(sessionTtl));
+
+        if (s3Service != null) {
+            session.setKey(s3Service.generateKey(username, storagePath, fileName));
+            session.setS3UploadId(s3Service.startMultipartUpload(session.getKey(), contentType));
+        } else if (localFileService == null) {
+            throw new RuntimeException("No file upload service available");
+        }
+
+        return repository.save(session);
+    }
+
+    /**
+     * Get a session of the current user
+     */
+    public UploadSession getSession(String uploadId) {
+        String username = getCurrentUsername();
+        if (username == null) {
+            throw new SecurityException("User not authenticated");
+        }
+
+        return repository.findById(uploadId)
+                .filter(session -> session.getUsername().equals(username))
+                .filter(session -> session.getExpiresAt().isAfter(Instant.now()))
+                .orElseThrow(() -> new NoSuchElementException("Upload session not found: " + uploadId));
+    }
+
+    /**
+     * Store a chunk starting at offset and return the new offset. Chunks of one upload are stored
+     * one at a time, so a retried chunk cannot write into the partial file while the original does.
+     */
+    public long appendChunk(String uploadId, long offset, long length, InputStream body) throws IOException {
+        ReentrantLock lock = chunkLocks[Math.floorMod(uploadId.hashCode(), chunkLocks.length)];
+        lock.lock();
+        try {
+            return storeChunk(uploadId, offset, length, body);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long storeChunk(String uploadId, long offset, long length, InputStream body) throws IOException {
+        UploadSession session = getSession(uploadId);
+        if (offset != session.getOffset()) {
+            throw new OffsetMismatchException(session.getOffset());
+        }
+        if (length < 0 || offset + length > session.getSize()) {
+            throw new IllegalArgumentException("Chunk must declare a Content-Length within the upload size");
+        }
+
+        long newOffset;
+        Update update = new Update();
+
+        if (s3Service != null) {
+            // Every part but the last must be exactly the part size, so parts line up with offsets
+            boolean lastPart = offset + length == session.getSize();
+            if (!lastPart && length != S3_PART_SIZE) {
+                throw new IllegalArgumentException("Chunks must be " + S3_PART_SIZE + " bytes except the last one");
+            }
+            int partNumber = (int) (offset / S3_PART_SIZE) + 1;
+            String etag = s3Service.uploadPart(session.getKey(), session.getS3UploadId(), partNumber, body, length);
+            update.push("parts", new UploadSession.UploadedPart(partNumber, etag));
+            newOffset = offset + length;
+        } else if (localFileService != null) {
+            try {
+                newOffset = localFileService.appendChunk(uploadId, offset, body, session.getSize() - offset);
+            } catch (OffsetMismatchException e) {
+                // The partial file holds fewer bytes than recorded; the client resumes from what is on disk
+                mongoTemplate.updateFirst(query(where("_id").is(uploadId).and("offset").is(offset)),
+                        new Update().set("offset", e.getCurrentOffset()), UploadSession.class);
+                throw e;
+            }
+        } else {
+            throw new RuntimeException("No file upload service available");
+        }
+
+        // Advance only from the offset we started at, so concurrent or replayed chunks cannot both win
+        update.set("offset", newOffset).set("expiresAt", Instant.now().plus(sessionTtl));
+        UpdateResult result = mongoTemplate.updateFirst(
+                query(where("_id").is(uploadId).and("offset").is(offset)), update, UploadSession.class);
+        if (result.getModifiedCount() == 0) {
+            throw new OffsetMismatchException(getSession(uploadId).getOffset());
+        }
+
+        return newOffset;
+    }
+
+    /**
+     * Assemble a fully received upload into the active backend, record it and close the session
+     */
+    public String completeSession(String uploadId) throws IOException {
+        UploadSession session = getSession(uploadId);
+        if (session.getOffset() != session.getSize()) {
+            throw new IllegalStateException("Upload is incomplete: " + session.getOffset() + " of " + session.getSize() + " bytes");
+        }
+
+        String fileUrl;
+        if (s3Service != null) {
+            // Keep the last ETag per part number, in part order
+            TreeMap<Integer, String> parts = new TreeMap<>();
+            session.getParts().forEach(part -> parts.put(part.getPartNumber(), part.getEtag()));
+            fileUrl = s3Service.completeMultipartUpload(session.getKey(), session.getS3UploadId(), parts);
+        } else if (localFileService != null) {
+            fileUrl = localFileService.commitChunkedUpload(uploadId, session.getUsername(),
+                    session.getStoragePath(), session.getFileName(), session.getSize());
+        } else {
+            throw new RuntimeException("No file upload service available");
+        }
+
+        repository.deleteById(uploadId);
+        fileUploadService.recordCompletedUpload(session.getUsername(), session.getPhotoType(), session.getItemIndex(), fileUrl);
+        return fileUrl;
+    }
+
+    /**
+     * Abort an upload of the current user and release its storage
+     */
+    public void abortSession(String uploadId) {
+        release(getSession(uploadId));
+    }
+
+    /**
+     * Expire sessions that have been idle past their lifetime
+     */
+    @Scheduled(fixedDelayString = "${app.upload.chunked.cleanup-interval:15m}")
+    public void expireAbandonedSessions() {
+        try {
+            for (UploadSession session : repository.findByExpiresAtBefore(Instant.now())) {
+                release(session);
+            }
+        } catch (Exception e) {
+            logger.error("Failed to expire abandoned upload sessions", e);
+        }
+    }
+
+    private void release(UploadSession session) {
+        try {
+            if (session.getS3UploadId() != null && s3Service != null) {
+                s3Service.abortMultipartUpload(session.getKey(), session.getS3UploadId());
+            } else if (localFileService != null) {
+                localFileService.discardChunkedUpload(session.getId());
+            }
+            repository.deleteById(session.getId());
+        } catch (Exception e) {
+            logger.warn("Failed to release upload session {}: {}", session.getId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Get current authenticated username from JWT
+     */
+    private String getCurrentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+            && !"anonymousUser".equals(authentication.getName())) {
+            return authentication.getName();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,251 @@
+package com.portfolio.Multi_Portfolio.service;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.portfolio.Multi_Portfolio.model.FacetSnapshot;
+import com.portfolio.Multi_Portfolio.model.Profile;
+import com.portfolio.Multi_Portfolio.model.ProfileSummary;
+import com.portfolio.Multi_Portfolio.repository.FacetSnapshotRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Portfolio counts by profileType, selectedTemplate, skill and language, kept in memory as
+ * LongAdders so concurrent profile writes never contend on a counter. Each ProfileChangedEvent
+ * subtracts the old values and adds the new ones. Counts are snapshotted to profile_facets
+ * periodically and at shutdown. A clean shutdown snapshot is restored as is at startup; otherwise
+ * the last snapshot is served while a scan of the profile collection recounts everything.
+ * Skills and languages are counted in ProfileSummary.key form, the form the directory filters on.
+ */
+@Service
+public class FacetCountService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FacetCountService.class);
+
+    public static final List<String> FACETS = List.of("profileType", "selectedTemplate", "skills", "languages");
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private FacetSnapshotRepository snapshotRepository;
+
+    private volatile Map<String, Map<String, LongAdder>> counts = newCounts();
+
+    // Event handlers share the read lock; replacing the counts map takes the write lock
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+
+    // Latest known state of every profile during a recount (empty Optional once deleted), null otherwise
+    private volatile Map<String, Optional<Profile>> latestDuringRecount;
+
+    // Snapshots are only written once counts were restored or recounted, never an empty startup state
+    private volatile boolean loaded;
+
+    public record FacetValue(String value, long count) {
+    }
+
+    @EventListener
+    public void onProfileChanged(ProfileChangedEvent event) {
+        swapLock.readLock().lock();
+        try {
+            Map<String, Optional<Profile>> pending = latestDuringRecount;
+            if (pending != null) {
+                pending.put(event.username(), Optional.ofNullable(event.after()));
+            }
+            Map<String, Map<String, LongAdder>> current = counts;
+            apply(current, event.before(), -1);
+            apply(current, event.after(), 1);
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Values of every facet by descending count; skills and languages are cut to the top limit
+     */
+    public Map<String, List<FacetValue>> facets(int limit) {
+        Map<String, List<FacetValue>> facets = new LinkedHashMap<>();
+        counts.forEach((facet, values) -> {
+            List<FacetValue> sorted = new ArrayList<>();
+            values.forEach((value, adder) -> {
+                long count = adder.sum();
+                if (count > 0) {
+                    sorted.add(new FacetValue(value, count));
+                }
+            });
+            sorted.sort(Comparator.comparingLong(FacetValue::count).reversed().thenComparing(FacetValue::value));
+            boolean longTail = facet.equals("skills") || facet.equals("languages");
+            facets.put(facet, longTail && sorted.size() > limit ? List.copyOf(sorted.subList(0, limit)) : sorted);
+        });
+        return facets;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        Thread worker = new Thread(() -> {
+            try {
+                Optional<FacetSnapshot> snapshot = snapshotRepository.findById(FacetSnapshot.ID);
+                snapshot.ifPresent(this::restore);
+                if (snapshot.isPresent() && snapshot.get().isClean()) {
+                    loaded = true;
+                    // From here on a crash would lose counts, so the stored copy is no longer clean
+                    snapshot(false);
+                    logger.info("Facet counts restored from the shutdown snapshot of {}", snapshot.get().getTakenAt());
+                } else {
+                    recount();
+                }
+            } catch (Exception e) {
+                logger.error("Loading facet counts failed, counts only cover writes since startup", e);
+            }
+        }, "profile-facets-load");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Scheduled(fixedDelayString = "${app.facets.snapshot-interval:1m}")
+    public void snapshotPeriodically() {
+        if (loaded) {
+            snapshot(false);
+        }
+    }
+
+    @PreDestroy
+    public void snapshotOnShutdown() {
+        if (loaded) {
+            try {
+                snapshot(true);
+            } catch (Exception e) {
+                logger.warn("Could not save facet counts at shutdown, they will be recounted: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Collect the latest state of every stored profile, count it into new counters and swap them
+     * in. Events replace what the scan read and the scan never replaces an event, so a profile
+     * written before or after it was scanned is counted once, in its latest state.
+     */
+    private void recount() {
+        Map<String, Optional<Profile>> latest = new ConcurrentHashMap<>();
+        latestDuringRecount = latest;
+        long profiles = 0;
+        Query query = new Query(where("username").exists(true));
+        List.of("username", "profileType", "selectedTemplate", "skills", "languages").forEach(query.fields()::include);
+        try (Stream<Document> stream = mongoTemplate.stream(query, Document.class, ProfileServices.PROFILE_COLLECTION)) {
+            for (Document document : (Iterable<Document>) stream::iterator) {
+                latest.putIfAbsent(document.getString("username"),
+                        Optional.of(mongoTemplate.getConverter().read(Profile.class, document)));
+                profiles++;
+            }
+        } catch (RuntimeException e) {
+            latestDuringRecount = null;
+            throw e;
+        }
+
+        swapLock.writeLock().lock();
+        try {
+            Map<String, Map<String, LongAdder>> fresh = newCounts();
+            latest.values().forEach(state -> state.ifPresent(profile -> apply(fresh, profile, 1)));
+            counts = fresh;
+            latestDuringRecount = null;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+        loaded = true;
+        snapshot(false);
+        logger.info("Facet counts recounted from {} profiles", profiles);
+    }
+
+    /**
+     * Start from the snapshot plus whatever deltas arrived since startup
+     */
+    private void restore(FacetSnapshot snapshot) {
+        Map<String, Map<String, LongAdder>> restored = newCounts();
+        for (FacetSnapshot.Count count : snapshot.getCounts() == null ? List.<FacetSnapshot.Count>of() : snapshot.getCounts()) {
+            Map<String, LongAdder> values = restored.get(count.getFacet());
+            if (values != null) {
+                values.computeIfAbsent(count.getValue(), value -> new LongAdder()).add(count.getCount());
+            }
+        }
+        swapLock.writeLock().lock();
+        try {
+            counts.forEach((facet, values) -> values.forEach((value, adder) ->
+                    restored.get(facet).computeIfAbsent(value, v -> new LongAdder()).add(adder.sum())));
+            counts = restored;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+    }
+
+    private void snapshot(boolean clean) {
+        FacetSnapshot snapshot = new FacetSnapshot();
+        List<FacetSnapshot.Count> entries = new ArrayList<>();
+        counts.forEach((facet, values) -> values.forEach((value, adder) -> {
+            long count = adder.sum();
+            if (count > 0) {
+                entries.add(new FacetSnapshot.Count(facet, value, count));
+            }
+        }));
+        snapshot.setCounts(entries);
+        snapshot.setClean(clean);
+        snapshot.setTakenAt(Instant.now());
+        snapshotRepository.save(snapshot);
+    }
+
+    private static void apply(Map<String, Map<String, LongAdder>> counts, Profile profile, int delta) {
+        if (profile == null) {
+            return;
+        }
+        increment(counts.get("profileType"), profile.getProfileType(), delta);
+        increment(counts.get("selectedTemplate"), profile.getSelectedTemplate(), delta);
+        // A value listed twice in one profile, in any spelling, counts once
+        keys(profile.getSkills()).forEach(skill -> increment(counts.get("skills"), skill, delta));
+        keys(profile.getLanguages()).forEach(language -> increment(counts.get("languages"), language, delta));
+    }
+
+    private static void increment(Map<String, LongAdder> values, String value, int delta) {
+        if (value != null && !value.isBlank()) {
+            values.computeIfAbsent(value.trim(), v -> new LongAdder()).add(delta);
+        }
+    }
+
+    private static Set<String> keys(List<String> values) {
+        Set<String> keys = new LinkedHashSet<>();
+        if (values != null) {
+            values.stream().map(ProfileSummary::key).forEach(keys::add);
+        }
+        return keys;
+    }
+
+    private static Map<String, Map<String, LongAdder>> newCounts() {
+        Map<String, Map<String, LongAdder>> counts = new LinkedHashMap<>();
+        FACETS.forEach(facet -> counts.put(facet, new ConcurrentHashMap<>()));
+        return counts;
+    }
+}
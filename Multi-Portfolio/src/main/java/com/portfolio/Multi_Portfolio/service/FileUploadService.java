@@ -1,10 +1,13 @@
 package com.portfolio.Multi_Portfolio.service;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -12,14 +15,20 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.portfolio.Multi_Portfolio.model.Profile;
+import com.portfolio.Multi_Portfolio.payload.PresignedUploadResponse;
+
+import io.micrometer.observation.annotation.Observed;
 
 /**
  * Comprehensive file upload service that handles both S3 and local storage
  * with JWT authentication integration
  */
 @Service
+@Observed(name = "portfolio.service")
 public class FileUploadService {
 
+    private static final Logger logger = LoggerFactory.getLogger(FileUploadService.class);
+
     @Autowired(required = false)
     private S3Service s3Service;
 
@@ -29,10 +38,18 @@ public class FileUploadService {
     @Autowired
     private ProfileServices profileServices;
 
+    @Autowired
+    private MediaDeletionQueueService mediaDeletionQueueService;
+
     private static final List<String> ALLOWED_EXTENSIONS = Arrays.asList(
             "jpg", "jpeg", "png", "gif", "webp", "bmp"
     );
 
+    private static final List<String> MEDICAL_PORTFOLIO_PHOTO_TYPES = Arrays.asList(
+            "certification", "education", "internship", "project", "publication",
+            "conference", "achievement", "medical-experience", "engineering-experience"
+    );
+
     private static final long MAX_FILE_SIZE = 10 * 1024 * 1024; // 10MB
 
     /**
@@ -49,7 +66,7 @@ public class FileUploadService {
         }
 
         // Get user profile for cleanup of old photos
-        Optional<Profile> profileOpt = profileServices.getProfileByUsername(username);
+        Optional<Profile> profileOpt = profileServices.getProfileByUsername(username, List.of());
 
         String fileUrl;
         String oldPhotoUrl = null;
@@ -61,16 +78,8 @@ public class FileUploadService {
         // Upload based on available service
         if (s3Service != null) {
             fileUrl = s3Service.uploadFile(file, username, "profile");
-            // Delete old photo from S3 if exists
-            if (oldPhotoUrl != null && !oldPhotoUrl.isEmpty()) {
-                s3Service.deleteFile(oldPhotoUrl);
-            }
         } else if (localFileService != null) {
             fileUrl = localFileService.uploadFile(file, username, "profile");
-            // Delete old photo from local storage if exists
-            if (oldPhotoUrl != null && !oldPhotoUrl.isEmpty()) {
-                localFileService.deleteFile(oldPhotoUrl);
-            }
         } else {
             throw new RuntimeException("No file upload service available");
         }
@@ -78,6 +87,11 @@ public class FileUploadService {
         // Update profile with new photo URL
         updateProfilePhoto(username, fileUrl);
 
+        // Old photo is deleted by the background deletion queue, not in the request path
+        if (oldPhotoUrl != null && !oldPhotoUrl.isEmpty()) {
+            mediaDeletionQueueService.enqueue(oldPhotoUrl);
+        }
+
         return fileUrl;
     }
 
@@ -105,6 +119,14 @@ public class FileUploadService {
      * Upload medical portfolio photo with specific categorization
      */
     public String uploadMedicalPortfolioPhoto(MultipartFile file, String photoType) throws IOException {
+        return uploadMedicalPortfolioPhoto(file, photoType, null);
+    }
+
+    /**
+     * Upload medical portfolio photo and, when itemIndex is given, attach it to that item
+     * of the photo type's section with one atomic update
+     */
+    public String uploadMedicalPortfolioPhoto(MultipartFile file, String photoType, Integer itemIndex) throws IOException {
         // Validate file
         validateFile(file);
 
@@ -115,15 +137,7 @@ public class FileUploadService {
         }
 
         // Validate photo type
-        List<String> allowedPhotoTypes = Arrays.asList(
-            "certification", "education", "internship", "project", "publication", 
-            "conference", "achievement", "medical-experience", "engineering-experience"
-        );
-        
-        if (!allowedPhotoTypes.contains(photoType)) {
-            throw new IllegalArgumentException("Invalid photo type: " + photoType + 
-                ". Allowed types: " + String.join(", ", allowedPhotoTypes));
-        }
+        validateMedicalPortfolioPhotoType(photoType);
 
         String fileUrl;
         
@@ -136,24 +150,143 @@ public class FileUploadService {
             throw new RuntimeException("No file upload service available");
         }
 
-        System.out.println("Medical portfolio photo uploaded: " + fileUrl + " for user: " + username + ", type: " + photoType);
-        
+        logger.debug("Medical portfolio photo uploaded: {} for user: {}, type: {}", fileUrl, username, photoType);
+
+        if (itemIndex != null) {
+            attachSectionPhoto(username, photoType, itemIndex, fileUrl);
+        }
+
         return fileUrl;
     }
 
     /**
-     * Delete a file
+     * Issue a presigned URL so the client can upload straight to the active storage backend.
+     * photoType is either "profile" or one of the medical portfolio photo types.
      */
-    public void deleteFile(String fileUrl) {
-        if (fileUrl == null || fileUrl.isEmpty()) {
-            return;
+    public PresignedUploadResponse createPresignedUpload(String photoType, String fileName,
+                                                         String contentType, long size) {
+        String storagePath = validateDirectUpload(photoType, fileName, contentType, size);
+
+        String username = getCurrentUsername();
+        if (username == null) {
+            throw new SecurityException("User not authenticated");
+        }
+
+        if (s3Service != null) {
+            return s3Service.generatePresignedUpload(username, storagePath, fileName, contentType, size);
+        } else if (localFileService != null) {
+            return localFileService.generatePresignedUpload(username, storagePath, fileName, contentType, size);
+        } else {
+            throw new RuntimeException("No file upload service available");
+        }
+    }
+
+    /**
+     * Verify a finished presigned upload and record it on the user's profile.
+     * Profile photos replace (and clean up) the previous photo; section photos are returned as-is.
+     */
+    public String completePresignedUpload(String key, String photoType, Integer itemIndex) throws IOException {
+        String username = getCurrentUsername();
+        if (username == null) {
+            throw new SecurityException("User not authenticated");
         }
 
+        getDirectUploadStoragePath(photoType);
+
+        String fileUrl;
         if (s3Service != null) {
-            s3Service.deleteFile(fileUrl);
+            fileUrl = s3Service.completePresignedUpload(key, username, MAX_FILE_SIZE);
         } else if (localFileService != null) {
-            localFileService.deleteFile(fileUrl);
+            fileUrl = localFileService.completePresignedUpload(key, username, MAX_FILE_SIZE);
+        } else {
+            throw new RuntimeException("No file upload service available");
         }
+
+        recordCompletedUpload(username, photoType, itemIndex, fileUrl);
+
+        return fileUrl;
+    }
+
+    /**
+     * Validate an upload that bypasses multipart handling (presigned or chunked)
+     * and return the storage path for its photo type
+     */
+    public String validateDirectUpload(String photoType, String fileName, String contentType, long size) {
+        validateFileMetadata(fileName, contentType, size);
+        return getDirectUploadStoragePath(photoType);
+    }
+
+    /**
+     * Record a finished direct upload on the user's profile.
+     * Profile photos replace (and clean up) the previous photo; section photos are attached
+     * to the item at itemIndex, or just returned when no item is given.
+     */
+    public void recordCompletedUpload(String username, String photoType, Integer itemIndex, String fileUrl) {
+        if (!"profile".equals(photoType)) {
+            if (itemIndex != null) {
+                attachSectionPhoto(username, photoType, itemIndex, fileUrl);
+            }
+            return;
+        }
+
+        String oldPhotoUrl = profileServices.getProfileByUsername(username, List.of())
+                .map(Profile::getProfilePhoto)
+                .orElse(null);
+
+        updateProfilePhoto(username, fileUrl);
+
+        if (oldPhotoUrl != null && !oldPhotoUrl.isEmpty() && !oldPhotoUrl.equals(fileUrl)) {
+            mediaDeletionQueueService.enqueue(oldPhotoUrl);
+        }
+    }
+
+    /**
+     * Attach an uploaded section photo to its item. If the item does not exist the
+     * upload is queued for deletion so it does not linger unreferenced.
+     */
+    private void attachSectionPhoto(String username, String photoType, int itemIndex, String fileUrl) {
+        boolean attached;
+        try {
+            attached = profileServices.attachSectionPhoto(username, photoType, itemIndex, fileUrl);
+        } catch (RuntimeException e) {
+            mediaDeletionQueueService.enqueue(fileUrl);
+            throw e;
+        }
+
+        if (!attached) {
+            mediaDeletionQueueService.enqueue(fileUrl);
+            throw new IllegalArgumentException("No " + photoType + " entry at index " + itemIndex);
+        }
+    }
+
+    /**
+     * Accept the body of a signed local upload (local storage only)
+     */
+    public void acceptSignedLocalUpload(String key, long expiresAt, long size, String signature,
+                                        InputStream body) throws IOException {
+        if (localFileService == null) {
+            throw new IllegalStateException("Signed local uploads are only available with local storage");
+        }
+        localFileService.acceptSignedUpload(key, expiresAt, size, signature, body);
+    }
+
+    /**
+     * Map a direct upload photo type to the storage path used by the regular upload endpoints
+     */
+    private String getDirectUploadStoragePath(String photoType) {
+        if ("profile".equals(photoType)) {
+            return "profile";
+        }
+        validateMedicalPortfolioPhotoType(photoType);
+        return "medical-portfolio/" + photoType;
+    }
+
+    /**
+     * Delete a file through the deletion queue, which retries storage failures instead of
+     * dropping them. Throws if the deletion could not be queued.
+     */
+    public void deleteFile(String fileUrl) {
+        mediaDeletionQueueService.enqueue(fileUrl);
     }
 
     /**
@@ -176,13 +309,23 @@ public class FileUploadService {
             throw new IllegalArgumentException("File cannot be empty");
         }
 
+        validateFileMetadata(file.getOriginalFilename(), file.getContentType(), file.getSize());
+    }
+
+    /**
+     * Validate file name, content type and size, shared by multipart and presigned uploads
+     */
+    private void validateFileMetadata(String originalFilename, String contentType, long size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("File cannot be empty");
+        }
+
         // Check file size
-        if (file.getSize() > MAX_FILE_SIZE) {
+        if (size > MAX_FILE_SIZE) {
             throw new IllegalArgumentException("File size exceeds maximum allowed size of 10MB");
         }
 
         // Check file extension
-        String originalFilename = file.getOriginalFilename();
         if (originalFilename == null) {
             throw new IllegalArgumentException("File must have a valid name");
         }
@@ -194,12 +337,21 @@ public class FileUploadService {
         }
 
         // Check content type
-        String contentType = file.getContentType();
         if (contentType == null || !contentType.startsWith("image/")) {
             throw new IllegalArgumentException("File must be an image");
         }
     }
 
+    /**
+     * Validate a medical portfolio photo type
+     */
+    private void validateMedicalPortfolioPhotoType(String photoType) {
+        if (!MEDICAL_PORTFOLIO_PHOTO_TYPES.contains(photoType)) {
+            throw new IllegalArgumentException("Invalid photo type: " + photoType +
+                ". Allowed types: " + String.join(", ", MEDICAL_PORTFOLIO_PHOTO_TYPES));
+        }
+    }
+
     /**
      * Get file extension from filename
      */
@@ -215,23 +367,20 @@ public class FileUploadService {
      */
     private void updateProfilePhoto(String username, String photoUrl) {
         try {
-            Optional<Profile> profileOpt = profileServices.getProfileByUsername(username);
-            if (profileOpt.isPresent()) {
-                Profile profile = profileOpt.get();
-                profile.setProfilePhoto(photoUrl);
-                profileServices.updateProfile(profile, username);
-            } else {
-                // Create new profile if doesn't exist
-                Profile newProfile = new Profile();
-                newProfile.setUsername(username);
-                newProfile.setProfilePhoto(photoUrl);
-                profileServices.createOrUpdateProfile(newProfile, username);
-            }
+            // Creates the profile if it doesn't exist
+            profileServices.updateProfilePhoto(username, photoUrl);
         } catch (Exception e) {
             throw new RuntimeException("Failed to update profile photo URL in database", e);
         }
     }
 
+    /**
+     * Largest file accepted by any upload path
+     */
+    public long getMaxFileSize() {
+        return MAX_FILE_SIZE;
+    }
+
     /**
      * Check if S3 service is available
      */
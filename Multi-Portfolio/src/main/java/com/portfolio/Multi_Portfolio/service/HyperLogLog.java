@@ -0,0 +1,90 @@
+package com.portfolio.Multi_Portfolio.service;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * HyperLogLog distinct counter with 2^PRECISION one-byte registers: 1 KB per sketch and a
+ * standard error of about 3%. Sketches merge by taking the larger register, so daily sketches
+ * combine into the distinct count of any range of days. Methods synchronize on the sketch;
+ * each sketch belongs to one profile, so threads only meet on views of the same profile.
+ */
+final class HyperLogLog {
+
+    static final int PRECISION = 10;
+    static final int REGISTERS = 1 << PRECISION;
+
+    private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTERS);
+
+    private final byte[] registers;
+
+    HyperLogLog() {
+        this.registers = new byte[REGISTERS];
+    }
+
+    /**
+     * Sketch from stored registers; anything of the wrong size starts empty
+     */
+    static HyperLogLog of(byte[] registers) {
+        HyperLogLog sketch = new HyperLogLog();
+        if (registers != null && registers.length == REGISTERS) {
+            System.arraycopy(registers, 0, sketch.registers, 0, REGISTERS);
+        }
+        return sketch;
+    }
+
+    synchronized void add(String value) {
+        long hash = hash(value);
+        int index = (int) (hash >>> (64 - PRECISION));
+        // Position of the first 1 bit in the remaining 54 bits, 55 if they are all zero
+        int rank = Math.min(Long.numberOfLeadingZeros(hash << PRECISION), 64 - PRECISION) + 1;
+        if (rank > registers[index]) {
+            registers[index] = (byte) rank;
+        }
+    }
+
+    void merge(HyperLogLog other) {
+        byte[] theirs = other.toByteArray();
+        synchronized (this) {
+            for (int i = 0; i < REGISTERS; i++) {
+                if (theirs[i] > registers[i]) {
+                    registers[i] = theirs[i];
+                }
+            }
+        }
+    }
+
+    synchronized long estimate() {
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += Math.scalb(1.0, -register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double estimate = ALPHA * REGISTERS * REGISTERS / sum;
+        if (estimate <= 2.5 * REGISTERS && zeros > 0) {
+            // Small cardinalities: linear counting over the empty registers is more accurate
+            estimate = REGISTERS * Math.log((double) REGISTERS / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    synchronized byte[] toByteArray() {
+        return registers.clone();
+    }
+
+    private static long hash(String value) {
+        long hash = 0xCBF29CE484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash = (hash ^ (b & 0xff)) * 0x100000001B3L;
+        }
+        // FNV-1a alone leaves the high bits poorly mixed, and those pick the register
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
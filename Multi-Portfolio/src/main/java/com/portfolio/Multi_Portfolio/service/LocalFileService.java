@@ -1,51 +1,111 @@
 package com.portfolio.Multi_Portfolio.service;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.UserDefinedFileAttributeView;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.portfolio.Multi_Portfolio.payload.PresignedUploadResponse;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+
 @Service
 @ConditionalOnProperty(name = "aws.s3.enabled", havingValue = "false", matchIfMissing = true)
 public class LocalFileService {
 
+    private static final Logger logger = LoggerFactory.getLogger(LocalFileService.class);
+
     @Value("${app.upload.dir:uploads/photos}")
     private String uploadDir;
 
+    // Secret used to sign local upload URLs (falls back to the JWT secret)
+    @Value("${app.upload.signing-secret:${app.jwtSecret}}")
+    private String signingSecret;
+
+    @Value("${app.upload.presign.expiry-seconds:600}")
+    private long presignExpirySeconds;
+
+    // Endpoint that accepts signed local uploads, mirrors a presigned S3 PUT URL
+    public static final String SIGNED_UPLOAD_PATH = "/api/files/presigned/local";
+
+    // Extended attribute holding the SHA-256 of a stored file (files never change after upload)
+    private static final String CONTENT_HASH_ATTR = "portfolio.sha256";
+    private static final int CONTENT_HASH_CACHE_SIZE = 10_000;
+
+    // Marker written once every legacy file has been moved into the sharded layout
+    private static final String LAYOUT_MARKER = ".layout-v2";
+
+    // Partial files of resumable uploads; dot-directories are never served or migrated
+    private static final String INCOMING_DIR = ".incoming";
+
+    // Directories known to exist, so uploads skip the exists/createDirectories round trips
+    private final Set<Path> knownDirectories = ConcurrentHashMap.newKeySet();
+
+    // Hot ETags, in front of the extended attribute (or the rehash when xattrs are unsupported)
+    private final Map<Path, String> contentHashCache = Collections.synchronizedMap(
+            new LinkedHashMap<Path, String>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Path, String> eldest) {
+                    return size() > CONTENT_HASH_CACHE_SIZE;
+                }
+            });
+
+    private final ObservationRegistry observationRegistry;
+
+    public LocalFileService(ObservationRegistry observationRegistry) {
+        this.observationRegistry = observationRegistry;
+    }
+
     /**
      * Upload a file to local storage and return the URL
      */
     public String uploadFile(MultipartFile file, String username, String photoType) throws IOException {
-        // Generate unique filename
-        String fileName = generateFileName(username, photoType, file.getOriginalFilename());
-        
-        // Create directory if it doesn't exist
-        Path uploadPath = Paths.get(uploadDir);
-        if (!Files.exists(uploadPath)) {
-            Files.createDirectories(uploadPath);
-        }
-        
-        // Create user-specific directory
-        Path userDir = uploadPath.resolve(username);
-        if (!Files.exists(userDir)) {
-            Files.createDirectories(userDir);
-        }
-        
-        try {
+        // Generate unique filename and its sharded storage key
+        String key = buildKey(username, generateFileName(username, photoType, file.getOriginalFilename()));
+
+        try (InputStream in = file.getInputStream()) {
             // Save file to local storage
-            Path filePath = userDir.resolve(fileName);
-            Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
-            
+            writeAtomically(resolveKey(key), in, file.getSize());
+
             // Return the relative URL
-            return "/" + uploadDir + "/" + username + "/" + fileName;
-            
+            return getUrlForKey(key);
+
         } catch (Exception e) {
             throw new RuntimeException("Failed to upload file to local storage: " + e.getMessage(), e);
         }
@@ -71,10 +131,529 @@ public class LocalFileService {
             }
         } catch (Exception e) {
             // Log error but don't throw exception to avoid breaking profile updates
-            System.err.println("Failed to delete file from local storage: " + e.getMessage());
+            logger.warn("Failed to delete file from local storage: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Issue a signed local upload URL that behaves like a presigned S3 PUT URL,
+     * so the direct-upload flow can be exercised without S3.
+     */
+    public PresignedUploadResponse generatePresignedUpload(String username, String photoType,
+                                                           String originalFileName, String contentType, long size) {
+        String key = buildKey(username, generateFileName(username, photoType, originalFileName));
+        long expiresAt = System.currentTimeMillis() + presignExpirySeconds * 1000;
+        String signature = sign(key, expiresAt, size);
+
+        String uploadUrl = SIGNED_UPLOAD_PATH
+                + "?key=" + URLEncoder.encode(key, StandardCharsets.UTF_8)
+                + "&expires=" + expiresAt
+                + "&size=" + size
+                + "&signature=" + signature;
+
+        return new PresignedUploadResponse(uploadUrl, key, getUrlForKey(key),
+                Collections.singletonMap("Content-Type", contentType), expiresAt);
+    }
+
+    /**
+     * Store the body of a signed local upload after checking signature, expiry and size
+     */
+    public void acceptSignedUpload(String key, long expiresAt, long size, String signature,
+                                   InputStream body) throws IOException {
+        if (!MessageDigest.isEqual(sign(key, expiresAt, size).getBytes(StandardCharsets.UTF_8),
+                String.valueOf(signature).getBytes(StandardCharsets.UTF_8))) {
+            throw new SecurityException("Invalid upload signature");
+        }
+        if (System.currentTimeMillis() > expiresAt) {
+            throw new SecurityException("Upload URL has expired");
+        }
+
+        // Exactly the signed size is accepted, anything else is discarded before it becomes visible
+        writeAtomically(resolveKey(key), body, size);
+    }
+
+    /**
+     * Verify a file uploaded through a signed local URL and return its URL
+     */
+    public String completePresignedUpload(String key, String username, long maxSize) throws IOException {
+        // Compare normalized paths, so ".." segments cannot step out of the user's prefix
+        if (key == null || key.contains("..") || !resolveKey(key).startsWith(resolveKey(userPrefix(username)))) {
+            throw new IllegalArgumentException("Key does not belong to the current user");
+        }
+
+        Path filePath = resolveKey(key);
+        if (!Files.exists(filePath)) {
+            throw new IllegalArgumentException("Uploaded file not found: " + key);
+        }
+        if (Files.size(filePath) > maxSize || sniffImageType(filePath) == null) {
+            // Do not leave rejected files behind, same as the S3 path
+            Files.delete(filePath);
+            throw new IllegalArgumentException("Uploaded file failed validation");
+        }
+
+        return getUrlForKey(getKeyForPath(filePath));
+    }
+
+    /**
+     * Image content type from the file's leading bytes, or null if it is not an allowed image.
+     * Signed uploads are stored without their declared type, so the bytes are all there is.
+     */
+    static String sniffImageType(Path file) throws IOException {
+        byte[] head = new byte[12];
+        int read;
+        try (InputStream in = Files.newInputStream(file)) {
+            read = in.readNBytes(head, 0, head.length);
+        }
+        if (read >= 3 && (head[0] & 0xff) == 0xFF && (head[1] & 0xff) == 0xD8 && (head[2] & 0xff) == 0xFF) {
+            return "image/jpeg";
+        }
+        if (read >= 8 && (head[0] & 0xff) == 0x89 && head[1] == 'P' && head[2] == 'N' && head[3] == 'G'
+                && head[4] == '\r' && head[5] == '\n' && head[6] == 0x1A && head[7] == '\n') {
+            return "image/png";
+        }
+        if (read >= 6 && head[0] == 'G' && head[1] == 'I' && head[2] == 'F' && head[3] == '8'
+                && (head[4] == '7' || head[4] == '9') && head[5] == 'a') {
+            return "image/gif";
+        }
+        if (read >= 12 && head[0] == 'R' && head[1] == 'I' && head[2] == 'F' && head[3] == 'F'
+                && head[8] == 'W' && head[9] == 'E' && head[10] == 'B' && head[11] == 'P') {
+            return "image/webp";
+        }
+        if (read >= 2 && head[0] == 'B' && head[1] == 'M') {
+            return "image/bmp";
+        }
+        return null;
+    }
+
+    /**
+     * Walk every regular file under the upload directory. The caller must close the stream.
+     */
+    public Stream<Path> walkStoredFiles() throws IOException {
+        Path root = Paths.get(uploadDir).toAbsolutePath().normalize();
+        if (!Files.exists(root)) {
+            return Stream.empty();
+        }
+        return Files.walk(root)
+                .filter(Files::isRegularFile)
+                .filter(file -> !LAYOUT_MARKER.equals(file.getFileName().toString()));
+    }
+
+    /**
+     * Get the storage key (path relative to the upload directory) of a stored file
+     */
+    public String getKeyForPath(Path filePath) {
+        Path root = Paths.get(uploadDir).toAbsolutePath().normalize();
+        return root.relativize(filePath.toAbsolutePath().normalize()).toString().replace('\\', '/');
+    }
+
+    /**
+     * Get the storage key for a URL produced by this service, or null for foreign URLs
+     */
+    public String getKeyFromUrl(String fileUrl) {
+        String prefix = getUrlPrefix();
+        if (fileUrl == null || !fileUrl.startsWith(prefix)) {
+            return null;
+        }
+        return fileUrl.substring(prefix.length());
+    }
+
+    /**
+     * Resolve a storage key to an existing stored file, or null if there is none
+     */
+    public Path findStoredFile(String key) {
+        try {
+            Path filePath = resolveKey(key);
+            // Temp files, partial uploads and the layout marker are never served
+            if (isHiddenKey(key)) {
+                return null;
+            }
+            return Files.isRegularFile(filePath) ? filePath : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * SHA-256 of a stored file, hex encoded. Computed once (at upload, or on first request
+     * for older files) and kept in an extended attribute plus an in-memory LRU.
+     */
+    public String getContentHash(Path filePath) throws IOException {
+        String cached = contentHashCache.get(filePath);
+        if (cached != null) {
+            return cached;
+        }
+
+        String hash = readStoredContentHash(filePath);
+        if (hash == null) {
+            hash = hashFile(filePath);
+            storeContentHash(filePath, hash);
+        } else {
+            contentHashCache.put(filePath, hash);
+        }
+        return hash;
+    }
+
+    private String hashFile(Path filePath) throws IOException {
+        MessageDigest digest = newContentDigest();
+        ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private void storeContentHash(Path filePath, String hash) {
+        contentHashCache.put(filePath, hash);
+        writeContentHashAttribute(filePath, hash);
+    }
+
+    private void writeContentHashAttribute(Path filePath, String hash) {
+        UserDefinedFileAttributeView view = Files.getFileAttributeView(filePath, UserDefinedFileAttributeView.class);
+        if (view == null) {
+            return;
+        }
+        try {
+            view.write(CONTENT_HASH_ATTR, StandardCharsets.US_ASCII.encode(hash));
+        } catch (IOException | UnsupportedOperationException e) {
+            // Filesystem without xattr support, the hash is recomputed after a restart
+        }
+    }
+
+    private String readStoredContentHash(Path filePath) {
+        UserDefinedFileAttributeView view = Files.getFileAttributeView(filePath, UserDefinedFileAttributeView.class);
+        if (view == null) {
+            return null;
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.allocate(view.size(CONTENT_HASH_ATTR));
+            view.read(CONTENT_HASH_ATTR, buffer);
+            buffer.flip();
+            return StandardCharsets.US_ASCII.decode(buffer).toString();
+        } catch (IOException | UnsupportedOperationException e) {
+            return null;
+        }
+    }
+
+    private MessageDigest newContentDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // ======================================
+    // SHARDED LAYOUT AND ATOMIC WRITES
+    // ======================================
+
+    /**
+     * Write a stream to its final location atomically. Data goes to a temp file in the target
+     * directory which is then renamed into place, so readers never see a partially written file.
+     * If expectedSize is not negative, a body of any other length is rejected before the rename.
+     */
+    private void writeAtomically(Path target, InputStream in, long expectedSize) throws IOException {
+        timed("write", () -> {
+            writeAndRename(target, in, expectedSize);
+            return null;
+        });
+    }
+
+    private void writeAndRename(Path target, InputStream in, long expectedSize) throws IOException {
+        ensureDirectory(target.getParent());
+        Path temp = target.resolveSibling("." + target.getFileName() + "." + UUID.randomUUID().toString().substring(0, 8) + ".tmp");
+
+        try {
+            MessageDigest digest = newContentDigest();
+            long written = 0;
+            byte[] buffer = new byte[8192];
+            try (OutputStream out = openNewFile(temp)) {
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    written += read;
+                    if (expectedSize >= 0 && written > expectedSize) {
+                        break;
+                    }
+                    out.write(buffer, 0, read);
+                    digest.update(buffer, 0, read);
+                }
+            }
+
+            if (expectedSize >= 0 && written != expectedSize) {
+                throw new IllegalArgumentException("Uploaded body does not match the expected size");
+            }
+
+            // The attribute travels with the rename, so the ETag is there as soon as the file is
+            String hash = HexFormat.of().formatHex(digest.digest());
+            writeContentHashAttribute(temp, hash);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            contentHashCache.put(target, hash);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private OutputStream openNewFile(Path file) throws IOException {
+        try {
+            return Files.newOutputStream(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        } catch (NoSuchFileException e) {
+            // The directory was removed behind our back, forget it and create it again
+            knownDirectories.remove(file.getParent());
+            ensureDirectory(file.getParent());
+            return Files.newOutputStream(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        }
+    }
+
+    private void ensureDirectory(Path directory) throws IOException {
+        if (knownDirectories.contains(directory)) {
+            return;
+        }
+        Files.createDirectories(directory);
+        knownDirectories.add(directory);
+    }
+
+    /**
+     * Storage key for a new file: {userShard}/{username}/{fileShard}/{fileName}.
+     * Users fan out over 256 top-level directories and each user's files over up to 256 subdirectories.
+     */
+    private String buildKey(String username, String fileName) {
+        String flatName = fileName.replace('/', '-');
+        return userPrefix(username) + shard(flatName) + "/" + flatName;
+    }
+
+    /**
+     * Key prefix under which every file of a user is stored
+     */
+    private String userPrefix(String username) {
+        return shard(username) + "/" + username + "/";
+    }
+
+    private static String shard(String value) {
+        int hash = value.hashCode();
+        return HexFormat.of().toHexDigits((byte) (hash ^ (hash >>> 8) ^ (hash >>> 16) ^ (hash >>> 24)));
+    }
+
+    /**
+     * Check whether a key already follows the sharded layout
+     */
+    public boolean isShardedKey(String key) {
+        String[] parts = key.split("/");
+        return parts.length == 4
+                && parts[0].equals(shard(parts[1]))
+                && parts[2].equals(shard(parts[3]));
+    }
+
+    /**
+     * Public URL of a storage key
+     */
+    public String getUrlForKey(String key) {
+        return getUrlPrefix() + key;
+    }
+
+    /**
+     * Path under which stored files are served, derived from app.upload.dir
+     */
+    public String getUrlPrefix() {
+        return "/" + uploadDir + "/";
+    }
+
+    /**
+     * Move a file from the legacy flat layout ({username}/{fileName}) into the sharded layout
+     * and return its new key. The legacy file stays in place until the caller removes it.
+     */
+    public String adoptLegacyFile(Path legacyFile, String username, String fileName) throws IOException {
+        String key = buildKey(username, fileName);
+        Path target = resolveKey(key);
+        if (Files.exists(target)) {
+            return key;
+        }
+
+        ensureDirectory(target.getParent());
+        try {
+            // A hard link is instant and shares the inode (and its hash attribute)
+            Files.createLink(target, legacyFile);
+        } catch (FileAlreadyExistsException e) {
+            return key;
+        } catch (IOException | UnsupportedOperationException e) {
+            try (InputStream in = Files.newInputStream(legacyFile)) {
+                writeAtomically(target, in, Files.size(legacyFile));
+            }
+        }
+        return key;
+    }
+
+    /**
+     * Store a file copied in from another backend under the user's sharded prefix and return its URL.
+     * A file already stored under the same name is kept, so an interrupted copy can simply be rerun.
+     */
+    public String importFile(String username, String fileName, InputStream in, long size) throws IOException {
+        String key = buildKey(username, fileName);
+        Path target = resolveKey(key);
+        if (!Files.exists(target)) {
+            writeAtomically(target, in, size);
+        }
+        return getUrlForKey(key);
+    }
+
+    /**
+     * Check whether any segment of a key is hidden (temp files, partial uploads, markers)
+     */
+    public boolean isHiddenKey(String key) {
+        return key.startsWith(".") || key.contains("/.");
+    }
+
+    // ======================================
+    // RESUMABLE (CHUNKED) UPLOADS
+    // ======================================
+
+    /**
+     * Write a chunk into the partial file of a resumable upload at the given offset and return
+     * the new length. Bytes past the offset, left by an interrupted chunk, are truncated first;
+     * a partial file shorter than the offset is reported with its length as the offset to resume from.
+     */
+    public long appendChunk(String uploadId, long offset, InputStream body, long maxBytes) throws IOException {
+        return timed("append", () -> writeChunk(uploadId, offset, body, maxBytes));
+    }
+
+    private long writeChunk(String uploadId, long offset, InputStream body, long maxBytes) throws IOException {
+        Path partFile = incomingFile(uploadId);
+        ensureDirectory(partFile.getParent());
+
+        try (FileChannel channel = FileChannel.open(partFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            if (channel.size() < offset) {
+                throw new ChunkedUploadService.OffsetMismatchException(channel.size());
+            }
+            channel.truncate(offset);
+            channel.position(offset);
+
+            ReadableByteChannel in = Channels.newChannel(body);
+            ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+            long written = 0;
+            while (in.read(buffer) != -1) {
+                buffer.flip();
+                written += buffer.remaining();
+                if (written > maxBytes) {
+                    throw new IllegalArgumentException("Chunk exceeds the declared upload size");
+                }
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                buffer.clear();
+            }
+
+            // The offset is only recorded after this returns, so the bytes must be on disk first
+            channel.force(false);
+            return offset + written;
         }
     }
 
+    /**
+     * Move a fully received partial file into the sharded layout and return its URL
+     */
+    public String commitChunkedUpload(String uploadId, String username, String photoType,
+                                      String originalFileName, long expectedSize) throws IOException {
+        Path partFile = incomingFile(uploadId);
+        if (!Files.exists(partFile) || Files.size(partFile) != expectedSize) {
+            throw new IllegalStateException("Upload is incomplete");
+        }
+
+        String key = buildKey(username, generateFileName(username, photoType, originalFileName));
+        Path target = resolveKey(key);
+        ensureDirectory(target.getParent());
+
+        String hash = hashFile(partFile);
+        writeContentHashAttribute(partFile, hash);
+        Files.move(partFile, target, StandardCopyOption.ATOMIC_MOVE);
+        contentHashCache.put(target, hash);
+        return getUrlForKey(key);
+    }
+
+    /**
+     * Drop the partial file of an abandoned resumable upload
+     */
+    public void discardChunkedUpload(String uploadId) throws IOException {
+        Files.deleteIfExists(incomingFile(uploadId));
+    }
+
+    private Path incomingFile(String uploadId) {
+        return resolveKey(INCOMING_DIR + "/" + uploadId + ".part");
+    }
+
+    public boolean isLayoutMigrated() {
+        return Files.exists(Paths.get(uploadDir).resolve(LAYOUT_MARKER));
+    }
+
+    public void markLayoutMigrated() throws IOException {
+        Path root = Paths.get(uploadDir);
+        ensureDirectory(root);
+        Files.write(root.resolve(LAYOUT_MARKER), new byte[0]);
+    }
+
+    /**
+     * Resolve a storage key against the upload directory, refusing keys that escape it
+     */
+    private Path resolveKey(String key) {
+        Path root = Paths.get(uploadDir).toAbsolutePath().normalize();
+        Path filePath = root.resolve(key).normalize();
+        if (!filePath.startsWith(root)) {
+            throw new IllegalArgumentException("Invalid key: " + key);
+        }
+        return filePath;
+    }
+
+    /**
+     * HMAC-SHA256 over key, expiry and size, URL-safe Base64 encoded
+     */
+    private String sign(String key, long expiresAt, long size) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(signingSecret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            byte[] digest = mac.doFinal((key + "\n" + expiresAt + "\n" + size).getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to sign upload URL", e);
+        }
+    }
+
+    /**
+     * Delete a stored file by key, propagating failures so callers can retry
+     */
+    public void deleteByKey(String key) throws IOException {
+        timed("delete", () -> Files.deleteIfExists(resolveKey(key)));
+    }
+
+    /**
+     * Observe a disk operation as storage.operations (timer and span), tagged the same way as S3 calls
+     */
+    private <T> T timed(String operation, IOCall<T> call) throws IOException {
+        Observation observation = Observation.createNotStarted("storage.operations", observationRegistry)
+                .contextualName("local " + operation)
+                .lowCardinalityKeyValue("backend", "local")
+                .lowCardinalityKeyValue("operation", operation)
+                .start();
+        String outcome = "failure";
+        Observation.Scope scope = observation.openScope();
+        try {
+            T result = call.call();
+            outcome = "success";
+            return result;
+        } catch (IOException | RuntimeException e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            scope.close();
+            observation.lowCardinalityKeyValue("outcome", outcome).stop();
+        }
+    }
+
+    @FunctionalInterface
+    private interface IOCall<T> {
+        T call() throws IOException;
+    }
+
     /**
      * Generate unique filename for uploaded file
      */
@@ -0,0 +1,199 @@
+package com.portfolio.Multi_Portfolio.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+/**
+ * One-time migration of local uploads from the flat {username}/{fileName} layout into the
+ * hash-sharded layout. Files are linked into place first, profile URLs are rewritten with guarded
+ * bulk updates, and only then are the legacy copies removed, so a crash part-way is safe to rerun.
+ * Rewritten profiles are announced with ProfileChangedEvent so summaries pick up the new URLs.
+ */
+@Service
+@ConditionalOnProperty(name = "aws.s3.enabled", havingValue = "false", matchIfMissing = true)
+public class LocalStorageLayoutMigrator {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalStorageLayoutMigrator.class);
+
+    private static final int BULK_BATCH_SIZE = 500;
+
+    @Autowired
+    private LocalFileService localFileService;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ProfileServices profileServices;
+
+    @Value("${app.upload.migrate-layout:true}")
+    private boolean migrateOnStartup;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateOnStartup() {
+        if (!migrateOnStartup || localFileService.isLayoutMigrated()) {
+            return;
+        }
+        try {
+            migrate();
+        } catch (Exception e) {
+            logger.error("Local storage layout migration failed, it will be retried on next startup", e);
+        }
+    }
+
+    /**
+     * Move every legacy file into the sharded layout and return how many were moved
+     */
+    public int migrate() throws IOException {
+        Map<String, String> newUrls = new HashMap<>(); // legacy URL -> sharded URL
+        List<Path> legacyFiles = new ArrayList<>();
+
+        try (Stream<Path> files = localFileService.walkStoredFiles()) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String key = localFileService.getKeyForPath(file);
+                if (localFileService.isHiddenKey(key) || localFileService.isShardedKey(key)) {
+                    continue;
+                }
+
+                // Legacy keys are {username}/{fileName}, possibly with a nested photo type directory
+                int slash = key.indexOf('/');
+                if (slash <= 0) {
+                    continue;
+                }
+                String newKey = localFileService.adoptLegacyFile(file, key.substring(0, slash), key.substring(slash + 1));
+                newUrls.put(localFileService.getUrlForKey(key), localFileService.getUrlForKey(newKey));
+                legacyFiles.add(file);
+            }
+        }
+
+        Set<String> owners = rewriteProfileUrls(ProfileServices.PROFILE_COLLECTION, newUrls);
+        int rewritten = owners.size();
+        owners.addAll(rewriteProfileUrls(ProfileServices.SECTIONS_COLLECTION, newUrls));
+
+        // Every profile now points at the sharded copies, the legacy ones can go
+        for (Path file : legacyFiles) {
+            Files.deleteIfExists(file);
+        }
+        localFileService.markLayoutMigrated();
+        owners.forEach(profileServices::publishRewritten);
+
+        logger.info("Local storage layout migration finished: {} files moved, {} profiles rewritten",
+                legacyFiles.size(), rewritten);
+        return legacyFiles.size();
+    }
+
+    /**
+     * Stream all profile (or profile section) documents and rewrite media URLs in bulk, setting
+     * only the top-level fields that changed. Returns the owners of the rewritten documents.
+     */
+    private Set<String> rewriteProfileUrls(String collection, Map<String, String> newUrls) {
+        Set<String> owners = new HashSet<>();
+        if (newUrls.isEmpty()) {
+            return owners;
+        }
+
+        List<Document> batch = new ArrayList<>();
+        try (Stream<Document> profiles = mongoTemplate.stream(new Query(), Document.class, collection)) {
+            for (Document profile : (Iterable<Document>) profiles::iterator) {
+                batch.add(profile);
+                if (batch.size() == BULK_BATCH_SIZE) {
+                    rewriteBatch(collection, batch, newUrls, owners);
+                    batch = new ArrayList<>();
+                }
+            }
+        }
+        rewriteBatch(collection, batch, newUrls, owners);
+        return owners;
+    }
+
+    /**
+     * Each update only applies if the rewritten fields still hold the values we read, like
+     * StorageMigrationService; documents written by their owner meanwhile are read again and retried
+     */
+    private void rewriteBatch(String collection, List<Document> batch, Map<String, String> newUrls, Set<String> owners) {
+        while (!batch.isEmpty()) {
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, collection);
+            List<Object> ids = new ArrayList<>();
+            for (Document profile : batch) {
+                Criteria guard = Criteria.where("_id").is(profile.get("_id"));
+                Update update = new Update();
+                for (Map.Entry<String, Object> field : profile.entrySet()) {
+                    if ("_id".equals(field.getKey())) {
+                        continue;
+                    }
+                    Object value = rewrite(field.getValue(), newUrls);
+                    if (value != field.getValue()) {
+                        guard = guard.and(field.getKey()).is(field.getValue());
+                        update.set(field.getKey(), value);
+                    }
+                }
+                if (!update.getUpdateObject().isEmpty()) {
+                    bulk.updateOne(new Query(guard), update);
+                    ids.add(profile.get("_id"));
+                    if (profile.getString("username") != null) {
+                        owners.add(profile.getString("username"));
+                    }
+                }
+            }
+
+            if (ids.isEmpty() || bulk.execute().getMatchedCount() == ids.size()) {
+                return;
+            }
+            // Rewritten documents come back without legacy URLs and drop out of the next pass
+            batch = mongoTemplate.find(new Query(Criteria.where("_id").in(ids)), Document.class, collection);
+        }
+    }
+
+    /**
+     * Rewrite URLs inside a BSON value. Returns the same instance when nothing changed.
+     */
+    static Object rewrite(Object value, Map<String, String> newUrls) {
+        if (value instanceof String url) {
+            return newUrls.getOrDefault(url, url);
+        }
+        if (value instanceof Document document) {
+            Document copy = new Document();
+            boolean changed = false;
+            for (Map.Entry<String, Object> entry : document.entrySet()) {
+                Object nested = rewrite(entry.getValue(), newUrls);
+                changed |= nested != entry.getValue();
+                copy.put(entry.getKey(), nested);
+            }
+            return changed ? copy : document;
+        }
+        if (value instanceof List<?> list) {
+            List<Object> copy = new ArrayList<>(list.size());
+            boolean changed = false;
+            for (Object item : list) {
+                Object nested = rewrite(item, newUrls);
+                changed |= nested != item;
+                copy.add(nested);
+            }
+            return changed ? copy : list;
+        }
+        return value;
+    }
+}
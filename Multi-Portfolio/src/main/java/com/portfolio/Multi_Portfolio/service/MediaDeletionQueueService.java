@@ -0,0 +1,230 @@
+package com.portfolio.Multi_Portfolio.service;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.portfolio.Multi_Portfolio.model.MediaDeletionTask;
+import com.portfolio.Multi_Portfolio.repository.MediaDeletionTaskRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Durable, Mongo-backed queue for deleting replaced media outside the request path.
+ * Tasks are claimed in batches with a lease, deleted with batched storage calls and
+ * retried with jittered exponential backoff until they succeed or run out of attempts.
+ */
+@Service
+public class MediaDeletionQueueService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MediaDeletionQueueService.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MediaDeletionTaskRepository repository;
+
+    @Autowired(required = false)
+    private S3Service s3Service;
+
+    @Autowired(required = false)
+    private LocalFileService localFileService;
+
+    @Value("${app.media-deletion.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.media-deletion.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${app.media-deletion.base-backoff:30s}")
+    private Duration baseBackoff;
+
+    @Value("${app.media-deletion.max-backoff:1h}")
+    private Duration maxBackoff;
+
+    // How long a claimed batch stays invisible to other drains
+    @Value("${app.media-deletion.lease:5m}")
+    private Duration lease;
+
+    private final Counter enqueued;
+    private final Counter deleted;
+    private final Counter retried;
+    private final Counter failed;
+    private final AtomicLong depth = new AtomicLong();
+    private final AtomicLong oldestAgeSeconds = new AtomicLong();
+
+    public MediaDeletionQueueService(MeterRegistry meterRegistry) {
+        this.enqueued = meterRegistry.counter("media.deletion.enqueued");
+        this.deleted = meterRegistry.counter("media.deletion.deleted");
+        this.retried = meterRegistry.counter("media.deletion.retried");
+        this.failed = meterRegistry.counter("media.deletion.failed");
+        meterRegistry.gauge("media.deletion.queue.depth", depth);
+        meterRegistry.gauge("media.deletion.queue.oldest.age.seconds", oldestAgeSeconds);
+    }
+
+    /**
+     * Runs once the server is up rather than during context refresh, so startup does not wait on Mongo
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        try {
+            // Supports the "due pending tasks" claim query and the oldest-task gauge
+            mongoTemplate.indexOps(MediaDeletionTask.class)
+                    .createIndex(new Index().on("status", Sort.Direction.ASC).on("nextAttemptAt", Sort.Direction.ASC));
+            mongoTemplate.indexOps(MediaDeletionTask.class)
+                    .createIndex(new Index().on("status", Sort.Direction.ASC).on("createdAt", Sort.Direction.ASC));
+        } catch (Exception e) {
+            logger.warn("Could not ensure media deletion queue indexes: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Queue a file for deletion. Returns immediately; the worker deletes it in the background.
+     */
+    public void enqueue(String fileUrl) {
+        if (fileUrl == null || fileUrl.isEmpty()) {
+            return;
+        }
+        repository.save(new MediaDeletionTask(fileUrl));
+        enqueued.increment();
+    }
+
+    /**
+     * Background worker: claim a batch of due tasks, delete them and reschedule failures
+     */
+    @Scheduled(fixedDelayString = "${app.media-deletion.poll-interval:10s}")
+    public void drain() {
+        try {
+            Instant now = Instant.now();
+            Query due = query(where("status").is(MediaDeletionTask.STATUS_PENDING).and("nextAttemptAt").lte(now))
+                    .with(Sort.by("nextAttemptAt"))
+                    .limit(batchSize);
+            List<MediaDeletionTask> batch = mongoTemplate.find(due, MediaDeletionTask.class);
+
+            if (!batch.isEmpty()) {
+                // Lease the batch; if this worker dies the tasks become due again once it expires.
+                // Two instances may occasionally both pick a task, which is harmless since deletes are idempotent.
+                List<String> ids = batch.stream().map(MediaDeletionTask::getId).toList();
+                mongoTemplate.updateMulti(query(where("_id").in(ids)),
+                        new Update().set("nextAttemptAt", now.plus(lease)), MediaDeletionTask.class);
+
+                process(batch);
+            }
+
+            refreshGauges();
+        } catch (Exception e) {
+            logger.error("Media deletion queue drain failed", e);
+        }
+    }
+
+    private void process(List<MediaDeletionTask> batch) {
+        Map<String, String> failures = deleteFromStorage(batch);
+
+        List<String> doneIds = new ArrayList<>();
+        for (MediaDeletionTask task : batch) {
+            String error = failures.get(task.getId());
+            if (error == null) {
+                doneIds.add(task.getId());
+            } else {
+                reschedule(task, error);
+            }
+        }
+
+        if (!doneIds.isEmpty()) {
+            mongoTemplate.remove(query(where("_id").in(doneIds)), MediaDeletionTask.class);
+            deleted.increment(doneIds.size());
+        }
+    }
+
+    /**
+     * Delete the files of a batch from the active backend. Returns failed task ids mapped to the error.
+     */
+    private Map<String, String> deleteFromStorage(List<MediaDeletionTask> batch) {
+        Map<String, String> failures = new HashMap<>();
+
+        if (s3Service != null) {
+            Map<String, String> idsByKey = new HashMap<>();
+            for (MediaDeletionTask task : batch) {
+                String key = s3Service.getKeyFromUrl(task.getFileUrl());
+                if (key != null) {
+                    idsByKey.put(key, task.getId());
+                }
+                // URLs that are not ours have nothing to delete and simply complete
+            }
+            try {
+                s3Service.deleteObjects(new ArrayList<>(idsByKey.keySet()))
+                        .forEach((key, error) -> failures.put(idsByKey.get(key), error));
+            } catch (Exception e) {
+                idsByKey.values().forEach(id -> failures.put(id, e.getMessage()));
+            }
+        } else if (localFileService != null) {
+            for (MediaDeletionTask task : batch) {
+                String key = localFileService.getKeyFromUrl(task.getFileUrl());
+                if (key == null) {
+                    continue;
+                }
+                try {
+                    localFileService.deleteByKey(key);
+                } catch (Exception e) {
+                    failures.put(task.getId(), e.getMessage());
+                }
+            }
+        } else {
+            batch.forEach(task -> failures.put(task.getId(), "No file upload service available"));
+        }
+
+        return failures;
+    }
+
+    /**
+     * Back off a failed task with jittered exponential delay, or park it as FAILED after the last attempt
+     */
+    private void reschedule(MediaDeletionTask task, String error) {
+        int attempts = task.getAttempts() + 1;
+        Update update = new Update().set("attempts", attempts).set("lastError", error);
+
+        if (attempts >= maxAttempts) {
+            update.set("status", MediaDeletionTask.STATUS_FAILED);
+            failed.increment();
+            logger.error("Giving up deleting {} after {} attempts: {}", task.getFileUrl(), attempts, error);
+        } else {
+            long ceiling = Math.min(maxBackoff.toMillis(), baseBackoff.toMillis() << Math.min(attempts - 1, 20));
+            long delay = ThreadLocalRandom.current().nextLong(baseBackoff.toMillis(), Math.max(ceiling, baseBackoff.toMillis()) + 1);
+            update.set("nextAttemptAt", Instant.now().plusMillis(delay));
+            retried.increment();
+            logger.warn("Deleting {} failed (attempt {}), retrying in {} ms: {}", task.getFileUrl(), attempts, delay, error);
+        }
+
+        mongoTemplate.updateFirst(query(where("_id").is(task.getId())), update, MediaDeletionTask.class);
+    }
+
+    private void refreshGauges() {
+        depth.set(repository.countByStatus(MediaDeletionTask.STATUS_PENDING));
+        MediaDeletionTask oldest = repository.findFirstByStatusOrderByCreatedAtAsc(MediaDeletionTask.STATUS_PENDING);
+        oldestAgeSeconds.set(oldest == null ? 0 : Duration.between(oldest.getCreatedAt(), Instant.now()).getSeconds());
+    }
+}
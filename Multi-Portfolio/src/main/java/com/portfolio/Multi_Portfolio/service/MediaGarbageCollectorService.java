@@ -0,0 +1,257 @@
+package com.portfolio.Multi_Portfolio.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+/**
+ * Background mark-and-sweep collector for uploaded media that no profile references anymore.
+ * Mark streams every profile and section document and collects every string in them that
+ * points at stored media, so links pasted into free-text fields (project or publication URLs)
+ * count as references too. Sweep walks the storage listing and deletes unreferenced objects
+ * older than the grace period. Runs in dry-run mode unless app.media-gc.dry-run is false.
+ */
+@Service
+@ConditionalOnProperty(name = "app.media-gc.enabled", havingValue = "true", matchIfMissing = true)
+public class MediaGarbageCollectorService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MediaGarbageCollectorService.class);
+
+    // S3 keys written by S3Service all live under this prefix
+    private static final String S3_MEDIA_PREFIX = "profiles/";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired(required = false)
+    private S3Service s3Service;
+
+    @Autowired(required = false)
+    private LocalFileService localFileService;
+
+    @Value("${app.media-gc.grace-period:24h}")
+    private Duration gracePeriod;
+
+    @Value("${app.media-gc.dry-run:true}")
+    private boolean dryRun;
+
+    private final Counter runs;
+    private final Counter scanned;
+    private final Counter orphaned;
+    private final Counter deleted;
+    private final Counter bytesReclaimed;
+    private final Timer duration;
+    private final AtomicLong referenced = new AtomicLong();
+
+    public MediaGarbageCollectorService(MeterRegistry meterRegistry) {
+        this.runs = meterRegistry.counter("media.gc.runs");
+        this.scanned = meterRegistry.counter("media.gc.objects.scanned");
+        this.orphaned = meterRegistry.counter("media.gc.objects.orphaned");
+        this.deleted = meterRegistry.counter("media.gc.objects.deleted");
+        this.bytesReclaimed = meterRegistry.counter("media.gc.bytes.reclaimed");
+        this.duration = meterRegistry.timer("media.gc.duration");
+        meterRegistry.gauge("media.gc.objects.referenced", referenced);
+    }
+
+    /**
+     * Scheduled entry point, uses the configured dry-run setting
+     */
+    @Scheduled(cron = "${app.media-gc.cron:0 30 3 * * *}")
+    public void collectOnSchedule() {
+        try {
+            collect(dryRun);
+        } catch (Exception e) {
+            logger.error("Media garbage collection failed", e);
+        }
+    }
+
+    /**
+     * Run one mark-and-sweep pass. In dry-run mode orphans are counted and logged but not deleted.
+     */
+    public Map<String, Object> collect(boolean dryRun) {
+        return duration.record(() -> {
+            runs.increment();
+            Instant cutoff = Instant.now().minus(gracePeriod);
+
+            Set<String> referencedKeys = markReferencedKeys();
+            referenced.set(referencedKeys.size());
+
+            SweepResult result;
+            if (s3Service != null) {
+                result = sweepS3(referencedKeys, cutoff, dryRun);
+            } else if (localFileService != null) {
+                result = sweepLocal(referencedKeys, cutoff, dryRun);
+            } else {
+                result = new SweepResult();
+            }
+
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("dryRun", dryRun);
+            report.put("referenced", referencedKeys.size());
+            report.put("scanned", result.scanned);
+            report.put("orphaned", result.orphaned);
+            report.put("deleted", result.deleted);
+            report.put("bytesReclaimed", result.bytes);
+            logger.info("Media garbage collection finished: {}", report);
+            return report;
+        });
+    }
+
+    /**
+     * Mark phase: walk every value of every profile and section and collect the storage keys
+     * referenced anywhere in them. A fixed field list would miss links users paste elsewhere.
+     */
+    private Set<String> markReferencedKeys() {
+        Set<String> keys = new HashSet<>();
+        for (String collection : List.of(ProfileServices.PROFILE_COLLECTION, ProfileServices.SECTIONS_COLLECTION)) {
+            try (Stream<Document> documents = mongoTemplate.stream(new Query(), Document.class, collection)) {
+                documents.forEach(document -> collectUrls(document, keys));
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Walk a BSON value and add the storage key of every URL found in it
+     */
+    private void collectUrls(Object value, Set<String> keys) {
+        if (value instanceof String url) {
+            String key = toStorageKey(url);
+            if (key != null) {
+                keys.add(key);
+            }
+        } else if (value instanceof Document document) {
+            document.values().forEach(nested -> collectUrls(nested, keys));
+        } else if (value instanceof List<?> list) {
+            list.forEach(nested -> collectUrls(nested, keys));
+        }
+    }
+
+    /**
+     * Storage key of a media URL, also when it was pasted as an absolute link or with a query string
+     */
+    private String toStorageKey(String url) {
+        String path = url.split("[?#]", 2)[0];
+        if (s3Service != null) {
+            return s3Service.getKeyFromUrl(path);
+        } else if (localFileService != null) {
+            int start = path.indexOf(localFileService.getUrlPrefix());
+            return start < 0 ? null : localFileService.getKeyFromUrl(path.substring(start));
+        }
+        return null;
+    }
+
+    /**
+     * Sweep phase for S3: page through the bucket listing and delete orphans with batched DeleteObjects
+     */
+    private SweepResult sweepS3(Set<String> referencedKeys, Instant cutoff, boolean dryRun) {
+        SweepResult result = new SweepResult();
+        List<String> orphanKeys = new ArrayList<>();
+
+        for (S3Object object : s3Service.listObjects(S3_MEDIA_PREFIX)) {
+            result.scanned++;
+            if (!referencedKeys.contains(object.key()) && object.lastModified().isBefore(cutoff)) {
+                result.orphaned++;
+                result.bytes += object.size();
+                orphanKeys.add(object.key());
+            }
+        }
+
+        if (!dryRun && !orphanKeys.isEmpty()) {
+            result.deleted = orphanKeys.size() - s3Service.deleteObjects(orphanKeys).size();
+        }
+
+        recordMetrics(result, dryRun);
+        return result;
+    }
+
+    /**
+     * Sweep phase for local storage: walk the upload directory and delete orphans in parallel
+     */
+    private SweepResult sweepLocal(Set<String> referencedKeys, Instant cutoff, boolean dryRun) {
+        SweepResult result = new SweepResult();
+        List<Path> orphanFiles = new ArrayList<>();
+
+        try (Stream<Path> files = localFileService.walkStoredFiles()) {
+            files.forEach(file -> {
+                result.scanned++;
+                try {
+                    if (!referencedKeys.contains(localFileService.getKeyForPath(file))
+                            && Files.getLastModifiedTime(file).toInstant().isBefore(cutoff)) {
+                        result.orphaned++;
+                        result.bytes += Files.size(file);
+                        orphanFiles.add(file);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        if (!dryRun) {
+            AtomicInteger deletedFiles = new AtomicInteger();
+            orphanFiles.parallelStream().forEach(file -> {
+                try {
+                    if (Files.deleteIfExists(file)) {
+                        deletedFiles.incrementAndGet();
+                    }
+                } catch (IOException e) {
+                    logger.warn("Failed to delete orphaned file {}: {}", file, e.getMessage());
+                }
+            });
+            result.deleted = deletedFiles.get();
+        }
+
+        recordMetrics(result, dryRun);
+        return result;
+    }
+
+    private void recordMetrics(SweepResult result, boolean dryRun) {
+        scanned.increment(result.scanned);
+        orphaned.increment(result.orphaned);
+        if (!dryRun) {
+            deleted.increment(result.deleted);
+            bytesReclaimed.increment(result.bytes);
+        }
+    }
+
+    /**
+     * Counters for a single sweep
+     */
+    private static class SweepResult {
+        long scanned;
+        long orphaned;
+        long deleted;
+        long bytes;
+    }
+}
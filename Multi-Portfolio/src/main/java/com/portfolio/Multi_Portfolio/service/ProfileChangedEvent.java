@@ -0,0 +1,12 @@
+package com.portfolio.Multi_Portfolio.service;
+
+import com.portfolio.Multi_Portfolio.model.Profile;
+
+/**
+ * Published by ProfileServices after every profile write, on the writing thread.
+ * before holds the previous core fields (no section lists) and is null for a new profile;
+ * after is null once the profile is deleted. after carries section lists only when
+ * sectionsReplaced is true, i.e. the write replaced the whole profile.
+ */
+public record ProfileChangedEvent(String username, Profile before, Profile after, boolean sectionsReplaced) {
+}
@@ -0,0 +1,277 @@
+package com.portfolio.Multi_Portfolio.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted index from terms to weighted documents. Documents get small int ids (reused after
+ * removal) and each term's postings are two parallel sorted arrays, so a posting costs six bytes
+ * instead of a boxed map entry. Terms are kept sorted for prefix lookups. Safe for concurrent
+ * use: writers take an exclusive lock, searches share a read lock.
+ */
+final class ProfileSearchIndex {
+
+    // A query token of at least this length also matches longer terms starting with it
+    static final int MIN_PREFIX_LENGTH = 2;
+
+    // Prefix matches count for less than the exact term, and only the first few are expanded
+    private static final float PREFIX_FACTOR = 0.5f;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    private static final int MAX_TERM_LENGTH = 40;
+    private static final Set<String> STOP_WORDS = Set.of("a", "an", "and", "at", "for", "in", "of", "on", "the", "to", "with");
+
+    private final NavigableMap<String, Postings> terms = new TreeMap<>();
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> keys = new ArrayList<>();
+    private final List<String[]> documentTerms = new ArrayList<>();
+    private final ArrayDeque<Integer> freeIds = new ArrayDeque<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    record Hit(String key, float score) {
+    }
+
+    record Result(List<Hit> hits, int total) {
+    }
+
+    /**
+     * Lower-cased letter/digit runs, without stop words and one-character tokens
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                String token = text.substring(start, i).toLowerCase(Locale.ROOT);
+                if (token.length() > 1 && token.length() <= MAX_TERM_LENGTH && !STOP_WORDS.contains(token)) {
+                    tokens.add(token);
+                }
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Replace everything indexed for key with the given term weights
+     */
+    void put(String key, Map<String, Integer> termWeights) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(key);
+            addLocked(key, termWeights);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Add term weights to what is already indexed for key, e.g. one profile section at a time
+     */
+    void add(String key, Map<String, Integer> termWeights) {
+        lock.writeLock().lock();
+        try {
+            addLocked(key, termWeights);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(String key) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int documentCount() {
+        lock.readLock().lock();
+        try {
+            return ids.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int termCount() {
+        lock.readLock().lock();
+        try {
+            return terms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Documents matching every query token, best first (ties in key order). A token matches
+     * its exact term and, at MIN_PREFIX_LENGTH or longer, terms it is a prefix of. The score
+     * sums, per token, the best matching term weight times its inverse document frequency.
+     */
+    Result search(List<String> queryTokens, int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            Map<Integer, Float> scores = null;
+            for (String token : new LinkedHashSet<>(queryTokens)) {
+                Map<Integer, Float> tokenScores = new HashMap<>();
+                accumulate(terms.get(token), 1f, tokenScores);
+                if (token.length() >= MIN_PREFIX_LENGTH) {
+                    int expanded = 0;
+                    for (Postings postings : terms.subMap(token, false, token + Character.MAX_VALUE, false).values()) {
+                        if (++expanded > MAX_PREFIX_EXPANSIONS) {
+                            break;
+                        }
+                        accumulate(postings, PREFIX_FACTOR, tokenScores);
+                    }
+                }
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    scores.keySet().retainAll(tokenScores.keySet());
+                    scores.replaceAll((doc, score) -> score + tokenScores.get(doc));
+                }
+                if (scores.isEmpty()) {
+                    break;
+                }
+            }
+            if (scores == null || scores.isEmpty()) {
+                return new Result(List.of(), 0);
+            }
+
+            List<Hit> hits = new ArrayList<>(scores.size());
+            scores.forEach((doc, score) -> hits.add(new Hit(keys.get(doc), score)));
+            hits.sort(Comparator.comparingDouble(Hit::score).reversed().thenComparing(Hit::key));
+            int from = Math.min(offset, hits.size());
+            int to = Math.min(from + limit, hits.size());
+            return new Result(List.copyOf(hits.subList(from, to)), hits.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void accumulate(Postings postings, float factor, Map<Integer, Float> tokenScores) {
+        if (postings == null) {
+            return;
+        }
+        float idf = (float) Math.log(1 + (double) ids.size() / postings.size);
+        for (int i = 0; i < postings.size; i++) {
+            float score = postings.weights[i] * idf * factor;
+            tokenScores.merge(postings.docs[i], score, Math::max);
+        }
+    }
+
+    private void addLocked(String key, Map<String, Integer> termWeights) {
+        if (termWeights.isEmpty()) {
+            return;
+        }
+        Integer id = ids.get(key);
+        if (id == null) {
+            id = freeIds.isEmpty() ? keys.size() : freeIds.pop();
+            if (id == keys.size()) {
+                keys.add(key);
+                documentTerms.add(new String[0]);
+            } else {
+                keys.set(id, key);
+            }
+            ids.put(key, id);
+        }
+
+        String[] existing = documentTerms.get(id);
+        List<String> added = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : termWeights.entrySet()) {
+            Postings postings = terms.get(entry.getKey());
+            String term = entry.getKey();
+            if (postings == null) {
+                postings = new Postings();
+                terms.put(term, postings);
+            } else {
+                // Share the dictionary's copy of the string
+                term = terms.ceilingKey(term);
+            }
+            if (postings.add(id, entry.getValue())) {
+                added.add(term);
+            }
+        }
+        if (!added.isEmpty()) {
+            String[] merged = Arrays.copyOf(existing, existing.length + added.size());
+            for (int i = 0; i < added.size(); i++) {
+                merged[existing.length + i] = added.get(i);
+            }
+            documentTerms.set(id, merged);
+        }
+    }
+
+    private void removeLocked(String key) {
+        Integer id = ids.remove(key);
+        if (id == null) {
+            return;
+        }
+        for (String term : documentTerms.get(id)) {
+            Postings postings = terms.get(term);
+            if (postings != null && postings.remove(id) && postings.size == 0) {
+                terms.remove(term);
+            }
+        }
+        documentTerms.set(id, new String[0]);
+        keys.set(id, null);
+        freeIds.push(id);
+    }
+
+    /**
+     * Document ids in ascending order with their term weight
+     */
+    private static final class Postings {
+        private int[] docs = new int[2];
+        private short[] weights = new short[2];
+        private int size;
+
+        /**
+         * @return true if the document was not in the list yet
+         */
+        boolean add(int doc, int weight) {
+            int index = Arrays.binarySearch(docs, 0, size, doc);
+            if (index >= 0) {
+                weights[index] = (short) Math.min(Short.MAX_VALUE, weights[index] + weight);
+                return false;
+            }
+            index = -index - 1;
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            System.arraycopy(docs, index, docs, index + 1, size - index);
+            System.arraycopy(weights, index, weights, index + 1, size - index);
+            docs[index] = doc;
+            weights[index] = (short) Math.min(Short.MAX_VALUE, weight);
+            size++;
+            return true;
+        }
+
+        boolean remove(int doc) {
+            int index = Arrays.binarySearch(docs, 0, size, doc);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(docs, index + 1, docs, index, size - index - 1);
+            System.arraycopy(weights, index + 1, weights, index, size - index - 1);
+            size--;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.portfolio.Multi_Portfolio.service;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Full-text portfolio search over an in-memory ProfileSearchIndex. Every text field of a
+ * profile and its sections is indexed, weighted by field, except contact details, dates,
+ * links and photos. The index is filled by a streaming scan of profile and profile_sections
+ * at startup and kept current from ProfileChangedEvent; searches never touch Mongo.
+ */
+@Service
+public class ProfileSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProfileSearchService.class);
+
+    private static final int MAX_QUERY_TOKENS = 8;
+
+    // Fields that are not searchable text, plus anything ending in "Photos"
+    private static final Set<String> EXCLUDED_FIELDS = Set.of(
+            "_id", "_class", "userId", ProfileServices.SECTION_COUNTS_FIELD, "selectedTemplate", "profilePhoto",
+            "phoneNumber", "professionalEmail", "dob", "address", "linkedInOrWebsite", "socialLinks",
+            "projectUrl", "githubUrl", "publicationUrl", "projectLink",
+            "startDate", "endDate", "issueDate", "date", "publicationDate", "yearOfPassing", "duration", "grade");
+
+    // A term's weight in a profile is the sum of these over its occurrences; other fields count 1
+    private static final Map<String, Integer> FIELD_WEIGHTS = Map.ofEntries(
+            Map.entry("username", 8), Map.entry("fullName", 8),
+            Map.entry("professionalTitle", 6), Map.entry("skills", 5),
+            Map.entry("profileType", 4), Map.entry("position", 4), Map.entry("location", 4),
+            Map.entry("jobTitle", 3), Map.entry("hospitalName", 3), Map.entry("university", 3),
+            Map.entry("degree", 3), Map.entry("department", 3), Map.entry("company", 3),
+            Map.entry("languages", 2), Map.entry("professionalMemberships", 2), Map.entry("name", 2),
+            Map.entry("title", 2), Map.entry("technologies", 2));
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private final ProfileSearchIndex index = new ProfileSearchIndex();
+
+    // Profiles written since the startup scan began; the scan must not overwrite them with older data
+    private final Set<String> writtenDuringRebuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuilding;
+    private volatile boolean ready;
+
+    private final Timer searchTimer;
+    private final Timer rebuildDuration;
+
+    public ProfileSearchService(MeterRegistry meterRegistry) {
+        this.searchTimer = meterRegistry.timer("profile.search.duration");
+        this.rebuildDuration = meterRegistry.timer("profile.search.rebuild.duration");
+        Gauge.builder("profile.search.documents", index, ProfileSearchIndex::documentCount).register(meterRegistry);
+        Gauge.builder("profile.search.terms", index, ProfileSearchIndex::termCount).register(meterRegistry);
+    }
+
+    public record SearchResult(List<String> usernames, int total, boolean complete) {
+    }
+
+    /**
+     * Usernames of profiles matching every word of the query, best first. Words of two or more
+     * characters also match as prefixes, so "cardio" finds "cardiology". complete is false while
+     * the startup scan is still running.
+     *
+     * @throws IllegalArgumentException if the query has no searchable words
+     */
+    public SearchResult search(String query, int page, int size) {
+        List<String> tokens = ProfileSearchIndex.tokenize(query);
+        if (tokens.isEmpty()) {
+            throw new IllegalArgumentException("Query has no searchable words");
+        }
+        List<String> queryTokens = tokens.subList(0, Math.min(tokens.size(), MAX_QUERY_TOKENS));
+        int offset = (int) Math.min((long) page * size, Integer.MAX_VALUE);
+        ProfileSearchIndex.Result result = searchTimer.record(() -> index.search(queryTokens, offset, size));
+        List<String> usernames = result.hits().stream().map(ProfileSearchIndex.Hit::key).toList();
+        return new SearchResult(usernames, result.total(), ready);
+    }
+
+    @EventListener
+    public void onProfileChanged(ProfileChangedEvent event) {
+        if (rebuilding) {
+            writtenDuringRebuild.add(event.username());
+        }
+        if (event.after() == null) {
+            index.remove(event.username());
+        } else if (event.sectionsReplaced()) {
+            Document profile = new Document();
+            mongoTemplate.getConverter().write(event.after(), profile);
+            index.put(event.username(), terms(profile, 1));
+        }
+        // Photo and template updates change no indexed field
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        Thread worker = new Thread(() -> {
+            try {
+                rebuild();
+            } catch (Exception e) {
+                logger.error("Profile search index build failed, only profiles written from now on are searchable", e);
+            }
+        }, "profile-search-rebuild");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Index every stored profile: core documents first (legacy ones still embed their sections),
+     * then the split sections, added to their owner's entry one document at a time.
+     */
+    void rebuild() {
+        rebuilding = true;
+        try {
+            rebuildDuration.record(() -> {
+                long profiles = 0;
+                Query cores = new Query(where("username").exists(true));
+                try (Stream<Document> stream = mongoTemplate.stream(cores, Document.class, ProfileServices.PROFILE_COLLECTION)) {
+                    for (Document core : (Iterable<Document>) stream::iterator) {
+                        String username = core.getString("username");
+                        if (!writtenDuringRebuild.contains(username)) {
+                            index.put(username, terms(core, 1));
+                            profiles++;
+                        }
+                    }
+                }
+                try (Stream<Document> stream = mongoTemplate.stream(new Query(), Document.class, ProfileServices.SECTIONS_COLLECTION)) {
+                    for (Document section : (Iterable<Document>) stream::iterator) {
+                        String username = section.getString("username");
+                        if (username != null && !writtenDuringRebuild.contains(username)) {
+                            index.add(username, terms(section.get("items"), 1));
+                        }
+                    }
+                }
+                logger.info("Profile search index built: {} profiles, {} terms", profiles, index.termCount());
+            });
+            ready = true;
+        } finally {
+            rebuilding = false;
+            writtenDuringRebuild.clear();
+        }
+    }
+
+    private static Map<String, Integer> terms(Object value, int weight) {
+        Map<String, Integer> terms = new HashMap<>();
+        collect(value, weight, terms);
+        return terms;
+    }
+
+    private static void collect(Object value, int weight, Map<String, Integer> terms) {
+        if (value instanceof Document document) {
+            for (Map.Entry<String, Object> field : document.entrySet()) {
+                String name = field.getKey();
+                if (!EXCLUDED_FIELDS.contains(name) && !name.endsWith("Photos")) {
+                    collect(field.getValue(), FIELD_WEIGHTS.getOrDefault(name, 1), terms);
+                }
+            }
+        } else if (value instanceof List<?> list) {
+            list.forEach(item -> collect(item, weight, terms));
+        } else if (value instanceof String text) {
+            ProfileSearchIndex.tokenize(text).forEach(token -> terms.merge(token, weight, Integer::sum));
+        }
+    }
+}
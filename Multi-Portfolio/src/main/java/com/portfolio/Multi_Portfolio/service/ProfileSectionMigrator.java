@@ -0,0 +1,82 @@
+package com.portfolio.Multi_Portfolio.service;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+/**
+ * One-time move of embedded profile sections into profile_sections. Runs in the background
+ * after startup; reads handle both layouts meanwhile, and a profile saved by its owner is
+ * split by that save, so the migration is safe to interrupt and rerun.
+ */
+@Service
+public class ProfileSectionMigrator {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProfileSectionMigrator.class);
+
+    @Autowired
+    private ProfileServices profileServices;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${app.profile.split-sections:true}")
+    private boolean migrateOnStartup;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateOnStartup() {
+        if (!migrateOnStartup) {
+            return;
+        }
+        Thread worker = new Thread(() -> {
+            try {
+                migrate();
+            } catch (Exception e) {
+                logger.error("Profile section migration failed, it will be retried on next startup", e);
+            }
+        }, "profile-section-migration");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Split every profile that has no sectionCounts yet, or still embeds sections after an
+     * interrupted split, and return how many were split
+     */
+    public int migrate() {
+        List<Criteria> unsplit = new ArrayList<>();
+        unsplit.add(where(ProfileServices.SECTION_COUNTS_FIELD).exists(false));
+        ProfileServices.SPLIT_SECTIONS.forEach(section -> unsplit.add(where(section).exists(true)));
+        Query legacy = new Query(where("username").exists(true).orOperator(unsplit));
+
+        int split = 0;
+        int skipped = 0;
+        try (Stream<Document> profiles = mongoTemplate.stream(legacy, Document.class, ProfileServices.PROFILE_COLLECTION)) {
+            for (Document profile : (Iterable<Document>) profiles::iterator) {
+                if (profileServices.splitLegacySections(profile)) {
+                    split++;
+                } else {
+                    skipped++; // Saved by its owner in the meantime, already split
+                }
+            }
+        }
+        if (split > 0 || skipped > 0) {
+            logger.info("Profile section migration finished: {} profiles split, {} changed concurrently", split, skipped);
+        }
+        return split;
+    }
+}
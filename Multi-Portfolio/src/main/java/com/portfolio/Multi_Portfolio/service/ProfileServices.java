@@ -1,66 +1,182 @@
 package com.portfolio.Multi_Portfolio.service;
 
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
+import com.mongodb.client.result.UpdateResult;
 import com.portfolio.Multi_Portfolio.model.Profile;
 import com.portfolio.Multi_Portfolio.repository.ProfileRepository;
 
+import io.micrometer.observation.annotation.Observed;
+
+/**
+ * Profile storage. The profile collection holds a compact core document: header fields,
+ * selectedTemplate, the short string lists and a sectionCounts map. Every list of section
+ * items lives in profile_sections, one document per username and section, and is only read
+ * when a caller asks for it. Profiles written before the split keep their embedded sections
+ * until ProfileSectionMigrator (or their next save) moves them out; reads handle both layouts.
+ * Every write publishes a ProfileChangedEvent for the derived views (summaries, search).
+ */
 @Service
+@Observed(name = "portfolio.service")
 public class ProfileServices {
+    private static final Logger logger = LoggerFactory.getLogger(ProfileServices.class);
+
+    public static final String PROFILE_COLLECTION = "profile";
+    public static final String SECTIONS_COLLECTION = "profile_sections";
+
+    // Item count per split section on the core document; 0 means an empty list, absent means null
+    public static final String SECTION_COUNTS_FIELD = "sectionCounts";
+
+    // Profile fields stored in profile_sections
+    public static final List<String> SPLIT_SECTIONS = List.of(
+            "certifications", "education", "internships", "projects", "publications", "conferences",
+            "achievements", "medicalExperience", "engineeringExperiences", "experience");
+
+    // Section list and photo list of each section, keyed by the medical portfolio photo type
+    public static final Map<String, String[]> SECTION_PHOTO_FIELDS = new LinkedHashMap<>();
+    static {
+        SECTION_PHOTO_FIELDS.put("certification", new String[] { "certifications", "certPhotos" });
+        SECTION_PHOTO_FIELDS.put("education", new String[] { "education", "eduPhotos" });
+        SECTION_PHOTO_FIELDS.put("internship", new String[] { "internships", "internshipPhotos" });
+        SECTION_PHOTO_FIELDS.put("project", new String[] { "projects", "projectPhotos" });
+        SECTION_PHOTO_FIELDS.put("publication", new String[] { "publications", "publicationPhotos" });
+        SECTION_PHOTO_FIELDS.put("conference", new String[] { "conferences", "conferencePhotos" });
+        SECTION_PHOTO_FIELDS.put("achievement", new String[] { "achievements", "achievementPhotos" });
+        SECTION_PHOTO_FIELDS.put("medical-experience", new String[] { "medicalExperience", "medicalExpPhotos" });
+        SECTION_PHOTO_FIELDS.put("engineering-experience", new String[] { "engineeringExperiences", "enggExpPhotos" });
+    }
+
     @Autowired
     private ProfileRepository repository;
 
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     // Create or Update profile for a specific user
     public Profile createOrUpdateProfile(Profile profile, String username) {
         // Set the username to link with User schema
         profile.setUsername(username);
         
         // Check if profile already exists for this user
-        Profile existingProfile = repository.findByUsername(username);
+        Profile existingProfile = findCore(username);
         if (existingProfile != null) {
             // Update existing profile
             profile.setUserId(existingProfile.getUserId()); // Keep the same userId
-            return repository.save(profile);
         } else {
             // Create new profile
             if (profile.getUserId() == null || profile.getUserId().isEmpty()) {
                 profile.setUserId(UUID.randomUUID().toString());
             }
-            return repository.save(profile);
         }
+        save(profile);
+        eventPublisher.publishEvent(new ProfileChangedEvent(username, existingProfile, profile, true));
+        return profile;
     }
 
-    // Get profile by username
+    // Get profile by username, with every section
     public Optional<Profile> getProfileByUsername(String username) {
-        Profile profile = repository.findByUsername(username);
-        return Optional.ofNullable(profile);
+        return getProfileByUsername(username, SPLIT_SECTIONS);
+    }
+
+    // Get profile by username with only the given sections loaded (the others are null);
+    // an empty collection reads just the core document
+    public Optional<Profile> getProfileByUsername(String username, Collection<String> sections) {
+        Query query = new Query(where("username").is(username));
+        // Legacy profiles still embed their sections, don't pull the ones nobody asked for
+        SPLIT_SECTIONS.stream().filter(section -> !sections.contains(section)).forEach(query.fields()::exclude);
+
+        Document core = mongoTemplate.findOne(query, Document.class, PROFILE_COLLECTION);
+        if (core == null) {
+            return Optional.empty();
+        }
+        Document counts = (Document) core.remove(SECTION_COUNTS_FIELD);
+        if (counts != null) {
+            List<String> ids = new ArrayList<>();
+            for (String section : SPLIT_SECTIONS) {
+                if (!sections.contains(section) || !counts.containsKey(section)) {
+                    continue;
+                }
+                if (counts.getInteger(section, 0) == 0) {
+                    core.put(section, new ArrayList<>());
+                } else {
+                    ids.add(sectionId(username, section));
+                }
+            }
+            if (!ids.isEmpty()) {
+                for (Document section : mongoTemplate.find(new Query(where("_id").in(ids)), Document.class, SECTIONS_COLLECTION)) {
+                    core.put(section.getString("section"), section.get("items"));
+                }
+            }
+        }
+        return Optional.of(toProfile(core));
     }
 
     // Update profile for a specific user  
     public Profile updateProfile(Profile profileUpdates, String username) {
-        Profile existingProfile = repository.findByUsername(username);
+        Profile existingProfile = findCore(username);
         if (existingProfile != null) {
             // Ensure the username is preserved and linked to User schema
             profileUpdates.setUsername(username);
             // Keep the same userId for the existing profile
-            if (existingProfile.getUserId() != null) {
-                profileUpdates.setUserId(existingProfile.getUserId());
-            }
+            profileUpdates.setUserId(existingProfile.getUserId());
             // Save the updated profile
-            return repository.save(profileUpdates);
+            save(profileUpdates);
+            eventPublisher.publishEvent(new ProfileChangedEvent(username, existingProfile, profileUpdates, true));
+            return profileUpdates;
         }
         return null;
     }
 
+    // Point the profile photo at a new URL without rewriting the rest of the profile;
+    // creates a profile holding just the photo if the user has none yet
+    public void updateProfilePhoto(String username, String photoUrl) {
+        Document previous = mongoTemplate.findAndModify(coreQuery(username),
+                new Update().set("profilePhoto", photoUrl), Document.class, PROFILE_COLLECTION);
+        if (previous == null) {
+            Profile newProfile = new Profile();
+            newProfile.setProfilePhoto(photoUrl);
+            createOrUpdateProfile(newProfile, username);
+            return;
+        }
+        Profile after = toProfile(previous);
+        after.setProfilePhoto(photoUrl);
+        eventPublisher.publishEvent(new ProfileChangedEvent(username, toProfile(previous), after, false));
+    }
+
     // Delete profile for a specific user
     public boolean deleteProfile(String username) {
-        Profile existingProfile = repository.findByUsername(username);
-        if (existingProfile != null) {
-            repository.delete(existingProfile);
+        Document previous = mongoTemplate.findAndRemove(coreQuery(username), Document.class, PROFILE_COLLECTION);
+        if (previous != null) {
+            mongoTemplate.remove(new Query(where("username").is(username)), SECTIONS_COLLECTION);
+            eventPublisher.publishEvent(new ProfileChangedEvent(username, toProfile(previous), null, false));
             return true;
         }
         return false;
@@ -71,14 +187,55 @@ public class ProfileServices {
         return repository.existsByUsername(username);
     }
 
-    // Update only the selected template for a specific user
+    // Update only the selected template for a specific user; returns the profile without sections
     public Profile updateSelectedTemplate(String username, String selectedTemplate) {
-        Profile existingProfile = repository.findByUsername(username);
-        if (existingProfile != null) {
-            existingProfile.setSelectedTemplate(selectedTemplate);
-            return repository.save(existingProfile);
+        Document previous = mongoTemplate.findAndModify(coreQuery(username),
+                new Update().set("selectedTemplate", selectedTemplate), Document.class, PROFILE_COLLECTION);
+        if (previous == null) {
+            return null;
+        }
+        Profile after = toProfile(previous);
+        after.setSelectedTemplate(selectedTemplate);
+        eventPublisher.publishEvent(new ProfileChangedEvent(username, toProfile(previous), after, false));
+        return after;
+    }
+
+    // Atomically append a photo URL to one item of a section with a single $push,
+    // instead of the client re-sending the whole profile. Returns false if there is no such item.
+    public boolean attachSectionPhoto(String username, String photoType, int itemIndex, String photoUrl) {
+        String[] fields = SECTION_PHOTO_FIELDS.get(photoType);
+        if (fields == null) {
+            throw new IllegalArgumentException("Invalid photo type: " + photoType);
+        }
+        if (itemIndex < 0) {
+            throw new IllegalArgumentException("Item index must not be negative");
+        }
+
+        String item = "items." + itemIndex;
+        UpdateResult result = mongoTemplate.updateFirst(
+                query(where("_id").is(sectionId(username, fields[0])).and(item).exists(true)),
+                new Update().push(item + "." + fields[1], photoUrl),
+                SECTIONS_COLLECTION);
+        if (result.getMatchedCount() > 0) {
+            return true;
+        }
+
+        // Not split yet: the section is still embedded in the profile document
+        // A document claimed by splitLegacySections is excluded, its embedded lists are about to be dropped
+        String legacyItem = fields[0] + "." + itemIndex;
+        result = mongoTemplate.updateFirst(
+                query(where("username").is(username).and(legacyItem).exists(true).and(SECTION_COUNTS_FIELD).exists(false)),
+                new Update().push(legacyItem + "." + fields[1], photoUrl),
+                PROFILE_COLLECTION);
+        return result.getMatchedCount() > 0;
+    }
+
+    // Tell listeners that a migration rewrote media URLs of the stored profile in place
+    public void publishRewritten(String username) {
+        Profile core = findCore(username);
+        if (core != null) {
+            eventPublisher.publishEvent(new ProfileChangedEvent(username, core, core, false));
         }
-        return null;
     }
 
     // Legacy method for backward compatibility
@@ -88,6 +245,164 @@ public class ProfileServices {
         if (profile.getUserId() == null || profile.getUserId().isEmpty()) {
             profile.setUserId(UUID.randomUUID().toString());
         }
-        return repository.save(profile);
+        save(profile);
+        if (profile.getUsername() != null) {
+            eventPublisher.publishEvent(new ProfileChangedEvent(profile.getUsername(), null, profile, true));
+        }
+        return profile;
+    }
+
+    // ======================================
+    // SPLIT STORAGE
+    // ======================================
+
+    /**
+     * Runs once the server is up rather than during context refresh, so startup does not wait on Mongo
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        try {
+            // Deletes and the storage migration look sections up by owner
+            mongoTemplate.indexOps(SECTIONS_COLLECTION).createIndex(new Index().on("username", Sort.Direction.ASC));
+        } catch (Exception e) {
+            logger.warn("Could not ensure profile section indexes: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Write the sections first and the core document last, so a core document never counts
+     * items that are not stored yet. Sections that became null or empty are removed.
+     */
+    private Profile save(Profile profile) {
+        Document core = new Document();
+        mongoTemplate.getConverter().write(profile, core);
+
+        String username = profile.getUsername();
+        if (username == null) {
+            // Nothing to key the sections by, keep them embedded
+            mongoTemplate.save(core, PROFILE_COLLECTION);
+            return profile;
+        }
+
+        Document counts = new Document();
+        BulkOperations sections = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SECTIONS_COLLECTION);
+        for (String section : SPLIT_SECTIONS) {
+            Object items = core.remove(section);
+            Query sectionQuery = new Query(where("_id").is(sectionId(username, section)));
+            if (items instanceof List<?> list && !list.isEmpty()) {
+                sections.upsert(sectionQuery, new Update()
+                        .set("username", username)
+                        .set("section", section)
+                        .set("items", list));
+                counts.put(section, list.size());
+            } else {
+                sections.remove(sectionQuery);
+                if (items != null) {
+                    counts.put(section, 0);
+                }
+            }
+        }
+        sections.execute();
+
+        core.put(SECTION_COUNTS_FIELD, counts);
+        mongoTemplate.save(core, PROFILE_COLLECTION);
+        return profile;
+    }
+
+    /**
+     * Move the embedded sections of a legacy core document into profile_sections, in three steps
+     * so a concurrent save always wins:
+     * 1. claim the document by setting sectionCounts, guarded on the sections read; reads keep
+     *    serving the embedded lists until the section documents exist, and legacy photo pushes stop
+     * 2. insert the section documents, never overwriting ones a save has written meanwhile
+     * 3. drop the embedded lists, guarded on them being unchanged, i.e. on no save having replaced
+     *    the document; otherwise remove inserted section documents the save did not keep
+     * A document left claimed by an interrupted run is finished by the next one. Returns false if
+     * a save got there first.
+     */
+    public boolean splitLegacySections(Document core) {
+        String username = core.getString("username");
+        if (username == null) {
+            return false;
+        }
+
+        Criteria unchanged = where("_id").is(core.get("_id"));
+        Update release = new Update();
+        Document counts = new Document();
+        Map<String, List<?>> lists = new LinkedHashMap<>();
+        for (String section : SPLIT_SECTIONS) {
+            if (!core.containsKey(section)) {
+                continue;
+            }
+            Object items = core.get(section);
+            unchanged = unchanged.and(section).is(items);
+            release.unset(section);
+            if (items instanceof List<?> list && !list.isEmpty()) {
+                lists.put(section, list);
+                counts.put(section, list.size());
+            } else if (items != null) {
+                counts.put(section, 0);
+            }
+        }
+
+        if (!core.containsKey(SECTION_COUNTS_FIELD)) {
+            Query claim = new Query(where(SECTION_COUNTS_FIELD).exists(false).andOperator(unchanged));
+            if (mongoTemplate.updateFirst(claim, new Update().set(SECTION_COUNTS_FIELD, counts), PROFILE_COLLECTION)
+                    .getMatchedCount() == 0) {
+                return false;
+            }
+        }
+
+        if (!lists.isEmpty()) {
+            BulkOperations sections = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SECTIONS_COLLECTION);
+            lists.forEach((section, list) -> sections.upsert(new Query(where("_id").is(sectionId(username, section))),
+                    new Update()
+                            .setOnInsert("username", username)
+                            .setOnInsert("section", section)
+                            .setOnInsert("items", list)));
+            sections.execute();
+        }
+
+        if (release.getUpdateObject().isEmpty()
+                || mongoTemplate.updateFirst(new Query(unchanged), release, PROFILE_COLLECTION).getMatchedCount() > 0) {
+            return true;
+        }
+
+        // A save replaced the document; a section it removed before step 2 was re-inserted stale
+        Query current = new Query(where("_id").is(core.get("_id")));
+        current.fields().include(SECTION_COUNTS_FIELD);
+        Document saved = mongoTemplate.findOne(current, Document.class, PROFILE_COLLECTION);
+        Document savedCounts = saved == null ? null : saved.get(SECTION_COUNTS_FIELD, Document.class);
+        lists.forEach((section, list) -> {
+            if (savedCounts == null || savedCounts.getInteger(section, 0) == 0) {
+                mongoTemplate.remove(new Query(where("_id").is(sectionId(username, section)).and("items").is(list)),
+                        SECTIONS_COLLECTION);
+            }
+        });
+        return false;
+    }
+
+    /**
+     * Query for a user's core document, leaving out sections still embedded in legacy documents
+     */
+    private static Query coreQuery(String username) {
+        Query query = new Query(where("username").is(username));
+        SPLIT_SECTIONS.forEach(query.fields()::exclude);
+        return query;
+    }
+
+    private Profile findCore(String username) {
+        Document core = mongoTemplate.findOne(coreQuery(username), Document.class, PROFILE_COLLECTION);
+        return core != null ? toProfile(core) : null;
+    }
+
+    private Profile toProfile(Document core) {
+        Document copy = new Document(core);
+        copy.remove(SECTION_COUNTS_FIELD);
+        return mongoTemplate.getConverter().read(Profile.class, copy);
+    }
+
+    static String sectionId(String username, String section) {
+        return username + "/" + section;
     }
 }
\ No newline at end of file
@@ -0,0 +1,303 @@
+package com.portfolio.Multi_Portfolio.service;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.portfolio.Multi_Portfolio.model.Profile;
+import com.portfolio.Multi_Portfolio.model.ProfileSummary;
+import com.portfolio.Multi_Portfolio.repository.ProfileSummaryRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Maintains profile_summaries, the card-sized projection listings read from. Each profile
+ * write replaces its summary (from ProfileChangedEvent); a failed update never fails the write,
+ * it is retried from the stored profile. A bulk rebuild streams the core profile documents and
+ * runs at startup whenever the two collections disagree in size.
+ */
+@Service
+public class ProfileSummaryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProfileSummaryService.class);
+
+    private static final int BULK_BATCH_SIZE = 500;
+
+    // Core fields a summary is built from; sections are never read
+    private static final List<String> SUMMARY_SOURCE_FIELDS = List.of(
+            "username", "fullName", "professionalTitle", "profileType", "location",
+            "profilePhoto", "selectedTemplate", "skills");
+
+    // Directory order; username breaks ties between equal names so every position is unique
+    private static final Sort DIRECTORY_SORT = Sort.by("nameKey", "_id");
+
+    // Separates the two sort keys inside a cursor; cannot occur in a trimmed name or a username
+    private static final char CURSOR_SEPARATOR = '\u0000';
+
+    /**
+     * One directory page; nextCursor is null on the last page
+     */
+    public record DirectoryPage(List<ProfileSummary> profiles, String nextCursor) {
+    }
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ProfileSummaryRepository repository;
+
+    @Value("${app.profile-summary.rebuild-on-startup:true}")
+    private boolean rebuildOnStartup;
+
+    // Usernames whose summary update failed, retried by retryFailed
+    private final Set<String> failed = ConcurrentHashMap.newKeySet();
+
+    private final Counter updates;
+    private final Counter updateFailures;
+    private final Timer rebuildDuration;
+
+    public ProfileSummaryService(MeterRegistry meterRegistry) {
+        this.updates = meterRegistry.counter("profile.summary.updates");
+        this.updateFailures = meterRegistry.counter("profile.summary.update.failures");
+        this.rebuildDuration = meterRegistry.timer("profile.summary.rebuild.duration");
+    }
+
+    @EventListener
+    public void onProfileChanged(ProfileChangedEvent event) {
+        try {
+            if (event.after() == null) {
+                repository.deleteById(event.username());
+            } else {
+                repository.save(ProfileSummary.of(event.after()));
+            }
+            updates.increment();
+        } catch (Exception e) {
+            // The profile write itself succeeded; the summary is rebuilt from it later
+            updateFailures.increment();
+            failed.add(event.username());
+            logger.warn("Could not update the summary of {}, retrying: {}", event.username(), e.getMessage());
+        }
+    }
+
+    /**
+     * Rebuild the summaries whose event-driven update failed from the stored profile
+     */
+    @Scheduled(fixedDelayString = "${app.profile-summary.retry-interval:1m}")
+    public void retryFailed() {
+        for (String username : List.copyOf(failed)) {
+            failed.remove(username);
+            try {
+                Query query = new Query(where("username").is(username));
+                SUMMARY_SOURCE_FIELDS.forEach(query.fields()::include);
+                Document document = mongoTemplate.findOne(query, Document.class, ProfileServices.PROFILE_COLLECTION);
+                if (document == null) {
+                    repository.deleteById(username);
+                } else {
+                    repository.save(ProfileSummary.of(mongoTemplate.getConverter().read(Profile.class, document)));
+                }
+                updates.increment();
+            } catch (Exception e) {
+                failed.add(username);
+                logger.warn("Retrying the summary of {} failed again: {}", username, e.getMessage());
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (!rebuildOnStartup) {
+            return;
+        }
+        Thread worker = new Thread(() -> {
+            try {
+                long profiles = mongoTemplate.getCollection(ProfileServices.PROFILE_COLLECTION).estimatedDocumentCount();
+                // Summaries written before the directory keys existed cannot be filtered or paged
+                boolean missingKeys = mongoTemplate.exists(new Query(where("nameKey").exists(false)), ProfileSummary.class);
+                if (repository.count() != profiles || missingKeys) {
+                    rebuild();
+                }
+            } catch (Exception e) {
+                logger.error("Profile summary rebuild failed, it will be retried on next startup", e);
+            }
+        }, "profile-summary-rebuild");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        try {
+            // One index per filter, each ending in the directory sort so a page is a single index range
+            IndexOperations indexes = mongoTemplate.indexOps(ProfileSummary.class);
+            indexes.createIndex(new Index().on("nameKey", Sort.Direction.ASC).on("_id", Sort.Direction.ASC));
+            for (String filter : List.of("profileType", "selectedTemplate", "locationKey", "skillKeys")) {
+                indexes.createIndex(new Index().on(filter, Sort.Direction.ASC)
+                        .on("nameKey", Sort.Direction.ASC).on("_id", Sort.Direction.ASC));
+            }
+        } catch (Exception e) {
+            logger.warn("Could not ensure profile summary indexes: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Rebuild every summary from the profile collection and drop summaries of deleted profiles.
+     * Summaries written by concurrent profile saves are newer than the rebuild start and survive.
+     */
+    public int rebuild() {
+        return rebuildDuration.record(() -> {
+            Instant start = Instant.now();
+            Query query = new Query(where("username").exists(true));
+            SUMMARY_SOURCE_FIELDS.forEach(query.fields()::include);
+
+            int rebuilt = 0;
+            int pending = 0;
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ProfileSummary.class);
+            try (Stream<Document> profiles = mongoTemplate.stream(query, Document.class, ProfileServices.PROFILE_COLLECTION)) {
+                for (Document document : (Iterable<Document>) profiles::iterator) {
+                    ProfileSummary summary = ProfileSummary.of(mongoTemplate.getConverter().read(Profile.class, document));
+                    // Only replace summaries that are older than this rebuild
+                    bulk.replaceOne(new Query(where("_id").is(summary.getUsername()).and("updatedAt").not().gte(start)),
+                            summary, FindAndReplaceOptions.options().upsert());
+                    rebuilt++;
+                    if (++pending == BULK_BATCH_SIZE) {
+                        executeIgnoringDuplicates(bulk);
+                        bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ProfileSummary.class);
+                        pending = 0;
+                    }
+                }
+            }
+            if (pending > 0) {
+                executeIgnoringDuplicates(bulk);
+            }
+
+            long removed = mongoTemplate.remove(new Query(where("updatedAt").lt(start)), ProfileSummary.class).getDeletedCount();
+            logger.info("Profile summary rebuild finished: {} summaries written, {} stale removed", rebuilt, removed);
+            return rebuilt;
+        });
+    }
+
+    /**
+     * An upsert whose guard did not match because a newer summary exists collides on _id; that summary wins
+     */
+    private void executeIgnoringDuplicates(BulkOperations bulk) {
+        try {
+            bulk.execute();
+        } catch (BulkOperationException e) {
+            boolean onlyDuplicates = e.getErrors().stream().allMatch(error -> error.getCode() == 11000);
+            if (!onlyDuplicates) {
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * A directory page in name order, optionally filtered; null or blank filters are ignored.
+     * Paging continues after the position encoded in the cursor instead of skipping rows, so
+     * a late page costs the same as the first. A cursor is only meaningful with the filters
+     * it was issued for.
+     *
+     * @throws IllegalArgumentException if the cursor was not issued by this method
+     */
+    public DirectoryPage directory(String profileType, String selectedTemplate, String location, String skill,
+            String cursor, int limit) {
+        Criteria criteria = new Criteria();
+        List<Criteria> filters = new ArrayList<>();
+        if (profileType != null && !profileType.isBlank()) {
+            filters.add(where("profileType").is(profileType));
+        }
+        if (selectedTemplate != null && !selectedTemplate.isBlank()) {
+            filters.add(where("selectedTemplate").is(selectedTemplate));
+        }
+        if (location != null && !location.isBlank()) {
+            filters.add(where("locationKey").is(ProfileSummary.key(location)));
+        }
+        if (skill != null && !skill.isBlank()) {
+            filters.add(where("skillKeys").is(ProfileSummary.key(skill)));
+        }
+        if (cursor != null && !cursor.isBlank()) {
+            String[] position = decodeCursor(cursor);
+            filters.add(new Criteria().orOperator(
+                    where("nameKey").gt(position[0]),
+                    where("nameKey").is(position[0]).and("_id").gt(position[1])));
+        }
+        if (!filters.isEmpty()) {
+            criteria.andOperator(filters);
+        }
+
+        // One extra row tells whether another page exists
+        Query query = new Query(criteria).with(DIRECTORY_SORT).limit(limit + 1);
+        List<ProfileSummary> profiles = mongoTemplate.find(query, ProfileSummary.class);
+        if (profiles.size() <= limit) {
+            return new DirectoryPage(profiles, null);
+        }
+        profiles = profiles.subList(0, limit);
+        return new DirectoryPage(profiles, encodeCursor(profiles.get(limit - 1)));
+    }
+
+    private static String encodeCursor(ProfileSummary last) {
+        String position = last.getNameKey() + CURSOR_SEPARATOR + last.getUsername();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor) {
+        String position;
+        try {
+            position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        int separator = position.lastIndexOf(CURSOR_SEPARATOR);
+        if (separator < 0 || separator == position.length() - 1) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return new String[] { position.substring(0, separator), position.substring(separator + 1) };
+    }
+
+    /**
+     * Summaries of the given users in the order asked for; unknown usernames are skipped
+     */
+    public List<ProfileSummary> findAll(Collection<String> usernames) {
+        Map<String, ProfileSummary> byUsername = repository.findAllById(usernames).stream()
+                .collect(Collectors.toMap(ProfileSummary::getUsername, Function.identity()));
+        List<ProfileSummary> ordered = new ArrayList<>();
+        for (String username : usernames) {
+            ProfileSummary summary = byUsername.get(username);
+            if (summary != null) {
+                ordered.add(summary);
+            }
+        }
+        return ordered;
+    }
+}
@@ -0,0 +1,285 @@
+package com.portfolio.Multi_Portfolio.service;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.portfolio.Multi_Portfolio.model.ProfileViewDay;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Public profile view analytics. A view only touches memory: a LongAdder and a HyperLogLog of
+ * visitors for the profile and day. Every flush interval the buffered days are written to
+ * profile_view_stats in one unordered bulk upsert incrementing views, then the sketches are
+ * merged with updates guarded on the stored sketch, so flushes of several instances never
+ * overwrite each other's visitors.
+ * A failed flush puts its buffers back for the next one; views buffered when the process dies
+ * without a shutdown are lost.
+ */
+@Service
+public class ProfileViewService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProfileViewService.class);
+
+    public static final int MAX_DAYS = 365;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    // Buffered views by ProfileViewDay id; recording shares the read lock, a flush swaps the map under the write lock
+    private volatile Map<String, Bucket> pending = new ConcurrentHashMap<>();
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+
+    private final Counter viewsRecorded;
+    private final Counter flushFailures;
+    private final Timer flushDuration;
+
+    public ProfileViewService(MeterRegistry meterRegistry) {
+        this.viewsRecorded = meterRegistry.counter("profile.views.recorded");
+        this.flushFailures = meterRegistry.counter("profile.views.flush.failures");
+        this.flushDuration = meterRegistry.timer("profile.views.flush.duration");
+        Gauge.builder("profile.views.pending", this, service -> service.pending.size()).register(meterRegistry);
+    }
+
+    private static final class Bucket {
+        private final String username;
+        private final String day;
+        private final LongAdder views = new LongAdder();
+        private final HyperLogLog visitors = new HyperLogLog();
+
+        Bucket(String username, String day) {
+            this.username = username;
+            this.day = day;
+        }
+    }
+
+    public record DailyViews(String day, long views, long uniqueVisitors) {
+    }
+
+    public record ViewStats(List<DailyViews> days, long totalViews, long uniqueVisitors) {
+    }
+
+    /**
+     * Count a view of username's profile by visitorId (any stable string for the visitor)
+     */
+    public void recordView(String username, String visitorId) {
+        String day = today();
+        swapLock.readLock().lock();
+        try {
+            Bucket bucket = pending.computeIfAbsent(ProfileViewDay.id(username, day), id -> new Bucket(username, day));
+            bucket.views.increment();
+            bucket.visitors.add(visitorId);
+        } finally {
+            swapLock.readLock().unlock();
+        }
+        viewsRecorded.increment();
+    }
+
+    @Scheduled(fixedDelayString = "${app.profile-views.flush-interval:30s}")
+    public void flush() {
+        Map<String, Bucket> batch;
+        swapLock.writeLock().lock();
+        try {
+            batch = pending;
+            if (batch.isEmpty()) {
+                return;
+            }
+            pending = new ConcurrentHashMap<>();
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+
+        List<String> ids = new ArrayList<>(batch.keySet());
+        flushDuration.record(() -> {
+            List<String> written = writeViews(batch, ids);
+            if (!written.isEmpty()) {
+                writeVisitors(batch, written);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        try {
+            // Owner stats read a user's days in order
+            mongoTemplate.indexOps(ProfileViewDay.class)
+                    .createIndex(new Index().on("username", Sort.Direction.ASC).on("day", Sort.Direction.ASC));
+        } catch (Exception e) {
+            logger.warn("Could not ensure profile view indexes: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * The last days days of username's views, oldest first and including days without views,
+     * with unflushed views counted. uniqueVisitors of the total is over the whole range, not a sum.
+     */
+    public ViewStats stats(String username, int days) {
+        LocalDate to = LocalDate.now(ZoneOffset.UTC);
+        LocalDate from = to.minusDays(days - 1L);
+        Query query = new Query(where("username").is(username).and("day").gte(from.toString()).lte(to.toString()));
+        Map<String, ProfileViewDay> stored = mongoTemplate.find(query, ProfileViewDay.class).stream()
+                .collect(Collectors.toMap(ProfileViewDay::getDay, Function.identity()));
+
+        List<DailyViews> daily = new ArrayList<>();
+        HyperLogLog range = new HyperLogLog();
+        long totalViews = 0;
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            String day = date.toString();
+            ProfileViewDay saved = stored.get(day);
+            HyperLogLog visitors = HyperLogLog.of(saved == null ? null : saved.getVisitorSketch());
+            long views = saved == null ? 0 : saved.getViews();
+            Bucket buffered = pending.get(ProfileViewDay.id(username, day));
+            if (buffered != null) {
+                views += buffered.views.sum();
+                visitors.merge(buffered.visitors);
+            }
+            range.merge(visitors);
+            totalViews += views;
+            daily.add(new DailyViews(day, views, views == 0 ? 0 : visitors.estimate()));
+        }
+        return new ViewStats(daily, totalViews, totalViews == 0 ? 0 : range.estimate());
+    }
+
+    /**
+     * One upsert per bucket, in ids order so bulk errors can be traced back to their bucket.
+     * Returns the ids whose views were stored; failed buckets are put back.
+     */
+    private List<String> writeViews(Map<String, Bucket> batch, List<String> ids) {
+        try {
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ProfileViewDay.class);
+            for (String id : ids) {
+                Bucket bucket = batch.get(id);
+                bulk.upsert(new Query(where("_id").is(id)), new Update()
+                        .inc("views", bucket.views.sum())
+                        .set("username", bucket.username)
+                        .set("day", bucket.day));
+            }
+            bulk.execute();
+            return ids;
+        } catch (BulkOperationException e) {
+            // The other upserts were applied; putting them back would count their views twice
+            flushFailures.increment();
+            logger.warn("{} of {} profile view buckets failed to flush, retrying on the next flush: {}",
+                    e.getErrors().size(), ids.size(), e.getMessage());
+            Map<String, Bucket> failed = new ConcurrentHashMap<>();
+            e.getErrors().forEach(error -> {
+                String id = ids.get(error.getIndex());
+                failed.put(id, batch.get(id));
+            });
+            requeue(failed);
+            return ids.stream().filter(id -> !failed.containsKey(id)).toList();
+        } catch (Exception e) {
+            flushFailures.increment();
+            logger.warn("Flushing {} profile view buckets failed, retrying on the next flush: {}", ids.size(), e.getMessage());
+            requeue(batch);
+            return List.of();
+        }
+    }
+
+    /**
+     * Merge the buffered visitors into the stored sketches. Sketches merge by register maximum,
+     * which Mongo cannot do, so each one is merged here and written back guarded on the sketch
+     * read; sketches another instance wrote meanwhile are read and merged again. Failed merges
+     * put only the visitors back, their views are already stored.
+     */
+    private void writeVisitors(Map<String, Bucket> batch, List<String> ids) {
+        List<String> remaining = ids;
+        try {
+            while (!remaining.isEmpty()) {
+                Query existing = new Query(where("_id").in(remaining));
+                existing.fields().include("visitorSketch");
+                Map<String, byte[]> storedSketches = mongoTemplate.find(existing, ProfileViewDay.class).stream()
+                        .filter(day -> day.getVisitorSketch() != null)
+                        .collect(Collectors.toMap(ProfileViewDay::getId, ProfileViewDay::getVisitorSketch));
+
+                BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ProfileViewDay.class);
+                List<String> merged = new ArrayList<>();
+                for (String id : remaining) {
+                    byte[] stored = storedSketches.get(id);
+                    HyperLogLog visitors = HyperLogLog.of(stored);
+                    visitors.merge(batch.get(id).visitors);
+                    byte[] sketch = visitors.toByteArray();
+                    if (stored != null && Arrays.equals(stored, sketch)) {
+                        continue; // Every buffered visitor is already counted
+                    }
+                    Criteria guard = where("_id").is(id);
+                    guard = stored == null ? guard.and("visitorSketch").exists(false) : guard.and("visitorSketch").is(stored);
+                    bulk.updateOne(new Query(guard), new Update()
+                            .set("visitorSketch", sketch)
+                            .set("uniqueVisitors", visitors.estimate()));
+                    merged.add(id);
+                }
+                if (merged.isEmpty() || bulk.execute().getMatchedCount() == merged.size()) {
+                    return;
+                }
+                remaining = merged;
+            }
+        } catch (Exception e) {
+            flushFailures.increment();
+            logger.warn("Merging visitors of {} profile view buckets failed, retrying on the next flush: {}",
+                    remaining.size(), e.getMessage());
+            Map<String, Bucket> visitorsOnly = new ConcurrentHashMap<>();
+            remaining.forEach(id -> {
+                Bucket bucket = batch.get(id);
+                Bucket copy = new Bucket(bucket.username, bucket.day);
+                copy.visitors.merge(bucket.visitors);
+                visitorsOnly.put(id, copy);
+            });
+            requeue(visitorsOnly);
+        }
+    }
+
+    private void requeue(Map<String, Bucket> batch) {
+        swapLock.readLock().lock();
+        try {
+            batch.forEach((id, failed) -> {
+                Bucket bucket = pending.computeIfAbsent(id, key -> new Bucket(failed.username, failed.day));
+                bucket.views.add(failed.views.sum());
+                bucket.visitors.merge(failed.visitors);
+            });
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    private static String today() {
+        return LocalDate.now(ZoneOffset.UTC).toString();
+    }
+}
@@ -0,0 +1,408 @@
+package com.portfolio.Multi_Portfolio.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import software.amazon.awssdk.awscore.AwsRequestOverrideConfiguration;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.core.exception.SdkClientException;
+
+/**
+ * Resilience layer around S3 calls: per-operation timeouts, jittered retries for idempotent
+ * operations, a circuit breaker that fails fast while S3 is degraded, and hedged requests for
+ * idempotent reads. Circuit state is exposed as the "s3Resilience" health component and as metrics;
+ * an open circuit reports DEGRADED rather than DOWN so orchestrators do not restart the instance.
+ */
+@Service
+@ConditionalOnProperty(name = "aws.s3.enabled", havingValue = "true", matchIfMissing = false)
+public class S3Resilience implements HealthIndicator {
+
+    private static final Logger logger = LoggerFactory.getLogger(S3Resilience.class);
+
+    public static final Status DEGRADED = new Status("DEGRADED", "S3 circuit open, media unavailable");
+
+    @Value("${app.storage.resilience.read-timeout:3s}")
+    private Duration readTimeout;
+
+    @Value("${app.storage.resilience.write-timeout:30s}")
+    private Duration writeTimeout;
+
+    @Value("${app.storage.resilience.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${app.storage.resilience.base-backoff:100ms}")
+    private Duration baseBackoff;
+
+    @Value("${app.storage.resilience.max-backoff:2s}")
+    private Duration maxBackoff;
+
+    @Value("${app.storage.resilience.hedge-delay:200ms}")
+    private Duration hedgeDelay;
+
+    @Value("${app.storage.resilience.hedge-threads:16}")
+    private int hedgeThreads;
+
+    @Value("${app.storage.resilience.circuit.window-size:20}")
+    private int windowSize;
+
+    @Value("${app.storage.resilience.circuit.minimum-calls:10}")
+    private int minimumCalls;
+
+    @Value("${app.storage.resilience.circuit.failure-rate-threshold:0.5}")
+    private double failureRateThreshold;
+
+    @Value("${app.storage.resilience.circuit.open-duration:30s}")
+    private Duration openDuration;
+
+    @Value("${app.storage.resilience.circuit.half-open-calls:3}")
+    private int halfOpenCalls;
+
+    private final MeterRegistry meterRegistry;
+    private final ObservationRegistry observationRegistry;
+    private final AtomicInteger stateGauge = new AtomicInteger();
+
+    private CircuitBreaker circuitBreaker;
+    private ThreadPoolExecutor hedgeExecutor;
+    private AwsRequestOverrideConfiguration readOverride;
+    private AwsRequestOverrideConfiguration writeOverride;
+
+    /**
+     * Thrown when S3 is considered unavailable and the call was not attempted
+     */
+    public static class StorageUnavailableException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        public StorageUnavailableException(String message) {
+            super(message);
+        }
+    }
+
+    public S3Resilience(MeterRegistry meterRegistry, ObservationRegistry observationRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.observationRegistry = observationRegistry;
+        meterRegistry.gauge("storage.s3.circuit.state", stateGauge);
+    }
+
+    @PostConstruct
+    public void init() {
+        circuitBreaker = new CircuitBreaker();
+
+        // Timeouts are enforced by the SDK on each attempt; retries are ours, so the SDK's are disabled in S3Config
+        readOverride = AwsRequestOverrideConfiguration.builder()
+                .apiCallAttemptTimeout(readTimeout)
+                .apiCallTimeout(readTimeout)
+                .build();
+        writeOverride = AwsRequestOverrideConfiguration.builder()
+                .apiCallAttemptTimeout(writeTimeout)
+                .apiCallTimeout(writeTimeout)
+                .build();
+
+        AtomicInteger threadCount = new AtomicInteger();
+        hedgeExecutor = new ThreadPoolExecutor(0, hedgeThreads, 60, TimeUnit.SECONDS, new SynchronousQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "s3-hedge-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hedgeExecutor.shutdownNow();
+    }
+
+    /**
+     * Timeout override for reads (head, list)
+     */
+    public AwsRequestOverrideConfiguration readTimeout() {
+        return readOverride;
+    }
+
+    /**
+     * Timeout override for writes and deletes
+     */
+    public AwsRequestOverrideConfiguration writeTimeout() {
+        return writeOverride;
+    }
+
+    /**
+     * Run a call through the circuit breaker. Idempotent calls are retried with jittered
+     * exponential backoff on transient failures; others are attempted once.
+     */
+    public <T> T execute(String operation, boolean idempotent, Callable<T> call) {
+        // storage.operations (timer and span) covers the whole call including retries, storage.s3.calls each attempt
+        Observation observation = Observation.createNotStarted("storage.operations", observationRegistry)
+                .contextualName("s3 " + operation)
+                .lowCardinalityKeyValue("backend", "s3")
+                .lowCardinalityKeyValue("operation", operation)
+                .start();
+        String outcome = "failure";
+        Observation.Scope scope = observation.openScope();
+        try {
+            T result = executeWithRetries(operation, idempotent, call);
+            outcome = "success";
+            return result;
+        } catch (RuntimeException e) {
+            if (e instanceof StorageUnavailableException) {
+                outcome = "rejected";
+            }
+            observation.error(e);
+            throw e;
+        } finally {
+            scope.close();
+            observation.lowCardinalityKeyValue("outcome", outcome).stop();
+        }
+    }
+
+    private <T> T executeWithRetries(String operation, boolean idempotent, Callable<T> call) {
+        int attempts = idempotent ? Math.max(1, maxAttempts) : 1;
+
+        for (int attempt = 1; ; attempt++) {
+            if (!circuitBreaker.tryAcquire()) {
+                meterRegistry.counter("storage.s3.calls.rejected", "operation", operation).increment();
+                throw new StorageUnavailableException("Storage is temporarily unavailable, please retry shortly");
+            }
+
+            Timer.Sample sample = Timer.start(meterRegistry);
+            try {
+                T result = call.call();
+                circuitBreaker.onResult(true);
+                sample.stop(meterRegistry.timer("storage.s3.calls", "operation", operation, "outcome", "success"));
+                return result;
+            } catch (Exception e) {
+                boolean transientFailure = isTransient(e);
+                // Client errors (missing key, bad request) mean S3 answered, so they count as healthy
+                circuitBreaker.onResult(!transientFailure);
+                sample.stop(meterRegistry.timer("storage.s3.calls", "operation", operation,
+                        "outcome", transientFailure ? "failure" : "client_error"));
+
+                if (!transientFailure || attempt >= attempts) {
+                    throw propagate(e);
+                }
+
+                meterRegistry.counter("storage.s3.retries", "operation", operation).increment();
+                sleep(backoff(attempt));
+            }
+        }
+    }
+
+    /**
+     * Run an idempotent read, sending a second identical request if the first has not
+     * answered within the hedge delay. The first successful response wins.
+     */
+    public <T> T executeHedged(String operation, Callable<T> call) {
+        return execute(operation, true, () -> hedge(operation, call));
+    }
+
+    private <T> T hedge(String operation, Callable<T> call) throws Exception {
+        CompletionService<T> completion = new ExecutorCompletionService<>(hedgeExecutor);
+        List<Future<T>> futures = new ArrayList<>(2);
+
+        try {
+            try {
+                futures.add(completion.submit(call));
+            } catch (RejectedExecutionException e) {
+                return call.call(); // Pool saturated, no hedging for this call
+            }
+
+            Future<T> done = completion.poll(hedgeDelay.toMillis(), TimeUnit.MILLISECONDS);
+            if (done == null) {
+                try {
+                    futures.add(completion.submit(call));
+                    meterRegistry.counter("storage.s3.hedges", "operation", operation).increment();
+                } catch (RejectedExecutionException e) {
+                    // Keep waiting on the primary
+                }
+                done = completion.take();
+            }
+
+            try {
+                return done.get();
+            } catch (ExecutionException e) {
+                if (futures.size() == 1) {
+                    throw unwrap(e);
+                }
+                // One attempt failed, the other may still succeed
+                try {
+                    return completion.take().get();
+                } catch (ExecutionException second) {
+                    throw unwrap(second);
+                }
+            }
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    /**
+     * Current circuit state: CLOSED, OPEN or HALF_OPEN
+     */
+    public String getCircuitState() {
+        return circuitBreaker.state.name();
+    }
+
+    @Override
+    public Health health() {
+        // An open circuit only disables media; the application itself is still alive and serving
+        Health.Builder builder = circuitBreaker.state == State.OPEN ? Health.status(DEGRADED) : Health.up();
+        return builder
+                .withDetail("circuit", circuitBreaker.state.name())
+                .withDetail("failureRate", circuitBreaker.failureRate())
+                .build();
+    }
+
+    /**
+     * Timeouts, connection failures, throttling and 5xx responses are transient; other
+     * service errors are definitive answers from S3.
+     */
+    private boolean isTransient(Exception e) {
+        if (e instanceof SdkClientException) {
+            return true;
+        }
+        if (e instanceof AwsServiceException serviceException) {
+            return serviceException.statusCode() >= 500 || serviceException.isThrottlingException();
+        }
+        return false;
+    }
+
+    // Full jitter: a random delay up to the capped exponential backoff
+    private Duration backoff(int attempt) {
+        long cap = Math.min(maxBackoff.toMillis(), baseBackoff.toMillis() << Math.min(attempt - 1, 20));
+        return Duration.ofMillis(ThreadLocalRandom.current().nextLong(cap + 1));
+    }
+
+    private void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StorageUnavailableException("Interrupted while retrying storage call");
+        }
+    }
+
+    private Exception unwrap(ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return (Exception) cause;
+    }
+
+    private RuntimeException propagate(Exception e) {
+        return e instanceof RuntimeException runtime ? runtime : new RuntimeException(e.getMessage(), e);
+    }
+
+    private enum State { CLOSED, HALF_OPEN, OPEN }
+
+    /**
+     * Count-based circuit breaker over the outcomes of the last windowSize calls
+     */
+    private class CircuitBreaker {
+        private volatile State state = State.CLOSED;
+        private final boolean[] outcomes = new boolean[windowSize]; // true = failure
+        private int recorded;
+        private int failures;
+        private int next;
+        private long openedAt;
+        private int halfOpenPermits;
+        private int halfOpenSuccesses;
+
+        synchronized boolean tryAcquire() {
+            if (state == State.OPEN) {
+                if (System.nanoTime() - openedAt < openDuration.toNanos()) {
+                    return false;
+                }
+                transition(State.HALF_OPEN);
+                halfOpenPermits = halfOpenCalls;
+                halfOpenSuccesses = 0;
+            }
+            if (state == State.HALF_OPEN) {
+                if (halfOpenPermits == 0) {
+                    return false;
+                }
+                halfOpenPermits--;
+            }
+            return true;
+        }
+
+        synchronized void onResult(boolean success) {
+            if (state == State.HALF_OPEN) {
+                if (!success) {
+                    open();
+                } else if (++halfOpenSuccesses >= halfOpenCalls) {
+                    reset();
+                    transition(State.CLOSED);
+                }
+                return;
+            }
+            if (state == State.OPEN) {
+                return; // Late result of a call started before the circuit opened
+            }
+
+            if (recorded == outcomes.length) {
+                failures -= outcomes[next] ? 1 : 0;
+            } else {
+                recorded++;
+            }
+            outcomes[next] = !success;
+            failures += success ? 0 : 1;
+            next = (next + 1) % outcomes.length;
+
+            if (recorded >= minimumCalls && failureRate() >= failureRateThreshold) {
+                open();
+            }
+        }
+
+        synchronized double failureRate() {
+            return recorded == 0 ? 0.0 : (double) failures / recorded;
+        }
+
+        private void open() {
+            openedAt = System.nanoTime();
+            reset();
+            transition(State.OPEN);
+        }
+
+        private void reset() {
+            recorded = 0;
+            failures = 0;
+            next = 0;
+        }
+
+        private void transition(State to) {
+            if (state == to) {
+                return;
+            }
+            logger.warn("S3 circuit breaker {} -> {}", state, to);
+            state = to;
+            stateGauge.set(to.ordinal());
+            meterRegistry.counter("storage.s3.circuit.transitions", "state", to.name()).increment();
+        }
+    }
+}
@@ -1,32 +1,81 @@
 package com.portfolio.Multi_Portfolio.service;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.portfolio.Multi_Portfolio.payload.PresignedUploadResponse;
+
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.Delete;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
+import software.amazon.awssdk.services.s3.model.S3Error;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Object;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
 
 @Service
 @ConditionalOnProperty(name = "aws.s3.enabled", havingValue = "true", matchIfMissing = false)
 public class S3Service {
 
+    private static final Logger logger = LoggerFactory.getLogger(S3Service.class);
+
     @Autowired
     private S3Client s3Client;
 
     @Autowired
     private String s3BucketName;
 
+    @Autowired
+    private S3Presigner s3Presigner;
+
+    @Autowired
+    private S3Resilience resilience;
+
     @Value("${aws.s3.region:ap-south-1}")
     private String s3Region;
 
+    // Set when running against an S3-compatible stand-in; URLs are then path-style under it
+    @Value("${aws.s3.endpoint:}")
+    private String s3Endpoint;
+
+    @Value("${app.upload.presign.expiry-seconds:600}")
+    private long presignExpirySeconds;
+
+    // DeleteObjects accepts at most 1000 keys per request
+    private static final int MAX_DELETE_BATCH = 1000;
+
     // Getter methods for testing
     public S3Client getS3Client() {
         return s3Client;
@@ -53,13 +102,18 @@ public class S3Service {
                     .bucket(s3BucketName)
                     .key(fileName)
                     .contentType(file.getContentType())
+                    .overrideConfiguration(resilience.writeTimeout())
                     .build();
 
-            s3Client.putObject(putObjectRequest, RequestBody.fromInputStream(file.getInputStream(), file.getSize()));
+            // The key is unique and the body can be reopened, so the put is safe to retry
+            resilience.execute("putObject", true, () -> s3Client.putObject(putObjectRequest,
+                    RequestBody.fromInputStream(file.getInputStream(), file.getSize())));
             
             // Return the public URL
             return generateFileUrl(fileName);
             
+        } catch (S3Resilience.StorageUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             throw new RuntimeException("Failed to upload file to S3: " + e.getMessage(), e);
         }
@@ -77,16 +131,258 @@ public class S3Service {
                 DeleteObjectRequest deleteObjectRequest = DeleteObjectRequest.builder()
                         .bucket(s3BucketName)
                         .key(fileName)
+                        .overrideConfiguration(resilience.writeTimeout())
                         .build();
 
-                s3Client.deleteObject(deleteObjectRequest);
+                resilience.execute("deleteObject", true, () -> s3Client.deleteObject(deleteObjectRequest));
             }
         } catch (Exception e) {
             // Log error but don't throw exception to avoid breaking profile updates
-            System.err.println("Failed to delete file from S3: " + e.getMessage());
+            logger.warn("Failed to delete file from S3: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Issue a short-lived presigned PUT URL so the client can upload straight to S3.
+     * The key is always generated under the user's own prefix (profiles/{username}/...).
+     */
+    public PresignedUploadResponse generatePresignedUpload(String username, String photoType,
+                                                           String originalFileName, String contentType, long size) {
+        String fileName = generateFileName(username, photoType, originalFileName);
+
+        // Content type and length are part of the signature, so the client cannot swap them
+        PutObjectRequest putObjectRequest = PutObjectRequest.builder()
+                .bucket(s3BucketName)
+                .key(fileName)
+                .contentType(contentType)
+                .contentLength(size)
+                .build();
+
+        PutObjectPresignRequest presignRequest = PutObjectPresignRequest.builder()
+                .signatureDuration(Duration.ofSeconds(presignExpirySeconds))
+                .putObjectRequest(putObjectRequest)
+                .build();
+
+        PresignedPutObjectRequest presigned = s3Presigner.presignPutObject(presignRequest);
+
+        // The browser sets Host itself; every other signed header must be sent as-is
+        Map<String, String> headers = new HashMap<>();
+        presigned.signedHeaders().forEach((name, values) -> {
+            if (!"host".equalsIgnoreCase(name)) {
+                headers.put(name, String.join(",", values));
+            }
+        });
+
+        return new PresignedUploadResponse(presigned.url().toString(), fileName,
+                generateFileUrl(fileName), headers, presigned.expiration().toEpochMilli());
+    }
+
+    /**
+     * Verify an object uploaded through a presigned URL and return its public URL.
+     * Objects outside the user's prefix, missing objects and oversized objects are rejected.
+     */
+    public String completePresignedUpload(String key, String username, long maxSize) {
+        if (!isUserKey(key, username)) {
+            throw new IllegalArgumentException("Key does not belong to the current user");
+        }
+
+        HeadObjectRequest headRequest = HeadObjectRequest.builder()
+                .bucket(s3BucketName)
+                .key(key)
+                .overrideConfiguration(resilience.readTimeout())
+                .build();
+
+        HeadObjectResponse head;
+        try {
+            head = resilience.executeHedged("headObject", () -> s3Client.headObject(headRequest));
+        } catch (NoSuchKeyException e) {
+            throw new IllegalArgumentException("Uploaded file not found: " + key);
+        }
+
+        String contentType = head.contentType();
+        if (head.contentLength() > maxSize || contentType == null || !contentType.startsWith("image/")) {
+            // Do not leave rejected objects behind in the bucket
+            deleteFile(generateFileUrl(key));
+            throw new IllegalArgumentException("Uploaded file failed validation");
+        }
+
+        return generateFileUrl(key);
+    }
+
+    /**
+     * Lazily list every object under a prefix, paging through the bucket as it is iterated
+     */
+    public Iterable<S3Object> listObjects(String prefix) {
+        ListObjectsV2Request request = ListObjectsV2Request.builder()
+                .bucket(s3BucketName)
+                .prefix(prefix)
+                .overrideConfiguration(resilience.readTimeout())
+                .build();
+        return s3Client.listObjectsV2Paginator(request).contents();
+    }
+
+    /**
+     * Delete keys with batched DeleteObjects calls.
+     * Returns the keys that could not be deleted, mapped to the S3 error message.
+     */
+    public Map<String, String> deleteObjects(List<String> keys) {
+        Map<String, String> failures = new LinkedHashMap<>();
+        for (int from = 0; from < keys.size(); from += MAX_DELETE_BATCH) {
+            List<ObjectIdentifier> batch = new ArrayList<>();
+            for (String key : keys.subList(from, Math.min(from + MAX_DELETE_BATCH, keys.size()))) {
+                batch.add(ObjectIdentifier.builder().key(key).build());
+            }
+
+            DeleteObjectsRequest request = DeleteObjectsRequest.builder()
+                    .bucket(s3BucketName)
+                    .delete(Delete.builder().objects(batch).quiet(true).build())
+                    .overrideConfiguration(resilience.writeTimeout())
+                    .build();
+            DeleteObjectsResponse response = resilience.execute("deleteObjects", true, () -> s3Client.deleteObjects(request));
+
+            // Quiet mode only reports failures
+            for (S3Error error : response.errors()) {
+                failures.put(error.key(), error.code() + ": " + error.message());
+            }
+        }
+        return failures;
+    }
+
+    /**
+     * Upload a file from disk under a given key and return its URL.
+     * The body can be re-read, so the put is retried like any idempotent call.
+     */
+    public String uploadFromPath(String key, Path file, String contentType) {
+        PutObjectRequest request = PutObjectRequest.builder()
+                .bucket(s3BucketName)
+                .key(key)
+                .contentType(contentType)
+                .overrideConfiguration(resilience.writeTimeout())
+                .build();
+        resilience.execute("putObject", true, () -> s3Client.putObject(request, RequestBody.fromFile(file)));
+        return generateFileUrl(key);
+    }
+
+    /**
+     * Size of a stored object, or -1 if it does not exist
+     */
+    public long getObjectSize(String key) {
+        HeadObjectRequest request = HeadObjectRequest.builder()
+                .bucket(s3BucketName)
+                .key(key)
+                .overrideConfiguration(resilience.readTimeout())
+                .build();
+        try {
+            return resilience.executeHedged("headObject", () -> s3Client.headObject(request)).contentLength();
+        } catch (NoSuchKeyException e) {
+            return -1;
         }
     }
 
+    /**
+     * Public URL of an object key
+     */
+    public String getUrlForKey(String key) {
+        return generateFileUrl(key);
+    }
+
+    /**
+     * Check whether a URL points at this service's bucket
+     */
+    public boolean isOwnUrl(String fileUrl) {
+        return extractFileNameFromUrl(fileUrl) != null;
+    }
+
+    /**
+     * Get the object key for a URL produced by this service, or null for foreign URLs
+     */
+    public String getKeyFromUrl(String fileUrl) {
+        return extractFileNameFromUrl(fileUrl);
+    }
+
+    // ======================================
+    // MULTIPART (RESUMABLE) UPLOADS
+    // ======================================
+
+    /**
+     * Generate the key for a new file under the user's prefix
+     */
+    public String generateKey(String username, String photoType, String originalFileName) {
+        return generateFileName(username, photoType, originalFileName);
+    }
+
+    /**
+     * Start a multipart upload for a key and return its upload id
+     */
+    public String startMultipartUpload(String key, String contentType) {
+        CreateMultipartUploadRequest request = CreateMultipartUploadRequest.builder()
+                .bucket(s3BucketName)
+                .key(key)
+                .contentType(contentType)
+                .overrideConfiguration(resilience.writeTimeout())
+                .build();
+        // Not retried: a lost response would leave an upload id nobody aborts
+        return resilience.execute("createMultipartUpload", false, () -> s3Client.createMultipartUpload(request)).uploadId();
+    }
+
+    /**
+     * Upload one part of a multipart upload and return its ETag
+     */
+    public String uploadPart(String key, String uploadId, int partNumber, InputStream body, long length) {
+        UploadPartRequest request = UploadPartRequest.builder()
+                .bucket(s3BucketName)
+                .key(key)
+                .uploadId(uploadId)
+                .partNumber(partNumber)
+                .contentLength(length)
+                .overrideConfiguration(resilience.writeTimeout())
+                .build();
+        // The body is the client's request stream and cannot be replayed; the client resumes instead
+        return resilience.execute("uploadPart", false,
+                () -> s3Client.uploadPart(request, RequestBody.fromInputStream(body, length))).eTag();
+    }
+
+    /**
+     * Assemble the uploaded parts (partNumber -> ETag, in order) and return the file URL
+     */
+    public String completeMultipartUpload(String key, String uploadId, Map<Integer, String> partETags) {
+        List<CompletedPart> parts = new ArrayList<>();
+        partETags.forEach((partNumber, eTag) -> parts.add(CompletedPart.builder()
+                .partNumber(partNumber)
+                .eTag(eTag)
+                .build()));
+
+        CompleteMultipartUploadRequest request = CompleteMultipartUploadRequest.builder()
+                .bucket(s3BucketName)
+                .key(key)
+                .uploadId(uploadId)
+                .multipartUpload(CompletedMultipartUpload.builder().parts(parts).build())
+                .overrideConfiguration(resilience.writeTimeout())
+                .build();
+        resilience.execute("completeMultipartUpload", true, () -> s3Client.completeMultipartUpload(request));
+        return generateFileUrl(key);
+    }
+
+    /**
+     * Abort a multipart upload so S3 drops the stored parts
+     */
+    public void abortMultipartUpload(String key, String uploadId) {
+        AbortMultipartUploadRequest request = AbortMultipartUploadRequest.builder()
+                .bucket(s3BucketName)
+                .key(key)
+                .uploadId(uploadId)
+                .overrideConfiguration(resilience.writeTimeout())
+                .build();
+        resilience.execute("abortMultipartUpload", true, () -> s3Client.abortMultipartUpload(request));
+    }
+
+    /**
+     * Check that a key lives under the user's prefix and cannot escape it
+     */
+    private boolean isUserKey(String key, String username) {
+        return key != null && !key.contains("..") && key.startsWith("profiles/" + username + "/");
+    }
+
     /**
      * Generate unique filename for uploaded file
      */
@@ -104,6 +400,9 @@ public class S3Service {
      * Generate public URL for uploaded file
      */
     private String generateFileUrl(String fileName) {
+        if (!s3Endpoint.isBlank()) {
+            return String.format("%s/%s/%s", s3Endpoint, s3BucketName, fileName);
+        }
         return String.format("https://%s.s3.%s.amazonaws.com/%s", 
                 s3BucketName, s3Region, fileName);
     }
@@ -117,12 +416,16 @@ public class S3Service {
         }
         
         try {
+            String endpointPrefix = s3Endpoint + "/" + s3BucketName + "/";
+            if (!s3Endpoint.isBlank() && fileUrl.startsWith(endpointPrefix)) {
+                return fileUrl.substring(endpointPrefix.length());
+            }
             // Extract filename from URL like: https://bucket.s3.region.amazonaws.com/filename
             if (fileUrl.contains("amazonaws.com/")) {
                 return fileUrl.substring(fileUrl.lastIndexOf("amazonaws.com/") + 14);
             }
         } catch (Exception e) {
-            System.err.println("Failed to extract filename from URL: " + fileUrl);
+            logger.warn("Failed to extract filename from URL: {}", fileUrl);
         }
         
         return null;
@@ -0,0 +1,464 @@
+package com.portfolio.Multi_Portfolio.service;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Service;
+
+import com.portfolio.Multi_Portfolio.model.StorageMigrationCheckpoint;
+import com.portfolio.Multi_Portfolio.repository.StorageMigrationCheckpointRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Moves media referenced by profiles from the inactive storage backend into the active one.
+ * With S3 active, files are read from the local upload directory; with local storage active,
+ * objects are fetched through their public S3 URLs. Profiles are processed in _id order in
+ * batches: referenced files are copied in parallel (throttled), the URLs are swapped with guarded
+ * bulk updates and a checkpoint is saved, so an interrupted run continues where it stopped.
+ * Source files are left in place; a verification pass counts any URLs still pointing at the old backend.
+ */
+@Service
+public class StorageMigrationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StorageMigrationService.class);
+
+    private static final String S3_KEY_PREFIX = "profiles/";
+
+    // Top-level profile fields that hold media URLs: the profile photo and every section list
+    private static final List<String> MIGRATED_FIELDS = new ArrayList<>();
+    static {
+        MIGRATED_FIELDS.add("profilePhoto");
+        ProfileServices.SECTION_PHOTO_FIELDS.values().forEach(fields -> MIGRATED_FIELDS.add(fields[0]));
+    }
+
+    @Autowired(required = false)
+    private S3Service s3Service;
+
+    @Autowired(required = false)
+    private LocalFileService localFileService;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ProfileServices profileServices;
+
+    @Autowired
+    private StorageMigrationCheckpointRepository checkpointRepository;
+
+    @Value("${app.storage-migration.enabled:false}")
+    private boolean migrateOnStartup;
+
+    @Value("${app.storage-migration.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.storage-migration.parallelism:8}")
+    private int parallelism;
+
+    @Value("${app.storage-migration.max-copies-per-second:20}")
+    private double maxCopiesPerSecond;
+
+    @Value("${app.upload.dir:uploads/photos}")
+    private String uploadDir;
+
+    private final Counter filesCopied;
+    private final Counter filesFailed;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build();
+
+    private long nextCopyAt; // Throttle: earliest System.nanoTime() for the next copy
+
+    public StorageMigrationService(MeterRegistry meterRegistry) {
+        this.filesCopied = meterRegistry.counter("storage.migration.files.copied");
+        this.filesFailed = meterRegistry.counter("storage.migration.files.failed");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateOnStartup() {
+        if (!migrateOnStartup) {
+            return;
+        }
+        // Copies can take hours, keep them off the startup path
+        Thread worker = new Thread(() -> {
+            try {
+                migrate();
+            } catch (Exception e) {
+                logger.error("Storage migration failed, it will resume from its checkpoint on next start", e);
+            }
+        }, "storage-migration");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Run (or resume) the migration into the active backend and return the final checkpoint
+     */
+    public StorageMigrationCheckpoint migrate() throws InterruptedException {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("A storage migration is already running");
+        }
+
+        ExecutorService copyExecutor = Executors.newFixedThreadPool(parallelism);
+        try {
+            String direction = getDirection();
+            StorageMigrationCheckpoint checkpoint = checkpointRepository.findById(direction)
+                    .filter(existing -> existing.getCompletedAt() == null)
+                    .orElseGet(() -> new StorageMigrationCheckpoint(direction));
+            logger.info("Storage migration {} starting after profile {}", direction, checkpoint.getLastProfileId());
+
+            while (true) {
+                Query batchQuery = new Query(afterProfile(checkpoint.getLastProfileId()))
+                        .with(Sort.by("_id"))
+                        .limit(batchSize);
+                batchQuery.fields().include("username");
+                MIGRATED_FIELDS.forEach(field -> batchQuery.fields().include(field));
+
+                List<Document> batch = mongoTemplate.find(batchQuery, Document.class, ProfileServices.PROFILE_COLLECTION);
+                if (batch.isEmpty()) {
+                    break;
+                }
+                List<Document> sections = findSections(batch);
+
+                // Every foreign URL of the batch, with the user whose prefix it is copied under
+                Map<String, String> owners = new LinkedHashMap<>();
+                for (Document profile : batch) {
+                    List<String> urls = new ArrayList<>();
+                    MIGRATED_FIELDS.forEach(field -> collectForeignUrls(profile.get(field), direction, urls));
+                    urls.forEach(url -> owners.putIfAbsent(url, profile.getString("username")));
+                }
+                for (Document section : sections) {
+                    List<String> urls = new ArrayList<>();
+                    collectForeignUrls(section.get("items"), direction, urls);
+                    urls.forEach(url -> owners.putIfAbsent(url, section.getString("username")));
+                }
+
+                Map<String, String> newUrls = copyAll(owners, direction, copyExecutor, checkpoint);
+                Set<String> rewritten = rewriteProfiles(batch, newUrls);
+                rewritten.addAll(rewriteSections(sections, newUrls));
+                // Summaries and other listeners hold the old URLs
+                rewritten.forEach(profileServices::publishRewritten);
+                checkpoint.setProfilesRewritten(checkpoint.getProfilesRewritten() + rewritten.size());
+                checkpoint.setProfilesScanned(checkpoint.getProfilesScanned() + batch.size());
+                checkpoint.setLastProfileId(batch.get(batch.size() - 1).get("_id"));
+                checkpoint.setUpdatedAt(Instant.now());
+                checkpointRepository.save(checkpoint);
+            }
+
+            checkpoint.setRemainingForeignUrls(countProfilesWithForeignUrls(direction));
+            checkpoint.setCompletedAt(Instant.now());
+            checkpoint.setUpdatedAt(checkpoint.getCompletedAt());
+            checkpointRepository.save(checkpoint);
+
+            logger.info("Storage migration {} finished: {} profiles scanned, {} rewritten, {} files copied, {} failed, {} profiles still referencing the old backend",
+                    direction, checkpoint.getProfilesScanned(), checkpoint.getProfilesRewritten(),
+                    checkpoint.getFilesCopied(), checkpoint.getFilesFailed(), checkpoint.getRemainingForeignUrls());
+            return checkpoint;
+        } finally {
+            copyExecutor.shutdownNow();
+            running.set(false);
+        }
+    }
+
+    /**
+     * Direction into the active backend
+     */
+    private String getDirection() {
+        if (s3Service != null) {
+            return StorageMigrationCheckpoint.LOCAL_TO_S3;
+        } else if (localFileService != null) {
+            return StorageMigrationCheckpoint.S3_TO_LOCAL;
+        }
+        throw new RuntimeException("No file upload service available");
+    }
+
+    /**
+     * Profiles after the checkpoint in _id order. Strings sort before ObjectIds, so after a
+     * String id every ObjectId is still ahead of us.
+     */
+    private Criteria afterProfile(Object lastProfileId) {
+        if (lastProfileId == null) {
+            return new Criteria();
+        }
+        if (lastProfileId instanceof String) {
+            return new Criteria().orOperator(where("_id").gt(lastProfileId), where("_id").type(7));
+        }
+        return where("_id").gt(lastProfileId);
+    }
+
+    /**
+     * Copy files in parallel and return old URL -> new URL for those that made it
+     */
+    private Map<String, String> copyAll(Map<String, String> owners, String direction,
+                                       ExecutorService copyExecutor, StorageMigrationCheckpoint checkpoint)
+            throws InterruptedException {
+        Map<String, String> newUrls = new ConcurrentHashMap<>();
+        Map<String, Future<String>> copies = new HashMap<>();
+        owners.forEach((url, username) -> copies.put(url, copyExecutor.submit(() -> {
+            throttle();
+            return StorageMigrationCheckpoint.LOCAL_TO_S3.equals(direction)
+                    ? copyToS3(url, username)
+                    : copyToLocal(url, username);
+        })));
+
+        for (Map.Entry<String, Future<String>> copy : copies.entrySet()) {
+            try {
+                newUrls.put(copy.getKey(), copy.getValue().get());
+                filesCopied.increment();
+                checkpoint.setFilesCopied(checkpoint.getFilesCopied() + 1);
+            } catch (ExecutionException e) {
+                // The profile keeps its old URL; a later run retries it
+                logger.warn("Failed to migrate {}: {}", copy.getKey(), e.getCause().getMessage());
+                filesFailed.increment();
+                checkpoint.setFilesFailed(checkpoint.getFilesFailed() + 1);
+            }
+        }
+        return newUrls;
+    }
+
+    /**
+     * Upload a local file under the owner's S3 prefix. Objects already copied with the same size are kept.
+     */
+    private String copyToS3(String url, String username) throws IOException {
+        Path root = Paths.get(uploadDir).toAbsolutePath().normalize();
+        Path file = root.resolve(url.substring(("/" + uploadDir + "/").length())).normalize();
+        if (!file.startsWith(root) || !Files.isRegularFile(file)) {
+            throw new IOException("Local file not found");
+        }
+
+        String key = S3_KEY_PREFIX + username + "/" + file.getFileName();
+        long size = Files.size(file);
+        if (s3Service.getObjectSize(key) == size) {
+            return s3Service.getUrlForKey(key);
+        }
+
+        String contentType = MediaTypeFactory.getMediaType(file.getFileName().toString())
+                .orElse(MediaType.APPLICATION_OCTET_STREAM).toString();
+        s3Service.uploadFromPath(key, file, contentType);
+        if (s3Service.getObjectSize(key) != size) {
+            throw new IOException("Copied object size does not match the source");
+        }
+        return s3Service.getUrlForKey(key);
+    }
+
+    /**
+     * Download an object through its public URL into the owner's local prefix
+     */
+    private String copyToLocal(String url, String username) throws IOException, InterruptedException {
+        String key = getS3Key(url);
+        String ownerPrefix = S3_KEY_PREFIX + username + "/";
+        String fileName = key.startsWith(ownerPrefix) ? key.substring(ownerPrefix.length()) : key.substring(key.lastIndexOf('/') + 1);
+
+        HttpResponse<InputStream> response = httpClient.send(
+                HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofMinutes(2)).GET().build(),
+                HttpResponse.BodyHandlers.ofInputStream());
+        try (InputStream body = response.body()) {
+            if (response.statusCode() != 200) {
+                throw new IOException("Source returned HTTP " + response.statusCode());
+            }
+            // importFile rejects a body that does not match the advertised length
+            long size = response.headers().firstValueAsLong("Content-Length").orElse(-1);
+            return localFileService.importFile(username, fileName, body, size);
+        }
+    }
+
+    /**
+     * Object key of an S3 URL (virtual-hosted or path-style), or null if it is not one of ours
+     */
+    private String getS3Key(String url) {
+        if (!url.startsWith("https://") && !url.startsWith("http://")) {
+            return null;
+        }
+        String path = URI.create(url).getPath();
+        int start = path.indexOf("/" + S3_KEY_PREFIX);
+        return start < 0 ? null : path.substring(start + 1);
+    }
+
+    private boolean isForeignUrl(String url, String direction) {
+        if (StorageMigrationCheckpoint.LOCAL_TO_S3.equals(direction)) {
+            return url.startsWith("/" + uploadDir + "/");
+        }
+        return getS3Key(url) != null;
+    }
+
+    private void collectForeignUrls(Object value, String direction, List<String> urls) {
+        if (value instanceof String url) {
+            if (isForeignUrl(url, direction)) {
+                urls.add(url);
+            }
+        } else if (value instanceof Document document) {
+            document.values().forEach(nested -> collectForeignUrls(nested, direction, urls));
+        } else if (value instanceof List<?> list) {
+            list.forEach(item -> collectForeignUrls(item, direction, urls));
+        }
+    }
+
+    /**
+     * Split-out sections of the profiles in a batch
+     */
+    private List<Document> findSections(List<Document> batch) {
+        List<String> usernames = batch.stream().map(profile -> profile.getString("username")).filter(Objects::nonNull).toList();
+        Query query = new Query(where("username").in(usernames));
+        query.fields().include("username").include("items");
+        return mongoTemplate.find(query, Document.class, ProfileServices.SECTIONS_COLLECTION);
+    }
+
+    /**
+     * Swap URLs in bulk and return the owners of the rewritten profiles. Each update only applies
+     * if the rewritten fields still hold the values we read, so an edit made by the user meanwhile
+     * is never overwritten.
+     */
+    private Set<String> rewriteProfiles(List<Document> batch, Map<String, String> newUrls) {
+        Set<String> rewritten = new HashSet<>();
+        if (newUrls.isEmpty()) {
+            return rewritten;
+        }
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ProfileServices.PROFILE_COLLECTION);
+        for (Document profile : batch) {
+            Criteria guard = where("_id").is(profile.get("_id"));
+            Update update = new Update();
+            boolean changed = false;
+            for (String field : MIGRATED_FIELDS) {
+                Object value = profile.get(field);
+                Object rewrittenValue = LocalStorageLayoutMigrator.rewrite(value, newUrls);
+                if (rewrittenValue != value) {
+                    guard = guard.and(field).is(value);
+                    update.set(field, rewrittenValue);
+                    changed = true;
+                }
+            }
+            if (changed) {
+                bulk.updateOne(new Query(guard), update);
+                rewritten.add(String.valueOf(profile.get("username")));
+            }
+        }
+
+        if (!rewritten.isEmpty()) {
+            bulk.execute();
+        }
+        return rewritten;
+    }
+
+    /**
+     * Same as rewriteProfiles for split-out sections, guarded on the items list
+     */
+    private Set<String> rewriteSections(List<Document> sections, Map<String, String> newUrls) {
+        Set<String> rewritten = new HashSet<>();
+        if (newUrls.isEmpty()) {
+            return rewritten;
+        }
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ProfileServices.SECTIONS_COLLECTION);
+        for (Document section : sections) {
+            Object items = section.get("items");
+            Object rewrittenItems = LocalStorageLayoutMigrator.rewrite(items, newUrls);
+            if (rewrittenItems != items) {
+                bulk.updateOne(new Query(where("_id").is(section.get("_id")).and("items").is(items)),
+                        new Update().set("items", rewrittenItems));
+                rewritten.add(section.getString("username"));
+            }
+        }
+
+        if (!rewritten.isEmpty()) {
+            bulk.execute();
+        }
+        return rewritten;
+    }
+
+    /**
+     * Verification pass: how many profiles still reference the old backend
+     */
+    private long countProfilesWithForeignUrls(String direction) {
+        Query query = new Query();
+        MIGRATED_FIELDS.forEach(field -> query.fields().include(field));
+
+        query.fields().include("username");
+
+        Set<String> remaining = new HashSet<>();
+        try (Stream<Document> profiles = mongoTemplate.stream(query, Document.class, ProfileServices.PROFILE_COLLECTION)) {
+            for (Document profile : (Iterable<Document>) profiles::iterator) {
+                List<String> urls = new ArrayList<>();
+                MIGRATED_FIELDS.forEach(field -> collectForeignUrls(profile.get(field), direction, urls));
+                if (!urls.isEmpty()) {
+                    remaining.add(String.valueOf(profile.get("username")));
+                }
+            }
+        }
+
+        Query sectionQuery = new Query();
+        sectionQuery.fields().include("username").include("items");
+        try (Stream<Document> sections = mongoTemplate.stream(sectionQuery, Document.class, ProfileServices.SECTIONS_COLLECTION)) {
+            for (Document section : (Iterable<Document>) sections::iterator) {
+                List<String> urls = new ArrayList<>();
+                collectForeignUrls(section.get("items"), direction, urls);
+                if (!urls.isEmpty()) {
+                    remaining.add(section.getString("username"));
+                }
+            }
+        }
+        return remaining.size();
+    }
+
+    /**
+     * Space copies evenly so the migration stays under maxCopiesPerSecond across all workers
+     */
+    private void throttle() throws InterruptedException {
+        long waitNanos;
+        synchronized (this) {
+            long now = System.nanoTime();
+            long slot = Math.max(now, nextCopyAt);
+            nextCopyAt = slot + (long) (TimeUnit.SECONDS.toNanos(1) / maxCopiesPerSecond);
+            waitNanos = slot - now;
+        }
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+}
@@ -11,7 +11,10 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import io.micrometer.observation.annotation.Observed;
+
 @Service
+@Observed(name = "portfolio.auth")
 public class UserDetailsServiceImpl implements UserDetailsService {
 
     private static final Logger logger = LoggerFactory.getLogger(UserDetailsServiceImpl.class); // Add logger
@@ -22,13 +25,13 @@ public class UserDetailsServiceImpl implements UserDetailsService {
     @Override
     @Transactional
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        logger.info("Attempting to load user by username: {}", username); // Log username being loaded
+        logger.debug("Attempting to load user by username: {}", username); // Log username being loaded
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> {
                     logger.warn("User not found with username: {}", username); // Log if user not found
                     return new UsernameNotFoundException("User not found with username: " + username);
                 });
-        logger.info("User found: {}", user.getUsername()); // Log if user found
+        logger.debug("User found: {}", user.getUsername()); // Log if user found
         return user;
     }
 }
\ No newline at end of file
@@ -0,0 +1,7 @@
+package com.portfolio.Multi_Portfolio.service;
+
+/**
+ * Published by UserService after a new user has been saved, on the registering thread.
+ */
+public record UserRegisteredEvent(String username, String email) {
+}
@@ -2,7 +2,17 @@ package com.portfolio.Multi_Portfolio.service;
 
 import com.portfolio.Multi_Portfolio.model.User;
 import com.portfolio.Multi_Portfolio.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -11,13 +21,22 @@ import java.util.Optional;
 @Service
 public class UserService {
 
+    private static final Logger logger = LoggerFactory.getLogger(UserService.class);
+
     @Autowired
     private UserRepository userRepository;
 
     @Autowired
     private PasswordEncoder passwordEncoder; // Used for encoding passwords
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
     public User registerNewUser(String username, String email, String password) throws Exception {
+        // Authoritative checks; the Bloom filters behind /api/auth/availability are only a hint
         if (userRepository.existsByUsername(username)) {
             throw new Exception("Username already taken!");
         }
@@ -35,10 +54,31 @@ public class UserService {
         // roles.add("ROLE_USER"); // Assign default role
         // newUser.setRoles(roles);
 
-        return userRepository.save(newUser);
+        User saved;
+        try {
+            saved = userRepository.save(newUser);
+        } catch (DuplicateKeyException e) {
+            // A concurrent registration won between the checks and the insert
+            String message = String.valueOf(e.getMessage());
+            throw new Exception(message.contains("email") ? "Email already in use!" : "Username already taken!");
+        }
+        eventPublisher.publishEvent(new UserRegisteredEvent(saved.getUsername(), saved.getEmail()));
+        return saved;
     }
 
     public Optional<User> findByUsername(String username) {
         return userRepository.findByUsername(username);
     }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        try {
+            // Usernames and emails identify accounts, whichever replica or script inserts them
+            IndexOperations indexes = mongoTemplate.indexOps(User.class);
+            indexes.createIndex(new Index().on("username", Sort.Direction.ASC).unique());
+            indexes.createIndex(new Index().on("email", Sort.Direction.ASC).unique());
+        } catch (Exception e) {
+            logger.warn("Could not ensure unique user indexes (existing duplicates?): {}", e.getMessage());
+        }
+    }
 }
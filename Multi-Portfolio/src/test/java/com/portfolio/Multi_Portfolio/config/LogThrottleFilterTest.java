@@ -0,0 +1,57 @@
+package com.portfolio.Multi_Portfolio.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+
+class LogThrottleFilterTest {
+
+    private final LoggerContext context = new LoggerContext();
+    private final LogThrottleFilter filter = new LogThrottleFilter();
+    private Logger logger;
+
+    @BeforeEach
+    void setUp() {
+        filter.setContext(context);
+        filter.setRateLimits("com.portfolio.Multi_Portfolio.security=1");
+        filter.start();
+        logger = context.getLogger("com.portfolio.Multi_Portfolio.security.jwt.JwtAuthenticationFilter");
+        logger.setLevel(Level.DEBUG);
+    }
+
+    private FilterReply log(Level level) {
+        return filter.decide(null, logger, level, "Invalid JWT: {}", null, null);
+    }
+
+    @Test
+    void errorsAreNeverRateLimited() {
+        for (int i = 0; i < 100; i++) {
+            assertThat(log(Level.ERROR)).isEqualTo(FilterReply.NEUTRAL);
+        }
+    }
+
+    @Test
+    void eachLevelHasItsOwnBucket() {
+        assertThat(log(Level.INFO)).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(log(Level.INFO)).isEqualTo(FilterReply.DENY);
+
+        assertThat(log(Level.WARN)).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(log(Level.WARN)).isEqualTo(FilterReply.DENY);
+        assertThat(log(Level.DEBUG)).isEqualTo(FilterReply.NEUTRAL);
+    }
+
+    @Test
+    void loggersWithoutARuleAreLeftAlone() {
+        Logger other = context.getLogger("com.portfolio.Multi_Portfolio.service.ProfileService");
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(filter.decide(null, other, Level.INFO, "Saved {}", null, null)).isEqualTo(FilterReply.NEUTRAL);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.portfolio.Multi_Portfolio.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.portfolio.Multi_Portfolio.service.LocalFileService;
+
+import io.micrometer.observation.ObservationRegistry;
+
+class MediaControllerTest {
+
+    private static final byte[] CONTENT = "0123456789".getBytes(StandardCharsets.US_ASCII);
+
+    private LocalFileService localFileService;
+    private MediaController controller;
+    private String key;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Path root = Files.createTempDirectory("uploads");
+        localFileService = new LocalFileService(ObservationRegistry.NOOP);
+        ReflectionTestUtils.setField(localFileService, "uploadDir", root.toString());
+        ReflectionTestUtils.setField(localFileService, "signingSecret", "test-secret");
+        controller = new MediaController();
+        ReflectionTestUtils.setField(controller, "localFileService", localFileService);
+
+        key = localFileService.generatePresignedUpload("alice", "profile", "photo.png", "image/png", CONTENT.length).getKey();
+        Path file = root.resolve(key);
+        Files.createDirectories(file.getParent());
+        Files.write(file, CONTENT);
+    }
+
+    private MockHttpServletResponse get(String method, String range) throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, localFileService.getUrlPrefix() + key);
+        if (range != null) {
+            request.addHeader(HttpHeaders.RANGE, range);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        controller.serveMedia(request, response);
+        return response;
+    }
+
+    @Test
+    void servesASingleRange() throws IOException {
+        MockHttpServletResponse response = get("GET", "bytes=2-5");
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 2-5/10");
+        assertThat(response.getContentLengthLong()).isEqualTo(4);
+        assertThat(response.getContentAsString()).isEqualTo("2345");
+    }
+
+    @Test
+    void openAndOverlongRangesStopAtTheEndOfTheFile() throws IOException {
+        assertThat(get("GET", "bytes=7-").getContentAsString()).isEqualTo("789");
+
+        MockHttpServletResponse overlong = get("GET", "bytes=8-100");
+        assertThat(overlong.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 8-9/10");
+        assertThat(overlong.getContentAsString()).isEqualTo("89");
+    }
+
+    @Test
+    void servesSuffixRanges() throws IOException {
+        MockHttpServletResponse response = get("GET", "bytes=-3");
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 7-9/10");
+        assertThat(response.getContentAsString()).isEqualTo("789");
+
+        // A suffix longer than the file is the whole file
+        assertThat(get("GET", "bytes=-50").getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 0-9/10");
+    }
+
+    @Test
+    void unsatisfiableRangesAre416() throws IOException {
+        for (String range : new String[] { "bytes=10-", "bytes=5-2", "bytes=-0" }) {
+            MockHttpServletResponse response = get("GET", range);
+
+            assertThat(response.getStatus()).as(range).isEqualTo(416);
+            assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */10");
+            assertThat(response.getContentAsByteArray()).isEmpty();
+        }
+    }
+
+    @Test
+    void unsupportedRangesFallBackToTheWholeFile() throws IOException {
+        for (String range : new String[] { "bytes=0-1,4-5", "items=0-1", "bytes=a-b", "bytes=3" }) {
+            MockHttpServletResponse response = get("GET", range);
+
+            assertThat(response.getStatus()).as(range).isEqualTo(200);
+            assertThat(response.getContentAsByteArray()).isEqualTo(CONTENT);
+        }
+    }
+
+    @Test
+    void headSendsHeadersWithoutABody() throws IOException {
+        MockHttpServletResponse whole = get("HEAD", null);
+        assertThat(whole.getStatus()).isEqualTo(200);
+        assertThat(whole.getContentLengthLong()).isEqualTo(10);
+        assertThat(whole.getHeader(HttpHeaders.ACCEPT_RANGES)).isEqualTo("bytes");
+        assertThat(whole.getHeader(HttpHeaders.ETAG)).isNotNull();
+        assertThat(whole.getContentAsByteArray()).isEmpty();
+
+        MockHttpServletResponse partial = get("HEAD", "bytes=-3");
+        assertThat(partial.getStatus()).isEqualTo(206);
+        assertThat(partial.getContentLengthLong()).isEqualTo(3);
+        assertThat(partial.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void staleIfRangeGetsTheWholeFile() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", localFileService.getUrlPrefix() + key);
+        request.addHeader(HttpHeaders.RANGE, "bytes=0-1");
+        request.addHeader(HttpHeaders.IF_RANGE, "\"an-older-version\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        controller.serveMedia(request, response);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsByteArray()).isEqualTo(CONTENT);
+    }
+}
@@ -0,0 +1,77 @@
+package com.portfolio.Multi_Portfolio.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class AutocompleteTrieTest {
+
+    private final AutocompleteTrie trie = new AutocompleteTrie();
+
+    private List<String> complete(String prefix) {
+        return trie.complete(prefix, AutocompleteTrie.TOP_K).stream()
+                .map(AutocompleteTrie.Completion::text)
+                .toList();
+    }
+
+    @Test
+    void completionsAreOrderedByWeightThenLengthThenText() {
+        trie.adjust("cardiology", "Cardiology", 1);
+        trie.adjust("cardiac surgery", "Cardiac Surgery", 3);
+        trie.adjust("care", "Care", 1);
+        trie.adjust("carb", "Carb", 1);
+
+        assertThat(complete("car")).containsExactly("Cardiac Surgery", "Carb", "Care", "Cardiology");
+        assertThat(complete("card")).containsExactly("Cardiac Surgery", "Cardiology");
+        assertThat(complete("x")).isEmpty();
+    }
+
+    @Test
+    void lookupsReturnAtMostTopKAndTheRequestedLimit() {
+        for (int i = 0; i < AutocompleteTrie.TOP_K + 5; i++) {
+            trie.adjust("skill" + i, "Skill " + i, i + 1);
+        }
+
+        assertThat(trie.complete("skill", 100)).hasSize(AutocompleteTrie.TOP_K);
+        assertThat(trie.complete("skill", 3)).extracting(AutocompleteTrie.Completion::weight)
+                .containsExactly(AutocompleteTrie.TOP_K + 5, AutocompleteTrie.TOP_K + 4, AutocompleteTrie.TOP_K + 3);
+    }
+
+    @Test
+    void firstTextAddedStaysTheDisplayForm() {
+        trie.adjust("java", "Java", 1);
+        trie.adjust("java", "JAVA", 1);
+
+        assertThat(trie.complete("j", 1)).containsExactly(new AutocompleteTrie.Completion("Java", 2));
+    }
+
+    @Test
+    void keyAtZeroWeightIsRemovedWithItsEmptyNodes() {
+        trie.adjust("car", "Car", 1);
+        int nodesWithCar = trie.nodeCount();
+        trie.adjust("cardio", "Cardio", 2);
+
+        trie.adjust("cardio", "Cardio", -1);
+        assertThat(complete("card")).containsExactly("Cardio");
+
+        trie.adjust("cardio", "Cardio", -1);
+        assertThat(complete("card")).isEmpty();
+        assertThat(complete("c")).containsExactly("Car");
+        assertThat(trie.keyCount()).isEqualTo(1);
+        assertThat(trie.nodeCount()).isEqualTo(nodesWithCar);
+
+        trie.adjust("car", "Car", -1);
+        assertThat(trie.keyCount()).isZero();
+        assertThat(trie.nodeCount()).isEqualTo(1);
+    }
+
+    @Test
+    void negativeAdjustmentOfAnUnknownKeyChangesNothing() {
+        trie.adjust("nurse", "Nurse", -1);
+
+        assertThat(trie.keyCount()).isZero();
+        assertThat(trie.nodeCount()).isEqualTo(1);
+    }
+}
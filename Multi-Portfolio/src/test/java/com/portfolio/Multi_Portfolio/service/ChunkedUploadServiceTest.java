@@ -0,0 +1,226 @@
+package com.portfolio.Multi_Portfolio.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.mongodb.client.result.UpdateResult;
+import com.portfolio.Multi_Portfolio.model.UploadSession;
+import com.portfolio.Multi_Portfolio.repository.UploadSessionRepository;
+
+import io.micrometer.observation.ObservationRegistry;
+
+class ChunkedUploadServiceTest {
+
+    private static final String UPLOAD_ID = "upload1";
+    private static final long PART = ChunkedUploadService.S3_PART_SIZE;
+
+    // The stored session; reads get a copy, writes go through the offset compare-and-set
+    private UploadSession stored;
+    private UploadSessionRepository repository;
+    private S3Service s3Service;
+    private ChunkedUploadService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("alice", null, List.of()));
+
+        stored = new UploadSession();
+        stored.setId(UPLOAD_ID);
+        stored.setUsername("alice");
+        stored.setKey("photos/alice/video.mp4");
+        stored.setS3UploadId("s3-upload");
+        stored.setExpiresAt(Instant.now().plus(Duration.ofHours(1)));
+
+        repository = mock(UploadSessionRepository.class);
+        when(repository.findById(UPLOAD_ID)).thenAnswer(invocation -> Optional.of(snapshot()));
+
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(UploadSession.class)))
+                .thenAnswer(invocation -> compareAndSet(invocation.getArgument(0), invocation.getArgument(1)));
+
+        s3Service = mock(S3Service.class);
+        when(s3Service.uploadPart(anyString(), anyString(), anyInt(), any(InputStream.class), anyLong()))
+                .thenAnswer(invocation -> "etag" + invocation.getArgument(2));
+
+        LocalFileService localFileService = new LocalFileService(ObservationRegistry.NOOP);
+        ReflectionTestUtils.setField(localFileService, "uploadDir", Files.createTempDirectory("uploads").toString());
+
+        service = new ChunkedUploadService();
+        ReflectionTestUtils.setField(service, "repository", repository);
+        ReflectionTestUtils.setField(service, "mongoTemplate", mongoTemplate);
+        ReflectionTestUtils.setField(service, "localFileService", localFileService);
+        ReflectionTestUtils.setField(service, "sessionTtl", Duration.ofHours(6));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private UploadSession snapshot() {
+        UploadSession copy = new UploadSession();
+        copy.setId(stored.getId());
+        copy.setUsername(stored.getUsername());
+        copy.setKey(stored.getKey());
+        copy.setS3UploadId(stored.getS3UploadId());
+        copy.setSize(stored.getSize());
+        copy.setOffset(stored.getOffset());
+        copy.setParts(new ArrayList<>(stored.getParts()));
+        copy.setExpiresAt(stored.getExpiresAt());
+        return copy;
+    }
+
+    private UpdateResult compareAndSet(Query query, Update update) {
+        if (stored.getOffset() != query.getQueryObject().get("offset", Long.class)) {
+            return UpdateResult.acknowledged(0, 0L, null);
+        }
+        Document set = update.getUpdateObject().get("$set", Document.class);
+        stored.setOffset(set.get("offset", Long.class));
+        Document push = update.getUpdateObject().get("$push", Document.class);
+        if (push != null) {
+            stored.getParts().add((UploadSession.UploadedPart) push.get("parts"));
+        }
+        return UpdateResult.acknowledged(1, 1L, null);
+    }
+
+    private long append(long offset, String content) throws IOException {
+        byte[] bytes = content.getBytes(StandardCharsets.US_ASCII);
+        return service.appendChunk(UPLOAD_ID, offset, bytes.length, new ByteArrayInputStream(bytes));
+    }
+
+    private long appendPart(long offset, long length) throws IOException {
+        return service.appendChunk(UPLOAD_ID, offset, length, new ByteArrayInputStream(new byte[0]));
+    }
+
+    private void useS3() {
+        ReflectionTestUtils.setField(service, "s3Service", s3Service);
+    }
+
+    @Test
+    void chunksAdvanceTheOffset() throws IOException {
+        stored.setSize(11);
+
+        assertThat(append(0, "hello")).isEqualTo(5);
+        assertThat(append(5, " world")).isEqualTo(11);
+        assertThat(stored.getOffset()).isEqualTo(11);
+    }
+
+    @Test
+    void chunkAtAnotherOffsetIsRejectedWithTheCurrentOffset() throws IOException {
+        stored.setSize(11);
+        append(0, "hello");
+
+        for (long offset : new long[] { 0, 3, 8 }) {
+            assertThatThrownBy(() -> append(offset, " world"))
+                    .isInstanceOfSatisfying(ChunkedUploadService.OffsetMismatchException.class,
+                            e -> assertThat(e.getCurrentOffset()).isEqualTo(5));
+        }
+        assertThat(stored.getOffset()).isEqualTo(5);
+    }
+
+    @Test
+    void chunkPastTheDeclaredSizeIsRejected() throws IOException {
+        stored.setSize(4);
+
+        assertThatThrownBy(() -> append(0, "hello")).isInstanceOf(IllegalArgumentException.class);
+        assertThat(stored.getOffset()).isZero();
+    }
+
+    @Test
+    void recordedOffsetFallsBackToWhatIsOnDisk() throws IOException {
+        // The session says 5 bytes arrived, but the partial file was lost
+        stored.setSize(11);
+        stored.setOffset(5);
+
+        assertThatThrownBy(() -> append(5, " world"))
+                .isInstanceOfSatisfying(ChunkedUploadService.OffsetMismatchException.class,
+                        e -> assertThat(e.getCurrentOffset()).isZero());
+        assertThat(stored.getOffset()).isZero();
+        assertThat(append(0, "hello")).isEqualTo(5);
+    }
+
+    @Test
+    void s3PartsMustBeExactlyThePartSizeExceptTheLast() throws IOException {
+        useS3();
+        stored.setSize(PART + 10);
+
+        assertThatThrownBy(() -> appendPart(0, PART - 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> appendPart(0, 10)).isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(appendPart(0, PART)).isEqualTo(PART);
+        assertThat(appendPart(PART, 10)).isEqualTo(PART + 10);
+        assertThat(stored.getParts()).extracting(UploadSession.UploadedPart::getPartNumber).containsExactly(1, 2);
+        assertThat(stored.getParts()).extracting(UploadSession.UploadedPart::getEtag).containsExactly("etag1", "etag2");
+    }
+
+    @Test
+    void smallS3UploadIsASingleLastPart() throws IOException {
+        useS3();
+        stored.setSize(10);
+
+        assertThat(appendPart(0, 10)).isEqualTo(10);
+        assertThat(stored.getParts()).extracting(UploadSession.UploadedPart::getPartNumber).containsExactly(1);
+    }
+
+    @Test
+    void replayedS3PartIsRejectedWithoutUploading() throws IOException {
+        useS3();
+        stored.setSize(2 * PART);
+        appendPart(0, PART);
+
+        assertThatThrownBy(() -> appendPart(0, PART))
+                .isInstanceOfSatisfying(ChunkedUploadService.OffsetMismatchException.class,
+                        e -> assertThat(e.getCurrentOffset()).isEqualTo(PART));
+        verify(s3Service).uploadPart(anyString(), anyString(), eq(1), any(InputStream.class), anyLong());
+        assertThat(stored.getParts()).hasSize(1);
+    }
+
+    @Test
+    void replayThatReadTheOldOffsetLosesTheCompareAndSet() throws IOException {
+        useS3();
+        stored.setSize(2 * PART);
+        UploadSession stale = snapshot();
+        appendPart(0, PART);
+        // A replay that read the session before the first chunk was recorded
+        when(repository.findById(UPLOAD_ID)).thenReturn(Optional.of(stale), Optional.of(snapshot()));
+
+        assertThatThrownBy(() -> appendPart(0, PART))
+                .isInstanceOfSatisfying(ChunkedUploadService.OffsetMismatchException.class,
+                        e -> assertThat(e.getCurrentOffset()).isEqualTo(PART));
+        assertThat(stored.getOffset()).isEqualTo(PART);
+        assertThat(stored.getParts()).hasSize(1);
+        // S3 keeps the replayed part under the same number; only the first ETag was recorded
+        verify(s3Service, times(2)).uploadPart(anyString(), anyString(), eq(1), any(InputStream.class), anyLong());
+    }
+}
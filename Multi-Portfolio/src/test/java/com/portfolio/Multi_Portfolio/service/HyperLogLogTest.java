@@ -0,0 +1,64 @@
+package com.portfolio.Multi_Portfolio.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import org.junit.jupiter.api.Test;
+
+class HyperLogLogTest {
+
+    private static HyperLogLog sketchOf(int from, int to) {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int i = from; i < to; i++) {
+            sketch.add("visitor" + i);
+        }
+        return sketch;
+    }
+
+    @Test
+    void emptySketchEstimatesZero() {
+        assertThat(new HyperLogLog().estimate()).isZero();
+    }
+
+    @Test
+    void smallCardinalitiesAreNearlyExact() {
+        assertThat(sketchOf(0, 1).estimate()).isEqualTo(1);
+        assertThat(sketchOf(0, 10).estimate()).isEqualTo(10);
+        assertThat(sketchOf(0, 100).estimate()).isCloseTo(100, within(3L));
+    }
+
+    @Test
+    void repeatedValuesAreCountedOnce() {
+        HyperLogLog sketch = sketchOf(0, 50);
+        for (int i = 0; i < 50; i++) {
+            sketch.add("visitor" + i);
+        }
+
+        assertThat(sketch.estimate()).isEqualTo(sketchOf(0, 50).estimate());
+    }
+
+    @Test
+    void largeCardinalitiesStayWithinTheStandardError() {
+        // 3% standard error; allow three of them
+        assertThat(sketchOf(0, 100_000).estimate()).isCloseTo(100_000, within(9_000L));
+    }
+
+    @Test
+    void mergeEstimatesTheUnion() {
+        HyperLogLog monday = sketchOf(0, 3_000);
+        HyperLogLog tuesday = sketchOf(2_000, 5_000);
+        monday.merge(tuesday);
+
+        assertThat(monday.estimate()).isCloseTo(5_000, within(450L));
+        assertThat(monday.toByteArray()).isEqualTo(sketchOf(0, 5_000).toByteArray());
+    }
+
+    @Test
+    void storedRegistersRoundTripAndInvalidOnesStartEmpty() {
+        HyperLogLog sketch = sketchOf(0, 1_000);
+
+        assertThat(HyperLogLog.of(sketch.toByteArray()).estimate()).isEqualTo(sketch.estimate());
+        assertThat(HyperLogLog.of(new byte[7]).estimate()).isZero();
+        assertThat(HyperLogLog.of(null).estimate()).isZero();
+    }
+}
@@ -0,0 +1,88 @@
+package com.portfolio.Multi_Portfolio.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.observation.ObservationRegistry;
+
+class LocalFileServiceTest {
+
+    private static final byte[] PNG = { (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 0, 0, 0, 0 };
+
+    private Path root;
+    private LocalFileService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        root = Files.createTempDirectory("uploads");
+        service = new LocalFileService(ObservationRegistry.NOOP);
+        ReflectionTestUtils.setField(service, "uploadDir", root.toString());
+        ReflectionTestUtils.setField(service, "signingSecret", "test-secret");
+    }
+
+    private String store(String username, byte[] content) throws IOException {
+        String key = service.generatePresignedUpload(username, "profile", "photo.png", "image/png", content.length).getKey();
+        Path file = root.resolve(key);
+        Files.createDirectories(file.getParent());
+        Files.write(file, content);
+        return key;
+    }
+
+    @Test
+    void completesAnImageUnderTheUsersPrefix() throws IOException {
+        String key = store("alice", PNG);
+
+        String url = service.completePresignedUpload(key, "alice", 1024);
+
+        assertThat(service.getKeyFromUrl(url)).isEqualTo(key);
+    }
+
+    @Test
+    void rejectsKeysThatTraverseIntoAnotherUsersPrefix() throws IOException {
+        String aliceKey = store("alice", PNG);
+        String bobKey = store("bob", PNG);
+        String aliceShard = aliceKey.substring(0, aliceKey.indexOf('/'));
+        String traversal = aliceShard + "/alice/../../" + bobKey;
+
+        assertThatThrownBy(() -> service.completePresignedUpload(traversal, "alice", 1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("does not belong");
+        assertThat(root.resolve(bobKey)).exists();
+    }
+
+    @Test
+    void rejectsAndDeletesNonImagesAndOversizedFiles() throws IOException {
+        String script = store("alice", "<script>alert(1)</script>".getBytes());
+        String large = store("alice", PNG);
+
+        assertThatThrownBy(() -> service.completePresignedUpload(script, "alice", 1024))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.completePresignedUpload(large, "alice", PNG.length - 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(root.resolve(script)).doesNotExist();
+        assertThat(root.resolve(large)).doesNotExist();
+    }
+
+    @Test
+    void sniffsAllowedImageTypesFromLeadingBytes() throws IOException {
+        assertThat(sniff(PNG)).isEqualTo("image/png");
+        assertThat(sniff(new byte[] { (byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0 })).isEqualTo("image/jpeg");
+        assertThat(sniff("GIF89a".getBytes())).isEqualTo("image/gif");
+        assertThat(sniff("RIFF\0\0\0\0WEBPVP8 ".getBytes())).isEqualTo("image/webp");
+        assertThat(sniff("BM".getBytes())).isEqualTo("image/bmp");
+        assertThat(sniff("%PDF-1.7".getBytes())).isNull();
+        assertThat(sniff(new byte[0])).isNull();
+    }
+
+    private String sniff(byte[] content) throws IOException {
+        return LocalFileService.sniffImageType(Files.write(root.resolve("sniff"), content));
+    }
+}
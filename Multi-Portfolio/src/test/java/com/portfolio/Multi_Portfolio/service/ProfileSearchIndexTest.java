@@ -0,0 +1,101 @@
+package com.portfolio.Multi_Portfolio.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class ProfileSearchIndexTest {
+
+    private final ProfileSearchIndex index = new ProfileSearchIndex();
+
+    private List<String> keys(String query) {
+        return index.search(ProfileSearchIndex.tokenize(query), 0, 10).hits().stream()
+                .map(ProfileSearchIndex.Hit::key)
+                .toList();
+    }
+
+    @Test
+    void tokenizeLowerCasesAndDropsStopWordsAndSingleCharacters() {
+        assertThat(ProfileSearchIndex.tokenize("The Head of Cardiology, C++ and X-Ray"))
+                .containsExactly("head", "cardiology", "ray");
+    }
+
+    @Test
+    void prefixExpandsToLongerTermsButRanksExactMatchesFirst() {
+        index.put("exact", Map.of("java", 3));
+        index.put("prefixed", Map.of("javascript", 3));
+        index.put("other", Map.of("python", 3));
+
+        assertThat(keys("java")).containsExactly("exact", "prefixed");
+        assertThat(keys("javas")).containsExactly("prefixed");
+    }
+
+    @Test
+    void everyQueryTokenMustMatch() {
+        index.put("alice", Map.of("surgeon", 2, "boston", 1));
+        index.put("bob", Map.of("surgeon", 2, "chicago", 1));
+
+        assertThat(keys("surgeon boston")).containsExactly("alice");
+        assertThat(keys("surgeon denver")).isEmpty();
+    }
+
+    @Test
+    void higherWeightsRankFirstAndTiesFollowKeyOrder() {
+        index.put("b", Map.of("nurse", 1));
+        index.put("a", Map.of("nurse", 1));
+        index.put("c", Map.of("nurse", 5));
+
+        assertThat(keys("nurse")).containsExactly("c", "a", "b");
+    }
+
+    @Test
+    void pagesReportTheTotalMatchCount() {
+        for (int i = 0; i < 5; i++) {
+            index.put("user" + i, Map.of("doctor", 1));
+        }
+
+        ProfileSearchIndex.Result page = index.search(List.of("doctor"), 3, 10);
+        assertThat(page.total()).isEqualTo(5);
+        assertThat(page.hits()).extracting(ProfileSearchIndex.Hit::key).containsExactly("user3", "user4");
+    }
+
+    @Test
+    void putReplacesAndAddAccumulates() {
+        index.put("alice", Map.of("surgeon", 1));
+        index.add("alice", Map.of("boston", 1));
+        assertThat(keys("surgeon boston")).containsExactly("alice");
+
+        index.put("alice", Map.of("nurse", 1));
+        assertThat(keys("surgeon")).isEmpty();
+        assertThat(keys("nurse")).containsExactly("alice");
+        assertThat(index.documentCount()).isEqualTo(1);
+    }
+
+    @Test
+    void removedIdIsReusedWithoutItsOldTerms() {
+        index.put("alice", Map.of("surgeon", 1));
+        index.put("bob", Map.of("nurse", 1));
+        index.remove("alice");
+        index.put("carol", Map.of("dentist", 1));
+
+        assertThat(keys("surgeon")).isEmpty();
+        assertThat(keys("dentist")).containsExactly("carol");
+        assertThat(keys("nurse")).containsExactly("bob");
+        assertThat(index.documentCount()).isEqualTo(2);
+    }
+
+    @Test
+    void removingTheLastDocumentOfATermDropsTheTerm() {
+        index.put("alice", Map.of("surgeon", 1, "boston", 1));
+        index.put("bob", Map.of("surgeon", 1));
+        index.remove("alice");
+
+        assertThat(index.termCount()).isEqualTo(1);
+        index.remove("bob");
+        assertThat(index.termCount()).isZero();
+        assertThat(index.documentCount()).isZero();
+    }
+}
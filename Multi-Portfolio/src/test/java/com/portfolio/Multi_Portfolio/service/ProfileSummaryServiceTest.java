@@ -0,0 +1,189 @@
+package com.portfolio.Multi_Portfolio.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.portfolio.Multi_Portfolio.controller.DirectoryController;
+import com.portfolio.Multi_Portfolio.model.ProfileSummary;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ProfileSummaryServiceTest {
+
+    private static final Comparator<ProfileSummary> DIRECTORY_ORDER =
+            Comparator.comparing(ProfileSummary::getNameKey).thenComparing(ProfileSummary::getUsername);
+
+    private final List<ProfileSummary> stored = new ArrayList<>();
+    private ProfileSummaryService service;
+
+    @BeforeEach
+    void setUp() {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        // Runs the directory query against the stored summaries, like the index range would
+        when(mongoTemplate.find(any(Query.class), eq(ProfileSummary.class))).thenAnswer(invocation -> {
+            Query query = invocation.getArgument(0);
+            assertThat(query.getSortObject()).isEqualTo(new Document("nameKey", 1).append("_id", 1));
+            return stored.stream()
+                    .filter(summary -> matches(summary, query.getQueryObject()))
+                    .sorted(DIRECTORY_ORDER)
+                    .limit(query.getLimit())
+                    .toList();
+        });
+        service = new ProfileSummaryService(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "mongoTemplate", mongoTemplate);
+    }
+
+    private void store(String username, String fullName, String profileType, String... skills) {
+        ProfileSummary summary = new ProfileSummary();
+        summary.setUsername(username);
+        summary.setFullName(fullName);
+        summary.setNameKey(ProfileSummary.key(fullName));
+        summary.setProfileType(profileType);
+        summary.setSelectedTemplate("classic");
+        summary.setLocationKey("pune");
+        summary.setSkillKeys(List.of(skills).stream().map(ProfileSummary::key).toList());
+        stored.add(summary);
+    }
+
+    private List<String> walk(String profileType, String skill, int limit) {
+        List<String> usernames = new ArrayList<>();
+        String cursor = null;
+        do {
+            ProfileSummaryService.DirectoryPage page = service.directory(profileType, null, null, skill, cursor, limit);
+            assertThat(page.profiles()).hasSizeLessThanOrEqualTo(limit);
+            page.profiles().forEach(summary -> usernames.add(summary.getUsername()));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        return usernames;
+    }
+
+    @Test
+    void pagesBreakNameTiesByUsernameWithoutRepeatsOrGaps() {
+        store("rao3", "Asha Rao", "doctor");
+        store("rao1", "Asha Rao", "doctor");
+        store("arun", "Arun Nair", "doctor");
+        store("rao2", "asha rao", "doctor");
+        store("bina", "Bina Shah", "doctor");
+
+        assertThat(walk(null, null, 2)).containsExactly("arun", "rao1", "rao2", "rao3", "bina");
+        assertThat(walk(null, null, 1)).containsExactly("arun", "rao1", "rao2", "rao3", "bina");
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        store("arun", "Arun Nair", "doctor");
+        store("bina", "Bina Shah", "doctor");
+
+        ProfileSummaryService.DirectoryPage exact = service.directory(null, null, null, null, null, 2);
+        assertThat(exact.profiles()).hasSize(2);
+        assertThat(exact.nextCursor()).isNull();
+
+        ProfileSummaryService.DirectoryPage first = service.directory(null, null, null, null, null, 1);
+        ProfileSummaryService.DirectoryPage last = service.directory(null, null, null, null, first.nextCursor(), 1);
+        assertThat(last.profiles()).extracting(ProfileSummary::getUsername).containsExactly("bina");
+        assertThat(last.nextCursor()).isNull();
+
+        assertThat(service.directory(null, null, null, null, null, 5).profiles()).hasSize(2);
+        stored.clear();
+        assertThat(service.directory(null, null, null, null, null, 5).nextCursor()).isNull();
+    }
+
+    @Test
+    void filtersStayAppliedOnEveryPage() {
+        store("arun", "Arun Nair", "doctor", "Cardiology");
+        store("asha", "Asha Rao", "doctor", "Dermatology");
+        store("bina", "Bina Shah", "nurse", "Cardiology");
+        store("dev", "Dev Iyer", "doctor", "Cardiology", "Surgery");
+        store("esha", "Esha Das", "doctor", "cardiology ");
+
+        assertThat(walk("doctor", " CARDIOLOGY", 1)).containsExactly("arun", "dev", "esha");
+        assertThat(walk("nurse", "Cardiology", 1)).containsExactly("bina");
+        assertThat(walk("doctor", "Radiology", 1)).isEmpty();
+    }
+
+    @Test
+    void malformedCursorsAreRejected() {
+        String noSeparator = encode("asha rao");
+        String noUsername = encode("asha rao\u0000");
+
+        for (String cursor : List.of("not base64!", noSeparator, noUsername)) {
+            assertThatThrownBy(() -> service.directory(null, null, null, null, cursor, 10))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Invalid cursor");
+        }
+    }
+
+    @Test
+    void malformedCursorIsABadRequest() {
+        DirectoryController controller = new DirectoryController();
+        ReflectionTestUtils.setField(controller, "profileSummaryService", service);
+
+        ResponseEntity<Map<String, Object>> response = controller.list(null, null, null, null, "not base64!", 20);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody()).containsEntry("success", false).containsEntry("error", "Invalid cursor");
+    }
+
+    private static String encode(String position) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * The subset of MongoDB query semantics the directory uses: $and, $or, equality (array
+     * membership for arrays) and $gt
+     */
+    private static boolean matches(ProfileSummary summary, Document query) {
+        for (Map.Entry<String, Object> condition : query.entrySet()) {
+            boolean matched = switch (condition.getKey()) {
+                case "$and" -> ((List<?>) condition.getValue()).stream()
+                        .allMatch(clause -> matches(summary, (Document) clause));
+                case "$or" -> ((List<?>) condition.getValue()).stream()
+                        .anyMatch(clause -> matches(summary, (Document) clause));
+                default -> matchesField(field(summary, condition.getKey()), condition.getValue());
+            };
+            if (!matched) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean matchesField(Object actual, Object expected) {
+        if (expected instanceof Document operators) {
+            return ((String) actual).compareTo((String) operators.get("$gt")) > 0;
+        }
+        return actual instanceof List<?> values ? values.contains(expected) : expected.equals(actual);
+    }
+
+    private static Object field(ProfileSummary summary, String name) {
+        return switch (name) {
+            case "_id" -> summary.getUsername();
+            case "nameKey" -> summary.getNameKey();
+            case "profileType" -> summary.getProfileType();
+            case "selectedTemplate" -> summary.getSelectedTemplate();
+            case "locationKey" -> summary.getLocationKey();
+            case "skillKeys" -> summary.getSkillKeys();
+            default -> throw new AssertionError("Unexpected field " + name);
+        };
+    }
+}
@@ -0,0 +1,177 @@
+package com.portfolio.Multi_Portfolio.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+class S3ResilienceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger attempts = new AtomicInteger();
+    private S3Resilience resilience;
+
+    @BeforeEach
+    void setUp() {
+        resilience = new S3Resilience(meterRegistry, ObservationRegistry.NOOP);
+        ReflectionTestUtils.setField(resilience, "readTimeout", Duration.ofSeconds(3));
+        ReflectionTestUtils.setField(resilience, "writeTimeout", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(resilience, "maxAttempts", 1);
+        ReflectionTestUtils.setField(resilience, "hedgeThreads", 1);
+        ReflectionTestUtils.setField(resilience, "windowSize", 4);
+        ReflectionTestUtils.setField(resilience, "minimumCalls", 4);
+        ReflectionTestUtils.setField(resilience, "failureRateThreshold", 0.5);
+        ReflectionTestUtils.setField(resilience, "openDuration", Duration.ofHours(1));
+        ReflectionTestUtils.setField(resilience, "halfOpenCalls", 2);
+    }
+
+    private void start(int windowSize, double failureRateThreshold) {
+        ReflectionTestUtils.setField(resilience, "windowSize", windowSize);
+        ReflectionTestUtils.setField(resilience, "failureRateThreshold", failureRateThreshold);
+        resilience.init();
+    }
+
+    private void succeed() {
+        resilience.execute("head", false, () -> attempts.incrementAndGet());
+    }
+
+    private void fail() {
+        assertThatThrownBy(() -> resilience.execute("head", false, () -> {
+            attempts.incrementAndGet();
+            throw SdkClientException.create("Connection reset");
+        })).isInstanceOf(SdkClientException.class);
+    }
+
+    private void openCircuit() {
+        for (int i = 0; i < 4; i++) {
+            fail();
+        }
+        assertThat(resilience.getCircuitState()).isEqualTo("OPEN");
+    }
+
+    private void endOpenPeriod() {
+        ReflectionTestUtils.setField(resilience, "openDuration", Duration.ZERO);
+    }
+
+    @Test
+    void opensOnceTheFailureRateIsReachedOverTheMinimumCalls() {
+        start(4, 0.5);
+        fail();
+        fail();
+        fail();
+        assertThat(resilience.getCircuitState()).isEqualTo("CLOSED");
+
+        succeed();
+
+        assertThat(resilience.getCircuitState()).isEqualTo("OPEN");
+        assertThat(meterRegistry.counter("storage.s3.circuit.transitions", "state", "OPEN").count()).isEqualTo(1);
+    }
+
+    @Test
+    void openCircuitRejectsWithoutCallingS3AndReportsDegraded() {
+        start(4, 0.5);
+        openCircuit();
+        int before = attempts.get();
+
+        assertThatThrownBy(this::succeed).isInstanceOf(S3Resilience.StorageUnavailableException.class);
+        assertThat(attempts.get()).isEqualTo(before);
+
+        Health health = resilience.health();
+        assertThat(health.getStatus()).isEqualTo(S3Resilience.DEGRADED);
+        assertThat(health.getDetails()).containsEntry("circuit", "OPEN");
+    }
+
+    @Test
+    void clientErrorsCountAsHealthy() {
+        start(4, 0.5);
+        for (int i = 0; i < 8; i++) {
+            assertThatThrownBy(() -> resilience.execute("head", false, () -> {
+                throw S3Exception.builder().statusCode(404).message("Not Found").build();
+            })).isInstanceOf(S3Exception.class);
+        }
+
+        assertThat(resilience.getCircuitState()).isEqualTo("CLOSED");
+        assertThat(resilience.health().getStatus()).isEqualTo(Status.UP);
+        assertThat(resilience.health().getDetails()).containsEntry("failureRate", 0.0);
+    }
+
+    @Test
+    void onlyTheLastWindowOfCallsCounts() {
+        start(4, 0.75);
+        fail();
+        fail();
+        succeed();
+        succeed();
+        succeed();
+        succeed();
+        fail();
+        fail();
+        // Window is now success, success, failure, failure
+        assertThat(resilience.getCircuitState()).isEqualTo("CLOSED");
+
+        fail();
+
+        assertThat(resilience.getCircuitState()).isEqualTo("OPEN");
+    }
+
+    @Test
+    void halfOpenClosesAfterEnoughTrialSuccesses() {
+        start(4, 0.5);
+        openCircuit();
+        endOpenPeriod();
+
+        resilience.execute("head", false, () -> {
+            assertThat(resilience.getCircuitState()).isEqualTo("HALF_OPEN");
+            return null;
+        });
+        assertThat(resilience.getCircuitState()).isEqualTo("HALF_OPEN");
+        succeed();
+
+        assertThat(resilience.getCircuitState()).isEqualTo("CLOSED");
+        assertThat(resilience.health().getStatus()).isEqualTo(Status.UP);
+    }
+
+    @Test
+    void halfOpenFailureReopens() {
+        start(4, 0.5);
+        openCircuit();
+        endOpenPeriod();
+        succeed();
+
+        ReflectionTestUtils.setField(resilience, "openDuration", Duration.ofHours(1));
+        fail();
+
+        assertThat(resilience.getCircuitState()).isEqualTo("OPEN");
+        assertThatThrownBy(this::succeed).isInstanceOf(S3Resilience.StorageUnavailableException.class);
+    }
+
+    @Test
+    void halfOpenAdmitsOnlyTheTrialCalls() {
+        start(4, 0.5);
+        openCircuit();
+        endOpenPeriod();
+
+        // Both trial permits are taken while the calls are in flight, so a third caller is turned away
+        resilience.execute("head", false, () -> {
+            resilience.execute("head", false, () -> {
+                assertThatThrownBy(this::succeed).isInstanceOf(S3Resilience.StorageUnavailableException.class);
+                return null;
+            });
+            return null;
+        });
+
+        assertThat(resilience.getCircuitState()).isEqualTo("CLOSED");
+    }
+}